@@ -1,5 +1,7 @@
 package com.jawa.showroom.model;
 
+import com.jawa.showroom.util.Money;
+
 /**
  * Represents a Jawa motorcycle with full specifications and pricing details.
  * All prices stored in Indian Rupees (INR).
@@ -46,28 +48,87 @@ public class Bike {
     private String description;
     private String imageAscii;       // ASCII art or placeholder for CLI display
 
+    // ── Parsed Specs (cache) ───────────────────────────────────────────────────
+    private BikeSpecs specs;         // parsed on first use; spec setters clear it
+
+    // ── Pricing (cache, exact paise – see Money) ───────────────────────────────
+    private static final long UNPRICED = Long.MIN_VALUE;
+    private volatile long gstPaise    = UNPRICED;         // price setters reset
+    private volatile long onRoadPaise = UNPRICED;
+    private volatile int  priceStamp;                     // bumped by price setters
+
+    private volatile String idKey;                        // lowercase bikeId; setBikeId resets
+
     public Bike() {}
 
     // ── Computed Pricing Methods ───────────────────────────────────────────────
 
     /**
-     * Calculates GST amount on ex-showroom price.
+     * Calculates GST amount on ex-showroom price, rounded half-even to the
+     * paisa. Computed once and cached until a price setter changes an input.
      */
     public double getGstAmount() {
-        return (exShowroomPrice * gstRate) / 100.0;
+        return Money.toRupees(getGstPaise());
     }
 
     /**
-     * Calculates total on-road price including all charges.
+     * Calculates total on-road price including all charges. Cached like
+     * {@link #getGstAmount()}; for a given state or date see PriceBook.
      */
     public double getOnRoadPrice() {
-        return exShowroomPrice + getGstAmount() + rtoCharges + insurancePremium + handlingCharges;
+        return Money.toRupees(getOnRoadPaise());
+    }
+
+    public long getGstPaise() {
+        long g = gstPaise;
+        if (g == UNPRICED) gstPaise = g = Money.percentOf(Money.ofRupees(exShowroomPrice), gstRate);
+        return g;
+    }
+
+    public long getOnRoadPaise() {
+        long p = onRoadPaise;
+        if (p == UNPRICED) {
+            onRoadPaise = p = Money.ofRupees(exShowroomPrice) + getGstPaise() + Money.ofRupees(rtoCharges)
+                    + Money.ofRupees(insurancePremium) + Money.ofRupees(handlingCharges);
+        }
+        return p;
+    }
+
+    private void clearPrices() {
+        gstPaise    = UNPRICED;
+        onRoadPaise = UNPRICED;
+        priceStamp++;
+    }
+
+    /**
+     * Changes whenever a price setter runs, so a cache of figures derived
+     * from this bike's prices elsewhere (PriceBook quotes) can tell it is stale.
+     */
+    public int getPriceStamp() {
+        return priceStamp;
+    }
+
+    /** The bike id in lowercase, as id-keyed maps hold it; computed once. */
+    public String getIdKey() {
+        String k = idKey;
+        if (k == null && bikeId != null) idKey = k = bikeId.toLowerCase();
+        return k;
+    }
+
+    /**
+     * Numeric specifications parsed from the display strings. Parsed once and
+     * cached; BikeCatalog warms it when a catalogue loads.
+     */
+    public BikeSpecs getSpecs() {
+        BikeSpecs s = specs;
+        if (s == null) specs = s = BikeSpecs.parse(this);     // immutable, so a racing parse is harmless
+        return s;
     }
 
     // ── Getters & Setters ──────────────────────────────────────────────────────
 
     public String getBikeId()                   { return bikeId; }
-    public void   setBikeId(String v)           { this.bikeId = v; }
+    public void   setBikeId(String v)           { this.bikeId = v; idKey = null; }
 
     public String getModelName()                { return modelName; }
     public void   setModelName(String v)        { this.modelName = v; }
@@ -82,40 +143,40 @@ public class Bike {
     public void    setAvailable(boolean v)     { this.available = v; }
 
     public String getEngineCC()                 { return engineCC; }
-    public void   setEngineCC(String v)         { this.engineCC = v; }
+    public void   setEngineCC(String v)         { this.engineCC = v; specs = null; }
 
     public String getEngineType()               { return engineType; }
     public void   setEngineType(String v)       { this.engineType = v; }
 
     public String getMaxPower()                 { return maxPower; }
-    public void   setMaxPower(String v)         { this.maxPower = v; }
+    public void   setMaxPower(String v)         { this.maxPower = v; specs = null; }
 
     public String getMaxTorque()                { return maxTorque; }
-    public void   setMaxTorque(String v)        { this.maxTorque = v; }
+    public void   setMaxTorque(String v)        { this.maxTorque = v; specs = null; }
 
     public String getTransmission()             { return transmission; }
-    public void   setTransmission(String v)     { this.transmission = v; }
+    public void   setTransmission(String v)     { this.transmission = v; specs = null; }
 
     public String getFuelType()                 { return fuelType; }
     public void   setFuelType(String v)         { this.fuelType = v; }
 
     public String getFuelTankCapacity()         { return fuelTankCapacity; }
-    public void   setFuelTankCapacity(String v) { this.fuelTankCapacity = v; }
+    public void   setFuelTankCapacity(String v) { this.fuelTankCapacity = v; specs = null; }
 
     public String getMileage()                  { return mileage; }
-    public void   setMileage(String v)          { this.mileage = v; }
+    public void   setMileage(String v)          { this.mileage = v; specs = null; }
 
     public String getKerbWeight()               { return kerbWeight; }
-    public void   setKerbWeight(String v)       { this.kerbWeight = v; }
+    public void   setKerbWeight(String v)       { this.kerbWeight = v; specs = null; }
 
     public String getSeatHeight()               { return seatHeight; }
-    public void   setSeatHeight(String v)       { this.seatHeight = v; }
+    public void   setSeatHeight(String v)       { this.seatHeight = v; specs = null; }
 
     public String getWheelbase()                { return wheelbase; }
-    public void   setWheelbase(String v)        { this.wheelbase = v; }
+    public void   setWheelbase(String v)        { this.wheelbase = v; specs = null; }
 
     public String getGroundClearance()          { return groundClearance; }
-    public void   setGroundClearance(String v)  { this.groundClearance = v; }
+    public void   setGroundClearance(String v)  { this.groundClearance = v; specs = null; }
 
     public String getFrontBrake()               { return frontBrake; }
     public void   setFrontBrake(String v)       { this.frontBrake = v; }
@@ -130,19 +191,19 @@ public class Bike {
     public void   setRearSuspension(String v)   { this.rearSuspension = v; }
 
     public double getExShowroomPrice()          { return exShowroomPrice; }
-    public void   setExShowroomPrice(double v)  { this.exShowroomPrice = v; }
+    public void   setExShowroomPrice(double v)  { this.exShowroomPrice = v; clearPrices(); }
 
     public double getRtoCharges()               { return rtoCharges; }
-    public void   setRtoCharges(double v)       { this.rtoCharges = v; }
+    public void   setRtoCharges(double v)       { this.rtoCharges = v; clearPrices(); }
 
     public double getInsurancePremium()         { return insurancePremium; }
-    public void   setInsurancePremium(double v) { this.insurancePremium = v; }
+    public void   setInsurancePremium(double v) { this.insurancePremium = v; clearPrices(); }
 
     public double getHandlingCharges()          { return handlingCharges; }
-    public void   setHandlingCharges(double v)  { this.handlingCharges = v; }
+    public void   setHandlingCharges(double v)  { this.handlingCharges = v; clearPrices(); }
 
     public double getGstRate()                  { return gstRate; }
-    public void   setGstRate(double v)          { this.gstRate = v; }
+    public void   setGstRate(double v)          { this.gstRate = v; clearPrices(); }
 
     public String getDescription()              { return description; }
     public void   setDescription(String v)      { this.description = v; }
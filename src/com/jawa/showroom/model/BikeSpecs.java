@@ -0,0 +1,119 @@
+package com.jawa.showroom.model;
+
+import java.util.Comparator;
+import java.util.function.ToDoubleFunction;
+
+/**
+ * Numeric view of a Bike's display-string specifications, parsed once so
+ * that sorting and comparison work on doubles.
+ *
+ *   "334 cc"              → engineCc 334
+ *   "30.64 PS @ 8000 rpm" → powerPs 30.64, powerRpm 8000
+ *   "~38 kmpl"            → mileageKmpl 38
+ *
+ * A value that cannot be parsed is NaN; Double.compare orders NaN after
+ * every number, so bikes with missing specs sort last.
+ */
+public final class BikeSpecs {
+
+    // ── Orderings (lowest first, unparsed specs last) ──────────────────────────
+
+    public static final Comparator<Bike> BY_ENGINE_CC   = ascending(BikeSpecs::getEngineCc);
+    public static final Comparator<Bike> BY_POWER       = ascending(BikeSpecs::getPowerPs);
+    public static final Comparator<Bike> BY_TORQUE      = ascending(BikeSpecs::getTorqueNm);
+    public static final Comparator<Bike> BY_MILEAGE     = ascending(BikeSpecs::getMileageKmpl);
+    public static final Comparator<Bike> BY_KERB_WEIGHT = ascending(BikeSpecs::getKerbWeightKg);
+    public static final Comparator<Bike> BY_SEAT_HEIGHT = ascending(BikeSpecs::getSeatHeightMm);
+
+    public static Comparator<Bike> ascending(ToDoubleFunction<BikeSpecs> spec) {
+        return Comparator.comparingDouble(b -> spec.applyAsDouble(b.getSpecs()));
+    }
+
+    /** Highest first; unlike {@code ascending(spec).reversed()} this still sorts NaN last. */
+    public static Comparator<Bike> descending(ToDoubleFunction<BikeSpecs> spec) {
+        return Comparator.comparingDouble(b -> -spec.applyAsDouble(b.getSpecs()));
+    }
+
+    private final double engineCc;
+    private final double powerPs;
+    private final double powerRpm;
+    private final double torqueNm;
+    private final double torqueRpm;
+    private final double gears;
+    private final double tankLitres;
+    private final double mileageKmpl;
+    private final double kerbWeightKg;
+    private final double seatHeightMm;
+    private final double wheelbaseMm;
+    private final double groundClearanceMm;
+
+    private BikeSpecs(Bike b) {
+        this.engineCc          = firstNumber(b.getEngineCC());
+        this.powerPs           = firstNumber(b.getMaxPower());
+        this.powerRpm          = numberAfterAt(b.getMaxPower());
+        this.torqueNm          = firstNumber(b.getMaxTorque());
+        this.torqueRpm         = numberAfterAt(b.getMaxTorque());
+        this.gears             = firstNumber(b.getTransmission());
+        this.tankLitres        = firstNumber(b.getFuelTankCapacity());
+        this.mileageKmpl       = firstNumber(b.getMileage());
+        this.kerbWeightKg      = firstNumber(b.getKerbWeight());
+        this.seatHeightMm      = firstNumber(b.getSeatHeight());
+        this.wheelbaseMm       = firstNumber(b.getWheelbase());
+        this.groundClearanceMm = firstNumber(b.getGroundClearance());
+    }
+
+    static BikeSpecs parse(Bike b) {
+        return new BikeSpecs(b);
+    }
+
+    // ── Getters ────────────────────────────────────────────────────────────────
+
+    public double getEngineCc()          { return engineCc; }
+    public double getPowerPs()           { return powerPs; }
+    public double getPowerRpm()          { return powerRpm; }
+    public double getTorqueNm()          { return torqueNm; }
+    public double getTorqueRpm()         { return torqueRpm; }
+    public double getGears()             { return gears; }
+    public double getTankLitres()        { return tankLitres; }
+    public double getMileageKmpl()       { return mileageKmpl; }
+    public double getKerbWeightKg()      { return kerbWeightKg; }
+    public double getSeatHeightMm()      { return seatHeightMm; }
+    public double getWheelbaseMm()       { return wheelbaseMm; }
+    public double getGroundClearanceMm() { return groundClearanceMm; }
+
+    // ── Parsing ────────────────────────────────────────────────────────────────
+
+    /** The first number in {@code s} ("~38 kmpl" → 38, "1,369 mm" → 1369), or NaN. */
+    static double firstNumber(String s) {
+        return s == null ? Double.NaN : numberFrom(s, 0);
+    }
+
+    /** The first number after '@' ("32.74 Nm @ 6500 rpm" → 6500), or NaN. */
+    static double numberAfterAt(String s) {
+        int at = s == null ? -1 : s.indexOf('@');
+        return at < 0 ? Double.NaN : numberFrom(s, at + 1);
+    }
+
+    private static double numberFrom(String s, int from) {
+        int i = from, n = s.length();
+        while (i < n && !Character.isDigit(s.charAt(i))) i++;
+        if (i == n) return Double.NaN;
+
+        StringBuilder digits = new StringBuilder(8);
+        boolean dot = false;
+        for (; i < n; i++) {
+            char c = s.charAt(i);
+            if (Character.isDigit(c)) {
+                digits.append(c);
+            } else if (c == '.' && !dot && i + 1 < n && Character.isDigit(s.charAt(i + 1))) {
+                digits.append(c);
+                dot = true;
+            } else if (c == ',' && !dot && i + 1 < n && Character.isDigit(s.charAt(i + 1))) {
+                // thousands separator – skip
+            } else {
+                break;
+            }
+        }
+        return Double.parseDouble(digits.toString());
+    }
+}
@@ -1,5 +1,7 @@
 package com.jawa.showroom.model;
 
+import com.jawa.showroom.util.Money;
+
 /**
  * Represents a bike booking / order placed by a user.
  * Captures all details needed for invoice generation.
@@ -18,21 +20,21 @@ public class Booking {
     private String bikeVariant;
     private String bikeColor;
 
-    // ── Pricing Snapshot ───────────────────────────────────────────────────────
-    private double exShowroomPrice;
-    private double gstAmount;
-    private double rtoCharges;
-    private double insurancePremium;
-    private double handlingCharges;
-    private double totalOnRoadPrice;
+    // ── Pricing Snapshot (exact paise, see Money) ─────────────────────────────
+    private long exShowroomPaise;
+    private long gstPaise;
+    private long rtoPaise;
+    private long insurancePaise;
+    private long handlingPaise;
+    private long totalOnRoadPaise;
 
     // ── EMI Details (optional – filled if user chose EMI) ─────────────────────
     private boolean emiChosen;
-    private double  loanAmount;
+    private long    loanPaise;
     private double  interestRate;    // Annual %
     private int     tenureMonths;
-    private double  emiAmount;
-    private double  downPayment;
+    private long    emiPaise;
+    private long    downPaymentPaise;
 
     // ── Customer Info ──────────────────────────────────────────────────────────
     private String customerName;
@@ -68,29 +70,43 @@ public class Booking {
     public String getBikeColor()                 { return bikeColor; }
     public void   setBikeColor(String v)         { this.bikeColor = v; }
 
-    public double getExShowroomPrice()           { return exShowroomPrice; }
-    public void   setExShowroomPrice(double v)   { this.exShowroomPrice = v; }
+    public double getExShowroomPrice()           { return Money.toRupees(exShowroomPaise); }
+    public void   setExShowroomPrice(double v)   { this.exShowroomPaise = Money.ofRupees(v); }
+    public long   getExShowroomPaise()           { return exShowroomPaise; }
+    public void   setExShowroomPaise(long v)     { this.exShowroomPaise = v; }
 
-    public double getGstAmount()                 { return gstAmount; }
-    public void   setGstAmount(double v)         { this.gstAmount = v; }
+    public double getGstAmount()                 { return Money.toRupees(gstPaise); }
+    public void   setGstAmount(double v)         { this.gstPaise = Money.ofRupees(v); }
+    public long   getGstPaise()                  { return gstPaise; }
+    public void   setGstPaise(long v)            { this.gstPaise = v; }
 
-    public double getRtoCharges()                { return rtoCharges; }
-    public void   setRtoCharges(double v)        { this.rtoCharges = v; }
+    public double getRtoCharges()                { return Money.toRupees(rtoPaise); }
+    public void   setRtoCharges(double v)        { this.rtoPaise = Money.ofRupees(v); }
+    public long   getRtoPaise()                  { return rtoPaise; }
+    public void   setRtoPaise(long v)            { this.rtoPaise = v; }
 
-    public double getInsurancePremium()          { return insurancePremium; }
-    public void   setInsurancePremium(double v)  { this.insurancePremium = v; }
+    public double getInsurancePremium()          { return Money.toRupees(insurancePaise); }
+    public void   setInsurancePremium(double v)  { this.insurancePaise = Money.ofRupees(v); }
+    public long   getInsurancePaise()            { return insurancePaise; }
+    public void   setInsurancePaise(long v)      { this.insurancePaise = v; }
 
-    public double getHandlingCharges()           { return handlingCharges; }
-    public void   setHandlingCharges(double v)   { this.handlingCharges = v; }
+    public double getHandlingCharges()           { return Money.toRupees(handlingPaise); }
+    public void   setHandlingCharges(double v)   { this.handlingPaise = Money.ofRupees(v); }
+    public long   getHandlingPaise()             { return handlingPaise; }
+    public void   setHandlingPaise(long v)       { this.handlingPaise = v; }
 
-    public double getTotalOnRoadPrice()          { return totalOnRoadPrice; }
-    public void   setTotalOnRoadPrice(double v)  { this.totalOnRoadPrice = v; }
+    public double getTotalOnRoadPrice()          { return Money.toRupees(totalOnRoadPaise); }
+    public void   setTotalOnRoadPrice(double v)  { this.totalOnRoadPaise = Money.ofRupees(v); }
+    public long   getTotalOnRoadPaise()          { return totalOnRoadPaise; }
+    public void   setTotalOnRoadPaise(long v)    { this.totalOnRoadPaise = v; }
 
     public boolean isEmiChosen()                 { return emiChosen; }
     public void    setEmiChosen(boolean v)       { this.emiChosen = v; }
 
-    public double getLoanAmount()                { return loanAmount; }
-    public void   setLoanAmount(double v)        { this.loanAmount = v; }
+    public double getLoanAmount()                { return Money.toRupees(loanPaise); }
+    public void   setLoanAmount(double v)        { this.loanPaise = Money.ofRupees(v); }
+    public long   getLoanPaise()                 { return loanPaise; }
+    public void   setLoanPaise(long v)           { this.loanPaise = v; }
 
     public double getInterestRate()              { return interestRate; }
     public void   setInterestRate(double v)      { this.interestRate = v; }
@@ -98,11 +114,15 @@ public class Booking {
     public int    getTenureMonths()              { return tenureMonths; }
     public void   setTenureMonths(int v)         { this.tenureMonths = v; }
 
-    public double getEmiAmount()                 { return emiAmount; }
-    public void   setEmiAmount(double v)         { this.emiAmount = v; }
+    public double getEmiAmount()                 { return Money.toRupees(emiPaise); }
+    public void   setEmiAmount(double v)         { this.emiPaise = Money.ofRupees(v); }
+    public long   getEmiPaise()                  { return emiPaise; }
+    public void   setEmiPaise(long v)            { this.emiPaise = v; }
 
-    public double getDownPayment()               { return downPayment; }
-    public void   setDownPayment(double v)       { this.downPayment = v; }
+    public double getDownPayment()               { return Money.toRupees(downPaymentPaise); }
+    public void   setDownPayment(double v)       { this.downPaymentPaise = Money.ofRupees(v); }
+    public long   getDownPaymentPaise()          { return downPaymentPaise; }
+    public void   setDownPaymentPaise(long v)    { this.downPaymentPaise = v; }
 
     public String getCustomerName()              { return customerName; }
     public void   setCustomerName(String v)      { this.customerName = v; }
@@ -119,6 +139,6 @@ public class Booking {
     @Override
     public String toString() {
         return String.format("Booking[%s] %s %s | ₹%.0f | %s",
-                bookingId, bikeModelName, bikeVariant, totalOnRoadPrice, status);
+                bookingId, bikeModelName, bikeVariant, getTotalOnRoadPrice(), status);
     }
 }
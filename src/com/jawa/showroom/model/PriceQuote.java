@@ -0,0 +1,53 @@
+package com.jawa.showroom.model;
+
+import com.jawa.showroom.util.Money;
+
+/**
+ * An immutable on-road price breakdown for one bike, in one state, on one
+ * date (see PriceBook). Amounts are exact paise (see Money); the rupee
+ * getters are for display.
+ */
+public final class PriceQuote {
+
+    private final String state;
+    private final long exShowroomPaise;
+    private final long gstPaise;
+    private final long rtoPaise;
+    private final long insurancePaise;
+    private final long handlingPaise;
+    private final long onRoadPaise;
+
+    public PriceQuote(String state, long exShowroomPaise, long gstPaise, long rtoPaise,
+                      long insurancePaise, long handlingPaise) {
+        this.state           = state;
+        this.exShowroomPaise = exShowroomPaise;
+        this.gstPaise        = gstPaise;
+        this.rtoPaise        = rtoPaise;
+        this.insurancePaise  = insurancePaise;
+        this.handlingPaise   = handlingPaise;
+        this.onRoadPaise     = exShowroomPaise + gstPaise + rtoPaise + insurancePaise + handlingPaise;
+    }
+
+    // ── Getters ────────────────────────────────────────────────────────────────
+
+    public String getState()            { return state; }
+
+    public long   getExShowroomPaise()  { return exShowroomPaise; }
+    public long   getGstPaise()         { return gstPaise; }
+    public long   getRtoPaise()         { return rtoPaise; }
+    public long   getInsurancePaise()   { return insurancePaise; }
+    public long   getHandlingPaise()    { return handlingPaise; }
+    public long   getOnRoadPaise()      { return onRoadPaise; }
+
+    public double getExShowroomPrice()  { return Money.toRupees(exShowroomPaise); }
+    public double getGstAmount()        { return Money.toRupees(gstPaise); }
+    public double getRtoCharges()       { return Money.toRupees(rtoPaise); }
+    public double getInsurancePremium() { return Money.toRupees(insurancePaise); }
+    public double getHandlingCharges()  { return Money.toRupees(handlingPaise); }
+    public double getOnRoadPrice()      { return Money.toRupees(onRoadPaise); }
+
+    @Override
+    public String toString() {
+        return String.format("[%s] Ex-showroom ₹%.2f - On-Road: ₹%.2f", state, getExShowroomPrice(), getOnRoadPrice());
+    }
+}
@@ -0,0 +1,72 @@
+package com.jawa.showroom.service;
+
+import com.jawa.showroom.model.Bike;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * AffordableBikeFinder answers "I can pay ₹6,000 a month – what can I buy?".
+ *
+ * The budget is turned into a price ceiling once, with the inverse EMI
+ * formula (EMICalculator#maxPrincipalPaise at the longest tenure on offer,
+ * plus the down payment); each bike then costs one comparison of its quoted
+ * on-road paise (a cached PriceBook quote, the price the booking will
+ * charge), and only the bikes that fit pay for a closed-form tenure solve.
+ * Thousands of SKUs take well under a millisecond, so the finder can run on
+ * every keystroke.
+ *
+ * Matches are ranked by fit: how much of the affordable price the bike uses,
+ * so the best bike the customer can afford comes first.
+ */
+public final class AffordableBikeFinder {
+
+    /**
+     * One affordable bike.
+     *
+     * @param tenureMonths shortest tenure whose EMI fits the budget; 0 when
+     *                     the down payment covers the whole price
+     * @param fit          on-road price / affordable price, in (0, 1]
+     */
+    public record Match(Bike bike, long onRoadPaise, long loanPaise, int tenureMonths, long emiPaise, double fit) { }
+
+    private static final Comparator<Match> BY_FIT =
+            Comparator.comparingDouble(Match::fit).reversed()
+                      .thenComparing(m -> m.bike().getBikeId());
+
+    private AffordableBikeFinder() { /* Utility class – no instances */ }
+
+    /** Highest on-road price the budget and down payment cover, in paise. */
+    public static long affordablePaise(long budgetPaise, long downPaise, double annualRatePercent, int maxTenureMonths) {
+        return Math.max(0, downPaise) + EMICalculator.maxPrincipalPaise(budgetPaise, annualRatePercent, maxTenureMonths);
+    }
+
+    /**
+     * Bikes whose on-road price fits a monthly budget, best fit first.
+     *
+     * @param bikes            e.g. DataStore#getAvailableBikes
+     * @param prices           e.g. DataStore#getPriceBook; bikes are priced with today's quote
+     * @param maxTenureMonths  longest loan the customer will take
+     */
+    public static List<Match> find(List<Bike> bikes, PriceBook prices, long budgetPaise, long downPaise,
+                                   double annualRatePercent, int maxTenureMonths) {
+        long down    = Math.max(0, downPaise);
+        long ceiling = affordablePaise(budgetPaise, down, annualRatePercent, maxTenureMonths);
+        List<Match> matches = new ArrayList<>();
+        if (ceiling <= 0) return matches;
+
+        for (Bike b : bikes) {
+            long onRoad = prices.quote(b).getOnRoadPaise();
+            if (onRoad > ceiling || onRoad <= 0) continue;
+
+            long loan   = Math.max(0, onRoad - down);
+            int  tenure = loan == 0 ? 0 : EMICalculator.tenureForPaise(loan, budgetPaise, annualRatePercent);
+            if (tenure < 0 || tenure > maxTenureMonths) continue;          // cannot happen below the ceiling
+            long emi    = EMICalculator.emiPaise(loan, annualRatePercent, tenure);
+            matches.add(new Match(b, onRoad, loan, tenure, emi, (double) onRoad / ceiling));
+        }
+        matches.sort(BY_FIT);
+        return matches;
+    }
+}
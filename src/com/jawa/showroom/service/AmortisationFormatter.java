@@ -0,0 +1,70 @@
+package com.jawa.showroom.service;
+
+import com.jawa.showroom.util.Money;
+
+import java.io.IOException;
+
+/**
+ * Writes an AmortisationSchedule as a fixed-width text table to any
+ * Appendable (a Writer, a StringBuilder, a Swing document writer).
+ *
+ *   Month  EMI (₹)      Principal    Interest     Balance (₹)
+ *   ------------------------------------------------------------
+ *   1      7950.40      6075.40      1875.00      243924.60
+ *
+ * Rows are built one at a time in a line buffer owned by the formatter and
+ * handed to the Appendable whole, so a 360-month schedule costs no
+ * String.format calls and no intermediate Strings; keep one formatter per
+ * caller to reuse the buffer. Not thread-safe.
+ */
+public final class AmortisationFormatter {
+
+    private static final int[] WIDTHS = {6, 12, 12, 12, 14};
+    private static final String[] HEADINGS = {"Month", "EMI (₹)", "Principal", "Interest", "Balance (₹)"};
+    private static final String RULE = "-".repeat(60);
+
+    private final StringBuilder line = new StringBuilder(80);
+
+    /** Header, rule and every row. */
+    public void write(Appendable out, AmortisationSchedule schedule) throws IOException {
+        writeHeader(out);
+        for (int row = 0; row < schedule.months(); row++) writeRow(out, schedule, row);
+    }
+
+    public void writeHeader(Appendable out) throws IOException {
+        line.setLength(0);
+        for (int c = 0; c < HEADINGS.length; c++) {
+            int start = line.length();
+            line.append(HEADINGS[c]);
+            pad(start, c);
+        }
+        line.append('\n').append(RULE).append('\n');
+        out.append(line);
+    }
+
+    public void writeRow(Appendable out, AmortisationSchedule s, int row) throws IOException {
+        line.setLength(0);
+        line.append(row + 1);
+        pad(0, 0);
+        money(s.emiPaise(row), 1);
+        money(s.principalPaise(row), 2);
+        money(s.interestPaise(row), 3);
+        money(s.balancePaise(row), 4);
+        line.append('\n');
+        out.append(line);
+    }
+
+    // ── Columns ────────────────────────────────────────────────────────────────
+
+    private void money(long paise, int column) {
+        int start = line.length();
+        Money.appendPlain(line, paise);
+        pad(start, column);
+    }
+
+    /** Left-justifies the cell begun at {@code start}; columns are space-separated. */
+    private void pad(int start, int column) {
+        for (int i = line.length() - start; i < WIDTHS[column]; i++) line.append(' ');
+        if (column < WIDTHS.length - 1) line.append(' ');
+    }
+}
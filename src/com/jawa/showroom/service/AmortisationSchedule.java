@@ -0,0 +1,87 @@
+package com.jawa.showroom.service;
+
+import com.jawa.showroom.util.Money;
+
+/**
+ * A month-by-month amortisation schedule held as primitive paise columns,
+ * one array per figure, with no per-row objects and no text.
+ *
+ * Row {@code i} is month {@code i + 1}. The rules are those of
+ * EMICalculator#totalPayablePaise: each month's interest is the balance
+ * times the monthly rate, rounded half-even, and the last month repays
+ * whatever balance is left, so the principal column adds up to the loan.
+ *
+ * A schedule is reusable: {@link #compute} refills it in place and only
+ * grows the arrays when a longer tenure comes along, so recalculating on
+ * every spinner change allocates nothing. Not thread-safe; format it with
+ * AmortisationFormatter or read the columns directly.
+ */
+public final class AmortisationSchedule {
+
+    private long[] emi       = new long[0];
+    private long[] principal = new long[0];
+    private long[] interest  = new long[0];
+    private long[] balance   = new long[0];
+    private int    months;
+    private long   loan;
+    private long   totalPaid;
+
+    public AmortisationSchedule() { }
+
+    /** A new schedule for the given loan. */
+    public static AmortisationSchedule of(long loanPaise, double annualRatePercent, int tenureMonths) {
+        return new AmortisationSchedule().compute(loanPaise, annualRatePercent, tenureMonths);
+    }
+
+    /** Recomputes this schedule in place; an empty loan gives no rows. */
+    public AmortisationSchedule compute(long loanPaise, double annualRatePercent, int tenureMonths) {
+        loan = totalPaid = months = 0;
+        if (loanPaise <= 0 || tenureMonths <= 0) return this;
+        if (emi.length < tenureMonths) {
+            emi       = new long[tenureMonths];
+            principal = new long[tenureMonths];
+            interest  = new long[tenureMonths];
+            balance   = new long[tenureMonths];
+        }
+
+        long instalment = EMICalculator.emiPaise(loanPaise, annualRatePercent, tenureMonths);
+        double r        = annualRatePercent <= 0 ? 0 : annualRatePercent / 12.0 / 100.0;
+        long left       = loanPaise, total = 0;
+        for (int i = 0; i < tenureMonths; i++) {
+            long in     = Money.times(left, r);
+            long repaid = i == tenureMonths - 1 ? left : Math.min(instalment - in, left);
+            left       -= repaid;
+            total      += repaid + in;
+
+            emi[i]       = repaid + in;
+            principal[i] = repaid;
+            interest[i]  = in;
+            balance[i]   = left;
+        }
+        loan      = loanPaise;
+        totalPaid = total;
+        months    = tenureMonths;
+        return this;
+    }
+
+    // ── Columns ────────────────────────────────────────────────────────────────
+
+    /** Number of rows (months). */
+    public int  months()                    { return months; }
+
+    public long loanPaise()                 { return loan; }
+    public long totalPayablePaise()         { return totalPaid; }
+    public long totalInterestPaise()        { return totalPaid - loan; }
+
+    /** Amount paid in month {@code row + 1}: principal plus interest. */
+    public long emiPaise(int row)           { return emi[check(row)]; }
+    public long principalPaise(int row)     { return principal[check(row)]; }
+    public long interestPaise(int row)      { return interest[check(row)]; }
+    /** Balance outstanding after month {@code row + 1}'s payment. */
+    public long balancePaise(int row)       { return balance[check(row)]; }
+
+    private int check(int row) {
+        if (row < 0 || row >= months) throw new IndexOutOfBoundsException("Month " + (row + 1) + " of " + months);
+        return row;
+    }
+}
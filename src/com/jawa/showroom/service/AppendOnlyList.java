@@ -0,0 +1,53 @@
+package com.jawa.showroom.service;
+
+import java.util.AbstractList;
+import java.util.RandomAccess;
+
+/**
+ * AppendOnlyList is a list that readers can use without locking while
+ * another thread appends to it.
+ *
+ * Elements live in fixed-size chunks that are never moved, so appending never
+ * copies existing elements (unlike CopyOnWriteArrayList). Appends are
+ * serialised by a lock; each one stores the element and then publishes the
+ * new size through a volatile write, so any reader that sees the new size
+ * also sees the element. Readers never block and never observe a torn state.
+ */
+final class AppendOnlyList<E> extends AbstractList<E> implements RandomAccess {
+
+    private static final int CHUNK_BITS = 10;
+    private static final int CHUNK_SIZE = 1 << CHUNK_BITS;
+    private static final int CHUNK_MASK = CHUNK_SIZE - 1;
+
+    private volatile Object[][] chunks = new Object[4][];
+    private volatile int        size;
+
+    @Override
+    public synchronized boolean add(E e) {
+        int n = size;
+        int c = n >>> CHUNK_BITS;
+        Object[][] cs = chunks;
+        if (c == cs.length) {
+            Object[][] grown = new Object[cs.length * 2][];
+            System.arraycopy(cs, 0, grown, 0, cs.length);
+            cs = grown;
+            chunks = cs;
+        }
+        if (cs[c] == null) cs[c] = new Object[CHUNK_SIZE];
+        cs[c][n & CHUNK_MASK] = e;
+        size = n + 1;      // volatile write publishes the element
+        return true;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public E get(int index) {
+        if (index < 0 || index >= size) throw new IndexOutOfBoundsException("Index: " + index);
+        return (E) chunks[index >>> CHUNK_BITS][index & CHUNK_MASK];
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+}
@@ -66,7 +66,9 @@ public class AuthService {
                 FormatUtil.now()
         );
 
-        dataStore.saveUser(newUser);
+        // Re-checked atomically: another registration may have won the name since
+        if (dataStore.saveNewUser(newUser) == null)
+            return "Username '" + username.trim() + "' is already taken.";
         return null; // success
     }
 
@@ -0,0 +1,191 @@
+package com.jawa.showroom.service;
+
+import com.jawa.showroom.model.Bike;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+
+/**
+ * BikeCatalog is an immutable snapshot of the bike catalogue: the bikes in
+ * file order plus a case-insensitive id → Bike hash index.
+ *
+ * DataStore publishes the current snapshot through a volatile field and
+ * replaces it wholesale when bikes.dat changes, so readers always see one
+ * complete catalogue, never a half-applied edit. Bike objects inside a
+ * snapshot must be treated as read-only; a change means a new snapshot.
+ *
+ * bikes.dat format: one bike per line, '|' separated, in the order of
+ * {@link #FIELDS}. Blank lines and lines starting with '#' are ignored, and
+ * '|' or newlines inside the description are written as ~PIPE~ / ~NL~.
+ */
+public final class BikeCatalog {
+
+    /** Column order of bikes.dat, also written as its header comment. */
+    static final String FIELDS = "id|model|variant|color|available|exShowroom|gstRate|rto|insurance|handling|"
+            + "engineCC|engineType|maxPower|maxTorque|transmission|fuelType|tank|mileage|"
+            + "kerbWeight|seatHeight|wheelbase|groundClearance|frontBrake|rearBrake|"
+            + "frontSuspension|rearSuspension|description";
+    private static final int FIELD_COUNT = 27;
+
+    /** Notified after a new catalogue has been swapped in. */
+    public interface Listener {
+        /**
+         * @param changedIds ids (lowercase) that were added, removed or edited
+         */
+        void catalogChanged(BikeCatalog previous, BikeCatalog current, Set<String> changedIds);
+    }
+
+    private final List<Bike>          bikes;
+    private final Map<String, Bike>   byId;       // lowercase id → bike
+    private final Map<String, String> records;    // lowercase id → encoded line, for diffing
+    private volatile CatalogIndex     index;      // built on first filter query, per price book and day
+
+    private BikeCatalog(List<Bike> bikes) {
+        Map<String, Bike>   ids  = new HashMap<>(bikes.size() * 2);
+        Map<String, String> recs = new HashMap<>(bikes.size() * 2);
+        for (Bike b : bikes) {
+            String key = b.getBikeId().toLowerCase();
+            ids.put(key, b);
+            recs.put(key, encode(b));
+            b.getSpecs();                               // parse numeric specs once, up front
+        }
+        this.bikes   = Collections.unmodifiableList(new ArrayList<>(bikes));
+        this.byId    = Collections.unmodifiableMap(ids);
+        this.records = recs;
+    }
+
+    public static BikeCatalog of(List<Bike> bikes) {
+        return new BikeCatalog(bikes);
+    }
+
+    // ── Access ─────────────────────────────────────────────────────────────────
+
+    public List<Bike> getBikes() {
+        return bikes;
+    }
+
+    /** O(1) lookup, ignoring case; null if the id is unknown. */
+    public Bike find(String bikeId) {
+        return bikeId == null ? null : byId.get(bikeId.toLowerCase());
+    }
+
+    public int size() {
+        return bikes.size();
+    }
+
+    /**
+     * The faceted filter index over this snapshot, priced with today's quotes
+     * from {@code prices}. Built on first use and again whenever the price
+     * book is replaced or the date moves on.
+     */
+    public CatalogIndex index(PriceBook prices) {
+        CatalogIndex i = index;
+        if (i == null || i.pricedBy != prices || i.pricedDay != prices.today()) {
+            index = i = new CatalogIndex(bikes, prices);       // a racing rebuild is harmless
+        }
+        return i;
+    }
+
+    /** Ids (lowercase) that differ between this snapshot and {@code newer}. */
+    public Set<String> changesTo(BikeCatalog newer) {
+        Set<String> changed = new HashSet<>();
+        for (Map.Entry<String, String> e : records.entrySet()) {
+            if (!e.getValue().equals(newer.records.get(e.getKey()))) changed.add(e.getKey());
+        }
+        for (String id : newer.records.keySet()) {
+            if (!records.containsKey(id)) changed.add(id);
+        }
+        return changed;
+    }
+
+    // ── bikes.dat ──────────────────────────────────────────────────────────────
+
+    /**
+     * Parses a catalogue file. A malformed line fails the whole load, so a
+     * half-edited file never replaces a good catalogue.
+     */
+    public static BikeCatalog read(File file) throws IOException {
+        List<Bike> bikes = new ArrayList<>();
+        Set<String> ids = new HashSet<>();
+        try (BufferedReader br = new BufferedReader(
+                new InputStreamReader(new FileInputStream(file), StandardCharsets.UTF_8))) {
+            String line;
+            int lineNo = 0;
+            while ((line = br.readLine()) != null) {
+                lineNo++;
+                if (line.isBlank() || line.startsWith("#")) continue;
+                Bike b = decode(line);
+                if (b == null) throw new IOException(file.getName() + ":" + lineNo + ": malformed bike record");
+                if (!ids.add(b.getBikeId().toLowerCase())) {
+                    throw new IOException(file.getName() + ":" + lineNo + ": duplicate bike id " + b.getBikeId());
+                }
+                bikes.add(b);
+            }
+        }
+        return new BikeCatalog(bikes);
+    }
+
+    /** Writes the catalogue to bikes.dat atomically. */
+    public void write(File file) throws IOException {
+        DurableFiles.replace(file, out -> {
+            Writer w = new OutputStreamWriter(out, StandardCharsets.UTF_8);
+            w.write("# Jawa bike catalogue – edit and save; the app reloads it automatically.\n");
+            w.write("# " + FIELDS + "\n");
+            for (Bike b : bikes) {
+                w.write(encode(b));
+                w.write('\n');
+            }
+            w.flush();
+        });
+    }
+
+    static String encode(Bike b) {
+        return String.join("|",
+                b.getBikeId(), b.getModelName(), b.getVariant(), b.getColor(),
+                b.isAvailable() ? "Y" : "N",
+                num(b.getExShowroomPrice()), num(b.getGstRate()), num(b.getRtoCharges()),
+                num(b.getInsurancePremium()), num(b.getHandlingCharges()),
+                b.getEngineCC(), b.getEngineType(), b.getMaxPower(), b.getMaxTorque(),
+                b.getTransmission(), b.getFuelType(), b.getFuelTankCapacity(), b.getMileage(),
+                b.getKerbWeight(), b.getSeatHeight(), b.getWheelbase(), b.getGroundClearance(),
+                b.getFrontBrake(), b.getRearBrake(), b.getFrontSuspension(), b.getRearSuspension(),
+                escape(b.getDescription()));
+    }
+
+    /** Parses one catalogue line, or returns null if it is malformed. */
+    static Bike decode(String line) {
+        String[] p = line.split("\\|", -1);
+        if (p.length != FIELD_COUNT || p[0].isBlank()) return null;
+        try {
+            Bike b = new Bike();
+            b.setBikeId(p[0].trim());
+            b.setModelName(p[1]);       b.setVariant(p[2]);
+            b.setColor(p[3]);           b.setAvailable(!"N".equalsIgnoreCase(p[4].trim()));
+            b.setExShowroomPrice(Double.parseDouble(p[5].trim()));
+            b.setGstRate(Double.parseDouble(p[6].trim()));
+            b.setRtoCharges(Double.parseDouble(p[7].trim()));
+            b.setInsurancePremium(Double.parseDouble(p[8].trim()));
+            b.setHandlingCharges(Double.parseDouble(p[9].trim()));
+            b.setEngineCC(p[10]);       b.setEngineType(p[11]);
+            b.setMaxPower(p[12]);       b.setMaxTorque(p[13]);
+            b.setTransmission(p[14]);   b.setFuelType(p[15]);
+            b.setFuelTankCapacity(p[16]); b.setMileage(p[17]);
+            b.setKerbWeight(p[18]);     b.setSeatHeight(p[19]);
+            b.setWheelbase(p[20]);      b.setGroundClearance(p[21]);
+            b.setFrontBrake(p[22]);     b.setRearBrake(p[23]);
+            b.setFrontSuspension(p[24]); b.setRearSuspension(p[25]);
+            b.setDescription(unescape(p[26]));
+            return b;
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
+    private static String num(double v) {
+        return v == Math.rint(v) ? String.valueOf((long) v) : String.valueOf(v);
+    }
+
+    private static String escape(String s)   { return s == null ? "" : s.replace("|", "~PIPE~").replace("\n", "~NL~"); }
+    private static String unescape(String s) { return s == null ? "" : s.replace("~PIPE~", "|").replace("~NL~", "\n"); }
+}
@@ -0,0 +1,334 @@
+package com.jawa.showroom.service;
+
+import com.jawa.showroom.model.Booking;
+import com.jawa.showroom.util.Money;
+
+import java.io.*;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.StandardOpenOption;
+import java.util.*;
+
+/**
+ * BookingBinaryFormat reads and writes the compact binary bookings snapshot
+ * (bookings.bin) used when {@code jawa.store.bookingFormat=binary}.
+ *
+ * File layout (all integers big-endian):
+ *
+ *   header   : int MAGIC | short VERSION | int recordCount
+ *   dictionary: int size | size × string
+ *   records  : recordCount × ( int payloadLength | payload )
+ *
+ * Payload layout (fixed-width part first, so any field can be located
+ * without parsing the rest of the record):
+ *
+ *   0   int    username code        (dictionary)
+ *   4   int    status code          (dictionary)
+ *   8   int    bikeId code          (dictionary)
+ *   12  int    model code           (dictionary)
+ *   16  int    variant code         (dictionary)
+ *   20  int    colour code          (dictionary)
+ *   24  10 × 8 bytes: exShowroom, gst, rto, insurance, handling, total,
+ *                     downPayment, loanAmount, interestRate, emiAmount
+ *                     (long paise, except interestRate: a double percentage)
+ *   104 int    tenureMonths
+ *   108 byte   emiChosen (0/1)
+ *   109 strings: bookingId, bookingDate, customerName, customerEmail,
+ *                customerPhone, customerAddress
+ *
+ * A string is an unsigned short byte length followed by UTF-8 bytes;
+ * length 0xFFFF marks null.
+ *
+ * Version 1 files stored every amount as a double in rupees, at the same
+ * offsets. They are still read (amounts are converted to paise on access) and
+ * are rewritten as version 2 by the next checkpoint or conversion.
+ *
+ * Run as a program to convert an existing text snapshot:
+ *
+ *   java com.jawa.showroom.service.BookingBinaryFormat data/bookings.dat data/bookings.bin
+ */
+public final class BookingBinaryFormat {
+
+    static final int   MAGIC   = 0x4A57424B;   // "JWBK"
+    static final short VERSION = 2;
+
+    /** Previous schema: identical layout, but amounts held as rupee doubles. */
+    static final short VERSION_RUPEES = 1;
+
+    // ── Payload offsets ────────────────────────────────────────────────────────
+    static final int OFF_USERNAME  = 0;
+    static final int OFF_STATUS    = 4;
+    static final int OFF_BIKE_ID   = 8;
+    static final int OFF_MODEL     = 12;
+    static final int OFF_VARIANT   = 16;
+    static final int OFF_COLOR     = 20;
+    static final int OFF_AMOUNTS   = 24;
+    static final int OFF_TENURE    = 104;
+    static final int OFF_EMI_FLAG  = 108;
+    static final int OFF_STRINGS   = 109;
+
+    /** Index of each amount within the fixed-width amount block. */
+    static final int AMT_EX_SHOWROOM = 0, AMT_GST = 1, AMT_RTO = 2, AMT_INSURANCE = 3,
+                     AMT_HANDLING = 4, AMT_TOTAL = 5, AMT_DOWN = 6, AMT_LOAN = 7,
+                     AMT_RATE = 8, AMT_EMI = 9;
+
+    /** Order of the variable-length strings after OFF_STRINGS. */
+    static final int STR_BOOKING_ID = 0, STR_DATE = 1, STR_NAME = 2, STR_EMAIL = 3,
+                     STR_PHONE = 4, STR_ADDRESS = 5;
+
+    /** Length prefix that marks a null string. */
+    static final int NULL_STRING = 0xFFFF;
+
+    private BookingBinaryFormat() { /* Utility class – no instances */ }
+
+    // ── Writing ────────────────────────────────────────────────────────────────
+
+    /**
+     * Writes all bookings to the given file, replacing any old one atomically.
+     * A file that is still memory-mapped cannot be replaced on every platform,
+     * so DataStore gives each checkpoint a new file instead.
+     */
+    public static void write(List<Booking> bookings, File file) throws IOException {
+        DurableFiles.replace(file, out -> write(bookings, out));
+    }
+
+    /** Writes all bookings in this format to the given stream. */
+    public static void write(List<Booking> bookings, OutputStream os) throws IOException {
+        // First pass: build the dictionary of repeated strings
+        Map<String, Integer> dict = new LinkedHashMap<>();
+        for (Booking bk : bookings) {
+            code(dict, bk.getUsername());
+            code(dict, bk.getStatus());
+            code(dict, bk.getBikeId());
+            code(dict, bk.getBikeModelName());
+            code(dict, bk.getBikeVariant());
+            code(dict, bk.getBikeColor());
+        }
+
+        DataOutputStream out = new DataOutputStream(os);
+        out.writeInt(MAGIC);
+        out.writeShort(VERSION);
+        out.writeInt(bookings.size());
+
+        out.writeInt(dict.size());
+        for (String s : dict.keySet()) writeString(out, s);
+
+        ByteArrayOutputStream buf = new ByteArrayOutputStream(256);
+        DataOutputStream rec = new DataOutputStream(buf);
+        for (Booking bk : bookings) {
+            buf.reset();
+            encode(bk, dict, rec);
+            rec.flush();
+            out.writeInt(buf.size());
+            buf.writeTo(out);
+        }
+        out.flush();
+    }
+
+    private static void encode(Booking bk, Map<String, Integer> dict, DataOutputStream rec) throws IOException {
+        rec.writeInt(dict.get(bk.getUsername()));
+        rec.writeInt(dict.get(bk.getStatus()));
+        rec.writeInt(dict.get(bk.getBikeId()));
+        rec.writeInt(dict.get(bk.getBikeModelName()));
+        rec.writeInt(dict.get(bk.getBikeVariant()));
+        rec.writeInt(dict.get(bk.getBikeColor()));
+
+        rec.writeLong(bk.getExShowroomPaise());
+        rec.writeLong(bk.getGstPaise());
+        rec.writeLong(bk.getRtoPaise());
+        rec.writeLong(bk.getInsurancePaise());
+        rec.writeLong(bk.getHandlingPaise());
+        rec.writeLong(bk.getTotalOnRoadPaise());
+        rec.writeLong(bk.getDownPaymentPaise());
+        rec.writeLong(bk.getLoanPaise());
+        rec.writeDouble(bk.getInterestRate());
+        rec.writeLong(bk.getEmiPaise());
+
+        rec.writeInt(bk.getTenureMonths());
+        rec.writeByte(bk.isEmiChosen() ? 1 : 0);
+
+        writeString(rec, bk.getBookingId());
+        writeString(rec, bk.getBookingDate());
+        writeString(rec, bk.getCustomerName());
+        writeString(rec, bk.getCustomerEmail());
+        writeString(rec, bk.getCustomerPhone());
+        writeString(rec, bk.getCustomerAddress());
+    }
+
+    private static void code(Map<String, Integer> dict, String s) {
+        dict.putIfAbsent(s, dict.size());
+    }
+
+    private static void writeString(DataOutputStream out, String s) throws IOException {
+        if (s == null) {
+            out.writeShort(NULL_STRING);
+            return;
+        }
+        byte[] b = s.getBytes(StandardCharsets.UTF_8);
+        if (b.length >= NULL_STRING) throw new IOException("String field too long: " + b.length + " bytes");
+        out.writeShort(b.length);
+        out.write(b);
+    }
+
+    // ── Reading ────────────────────────────────────────────────────────────────
+
+    /** Reads every booking from a binary snapshot, in file order. */
+    public static List<Booking> read(File file) throws IOException {
+        ByteBuffer buf = map(file);
+        int count = readHeader(buf);
+        short version = version(buf);
+        String[] dict = readDictionary(buf);
+
+        List<Booking> result = new ArrayList<>(count);
+        byte[] scratch = new byte[256];
+        for (int i = 0; i < count; i++) {
+            int len  = buf.getInt();
+            int base = buf.position();
+            result.add(decode(buf, base, version, dict, scratch));
+            buf.position(base + len);
+        }
+        return result;
+    }
+
+    /** Decodes the record whose payload starts at {@code base}, using absolute reads. */
+    static Booking decode(ByteBuffer buf, int base, short version, String[] dict, byte[] scratch) {
+        Booking bk = new Booking();
+        bk.setUsername(dict[buf.getInt(base + OFF_USERNAME)]);
+        bk.setStatus(dict[buf.getInt(base + OFF_STATUS)]);
+        bk.setBikeId(dict[buf.getInt(base + OFF_BIKE_ID)]);
+        bk.setBikeModelName(dict[buf.getInt(base + OFF_MODEL)]);
+        bk.setBikeVariant(dict[buf.getInt(base + OFF_VARIANT)]);
+        bk.setBikeColor(dict[buf.getInt(base + OFF_COLOR)]);
+
+        bk.setExShowroomPaise(paise(buf, base, version, AMT_EX_SHOWROOM));
+        bk.setGstPaise(paise(buf, base, version, AMT_GST));
+        bk.setRtoPaise(paise(buf, base, version, AMT_RTO));
+        bk.setInsurancePaise(paise(buf, base, version, AMT_INSURANCE));
+        bk.setHandlingPaise(paise(buf, base, version, AMT_HANDLING));
+        bk.setTotalOnRoadPaise(paise(buf, base, version, AMT_TOTAL));
+        bk.setDownPaymentPaise(paise(buf, base, version, AMT_DOWN));
+        bk.setLoanPaise(paise(buf, base, version, AMT_LOAN));
+        bk.setInterestRate(rate(buf, base));
+        bk.setEmiPaise(paise(buf, base, version, AMT_EMI));
+
+        bk.setTenureMonths(buf.getInt(base + OFF_TENURE));
+        bk.setEmiChosen(buf.get(base + OFF_EMI_FLAG) != 0);
+
+        int pos = base + OFF_STRINGS;
+        String[] strs = new String[STR_ADDRESS + 1];
+        for (int i = 0; i < strs.length; i++) {
+            int len = buf.getShort(pos) & 0xFFFF;
+            strs[i] = stringAt(buf, pos, scratch);
+            pos += 2 + (len == NULL_STRING ? 0 : len);
+        }
+        bk.setBookingId(strs[STR_BOOKING_ID]);
+        bk.setBookingDate(strs[STR_DATE]);
+        bk.setCustomerName(strs[STR_NAME]);
+        bk.setCustomerEmail(strs[STR_EMAIL]);
+        bk.setCustomerPhone(strs[STR_PHONE]);
+        bk.setCustomerAddress(strs[STR_ADDRESS]);
+        return bk;
+    }
+
+    /** Reads an amount slot as paise, converting version 1 rupee doubles. */
+    static long paise(ByteBuffer buf, int base, short version, int index) {
+        int pos = base + OFF_AMOUNTS + index * 8;
+        return version == VERSION_RUPEES ? Money.ofRupees(buf.getDouble(pos)) : buf.getLong(pos);
+    }
+
+    /** Reads the interest rate, which is a double percentage in every version. */
+    static double rate(ByteBuffer buf, int base) {
+        return buf.getDouble(base + OFF_AMOUNTS + AMT_RATE * 8);
+    }
+
+    /** Absolute position of the {@code index}-th variable-length string of a record. */
+    static int stringPos(ByteBuffer buf, int base, int index) {
+        int pos = base + OFF_STRINGS;
+        for (int i = 0; i < index; i++) {
+            int len = buf.getShort(pos) & 0xFFFF;
+            pos += 2 + (len == NULL_STRING ? 0 : len);
+        }
+        return pos;
+    }
+
+    /** Decodes the length-prefixed string stored at absolute position {@code pos}. */
+    static String stringAt(ByteBuffer buf, int pos, byte[] scratch) {
+        int len = buf.getShort(pos) & 0xFFFF;
+        if (len == NULL_STRING) return null;
+        byte[] b = len <= scratch.length ? scratch : new byte[len];
+        buf.get(pos + 2, b, 0, len);
+        return new String(b, 0, len, StandardCharsets.UTF_8);
+    }
+
+    /** Maps the whole file read-only. */
+    static ByteBuffer map(File file) throws IOException {
+        try (FileChannel ch = FileChannel.open(file.toPath(), StandardOpenOption.READ)) {
+            return ch.map(FileChannel.MapMode.READ_ONLY, 0, ch.size());
+        }
+    }
+
+    /** Validates magic and schema version; returns the record count. */
+    static int readHeader(ByteBuffer buf) throws IOException {
+        if (buf.remaining() < 10 || buf.getInt() != MAGIC)
+            throw new IOException("Not a bookings.bin file (bad magic)");
+        short version = buf.getShort();
+        if (version != VERSION && version != VERSION_RUPEES) throw new IOException("Unsupported bookings.bin schema version " + version);
+        return buf.getInt();
+    }
+
+    /** Schema version of a buffer already validated by {@link #readHeader}. */
+    static short version(ByteBuffer buf) {
+        return buf.getShort(4);
+    }
+
+    static String[] readDictionary(ByteBuffer buf) {
+        String[] dict = new String[buf.getInt()];
+        byte[] scratch = new byte[64];
+        for (int i = 0; i < dict.length; i++) {
+            int pos = buf.position();
+            int len = buf.getShort(pos) & 0xFFFF;
+            dict[i] = stringAt(buf, pos, scratch);
+            buf.position(pos + 2 + (len == NULL_STRING ? 0 : len));
+        }
+        return dict;
+    }
+
+    // ── Converter ──────────────────────────────────────────────────────────────
+
+    /**
+     * Converts a pipe-delimited bookings.dat file into the binary format.
+     * An input that is already a binary snapshot (version 1 or 2) is rewritten
+     * in the current version instead.
+     */
+    public static int convertFromText(File textFile, File binaryFile) throws IOException {
+        if (isBinary(textFile)) {
+            List<Booking> bookings = read(textFile);
+            write(bookings, binaryFile);
+            return bookings.size();
+        }
+        List<Booking> bookings = new ArrayList<>();
+        for (String line : DurableFiles.readRecords(textFile, DurableFiles.Kind.SNAPSHOT)) {
+            Booking bk = DataStore.decodeBooking(line);
+            if (bk != null) bookings.add(bk);
+        }
+        write(bookings, binaryFile);
+        return bookings.size();
+    }
+
+    private static boolean isBinary(File file) throws IOException {
+        if (!file.isFile() || file.length() < 4) return false;
+        try (DataInputStream in = new DataInputStream(new FileInputStream(file))) {
+            return in.readInt() == MAGIC;
+        }
+    }
+
+    public static void main(String[] args) throws IOException {
+        File in  = new File(args.length > 0 ? args[0] : "data/bookings.dat");
+        File out = new File(args.length > 1 ? args[1] : "data/bookings.bin");
+        long start = System.nanoTime();
+        int n = convertFromText(in, out);
+        System.out.printf("Converted %d bookings: %s (%,d bytes) -> %s (%,d bytes) in %d ms%n",
+                n, in, in.length(), out, out.length(), (System.nanoTime() - start) / 1_000_000);
+    }
+}
@@ -0,0 +1,182 @@
+package com.jawa.showroom.service;
+
+import com.jawa.showroom.model.Booking;
+import com.jawa.showroom.util.FormatUtil;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentNavigableMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+
+/**
+ * BookingIndex keeps secondary indexes over the booking list so lookups cost
+ * O(k) in the number of matches instead of a scan of every booking:
+ *
+ *  - username  → bookings   (case-insensitive)
+ *  - bikeId    → bookings   (case-insensitive)
+ *  - status    → bookings   (case-insensitive)
+ *  - bookingDate, ordered   → bookings, for range queries
+ *
+ * Each posting list preserves insertion order. Lookups are lock-free and may
+ * run concurrently with {@link #add}; adds themselves must be serialised by
+ * the caller (DataStore holds its booking write lock).
+ *
+ * A checkpoint stores the indexes as {@link Postings}: record positions per
+ * key. {@link #restore} turns them back into posting lists over the loaded
+ * snapshot without reading a single booking.
+ */
+class BookingIndex {
+
+    private final Map<String, List<Booking>> byUser   = new ConcurrentHashMap<>();
+    private final Map<String, List<Booking>> byBike   = new ConcurrentHashMap<>();
+    private final Map<String, List<Booking>> byStatus = new ConcurrentHashMap<>();
+    private final ConcurrentNavigableMap<LocalDateTime, List<Booking>> byDate = new ConcurrentSkipListMap<>();
+
+    /** Adds one booking to every index. */
+    void add(Booking bk) {
+        post(byUser,   bk.getUsername(), bk);
+        post(byBike,   bk.getBikeId(),   bk);
+        post(byStatus, bk.getStatus(),   bk);
+        LocalDateTime when = FormatUtil.parseDateTime(bk.getBookingDate());
+        if (when != null) byDate.computeIfAbsent(when, k -> new AppendOnlyList<>()).add(bk);
+    }
+
+    /** Drops everything and re-indexes the given bookings. */
+    void rebuild(List<Booking> all) {
+        byUser.clear();
+        byBike.clear();
+        byStatus.clear();
+        byDate.clear();
+        for (Booking bk : all) add(bk);
+    }
+
+    /**
+     * Replaces the indexes with checkpointed postings over {@code snapshot}.
+     * Bookings appended after the snapshot must then be {@link #add added}.
+     */
+    void restore(List<Booking> snapshot, Postings p) {
+        restore(byUser,   snapshot, p.byUser);
+        restore(byBike,   snapshot, p.byBike);
+        restore(byStatus, snapshot, p.byStatus);
+        byDate.clear();
+        for (Map.Entry<Long, int[]> e : p.byDate.entrySet()) {
+            byDate.put(LocalDateTime.ofEpochSecond(e.getKey(), 0, ZoneOffset.UTC),
+                       new PostingList(snapshot, e.getValue()));
+        }
+    }
+
+    private static void restore(Map<String, List<Booking>> index, List<Booking> snapshot, Map<String, int[]> postings) {
+        index.clear();
+        for (Map.Entry<String, int[]> e : postings.entrySet()) {
+            index.put(e.getKey(), new PostingList(snapshot, e.getValue()));
+        }
+    }
+
+    List<Booking> byUser(String username) { return lookup(byUser,   username); }
+    List<Booking> byBike(String bikeId)   { return lookup(byBike,   bikeId);   }
+    List<Booking> byStatus(String status) { return lookup(byStatus, status);   }
+
+    /** Bookings dated within [from, to], oldest first. Either bound may be null (open). */
+    List<Booking> between(LocalDateTime from, LocalDateTime to) {
+        Map<LocalDateTime, List<Booking>> range = byDate;
+        if (from != null && to != null) range = byDate.subMap(from, true, to, true);
+        else if (from != null)          range = byDate.tailMap(from, true);
+        else if (to != null)            range = byDate.headMap(to, true);
+
+        List<Booking> result = new ArrayList<>();
+        for (List<Booking> sameInstant : range.values()) result.addAll(sameInstant);
+        return result;
+    }
+
+    // ── Helpers ────────────────────────────────────────────────────────────────
+
+    private static void post(Map<String, List<Booking>> index, String key, Booking bk) {
+        if (key == null) return;
+        index.computeIfAbsent(key.toLowerCase(), k -> new AppendOnlyList<>()).add(bk);
+    }
+
+    private static List<Booking> lookup(Map<String, List<Booking>> index, String key) {
+        if (key == null) return new ArrayList<>();
+        List<Booking> hits = index.get(key.toLowerCase());
+        return hits == null ? new ArrayList<>() : new ArrayList<>(hits);
+    }
+
+    // ── Checkpoint form ────────────────────────────────────────────────────────
+
+    /** The indexes as record positions, the form a checkpoint stores. */
+    static final class Postings {
+        final Map<String, int[]> byUser   = new HashMap<>();
+        final Map<String, int[]> byBike   = new HashMap<>();
+        final Map<String, int[]> byStatus = new HashMap<>();
+        final SortedMap<Long, int[]> byDate = new TreeMap<>();     // epoch second (UTC) → positions
+
+        /** Computes the postings of a fixed list of bookings. */
+        static Postings of(List<Booking> all) {
+            Map<String, IntList> user = new HashMap<>(), bike = new HashMap<>(), status = new HashMap<>();
+            SortedMap<Long, IntList> date = new TreeMap<>();
+            for (int i = 0, n = all.size(); i < n; i++) {
+                Booking bk = all.get(i);
+                posting(user,   bk.getUsername(), i);
+                posting(bike,   bk.getBikeId(),   i);
+                posting(status, bk.getStatus(),   i);
+                LocalDateTime when = FormatUtil.parseDateTime(bk.getBookingDate());
+                if (when != null) date.computeIfAbsent(when.toEpochSecond(ZoneOffset.UTC), k -> new IntList()).add(i);
+            }
+            Postings p = new Postings();
+            user.forEach((k, v)   -> p.byUser.put(k, v.toArray()));
+            bike.forEach((k, v)   -> p.byBike.put(k, v.toArray()));
+            status.forEach((k, v) -> p.byStatus.put(k, v.toArray()));
+            date.forEach((k, v)   -> p.byDate.put(k, v.toArray()));
+            return p;
+        }
+
+        private static void posting(Map<String, IntList> index, String key, int pos) {
+            if (key != null) index.computeIfAbsent(key.toLowerCase(), k -> new IntList()).add(pos);
+        }
+    }
+
+    /** Growable int array, so postings are built without boxing. */
+    private static final class IntList {
+        private int[] a = new int[4];
+        private int   n;
+
+        void add(int v) {
+            if (n == a.length) a = Arrays.copyOf(a, n * 2);
+            a[n++] = v;
+        }
+
+        int[] toArray() { return Arrays.copyOf(a, n); }
+    }
+
+    /**
+     * A restored posting list: checkpointed positions into the snapshot,
+     * resolved on access, followed by bookings added since.
+     */
+    private static final class PostingList extends AbstractList<Booking> implements RandomAccess {
+        private final List<Booking> snapshot;
+        private final int[]         positions;
+        private final AppendOnlyList<Booking> added = new AppendOnlyList<>();
+
+        PostingList(List<Booking> snapshot, int[] positions) {
+            this.snapshot  = snapshot;
+            this.positions = positions;
+        }
+
+        @Override
+        public Booking get(int i) {
+            return i < positions.length ? snapshot.get(positions[i]) : added.get(i - positions.length);
+        }
+
+        @Override
+        public int size() {
+            return positions.length + added.size();
+        }
+
+        @Override
+        public boolean add(Booking bk) {
+            return added.add(bk);
+        }
+    }
+}
@@ -0,0 +1,130 @@
+package com.jawa.showroom.service;
+
+import com.jawa.showroom.model.Booking;
+import com.jawa.showroom.util.FormatUtil;
+
+import java.time.LocalDateTime;
+import java.util.Comparator;
+
+/**
+ * BookingQuery describes a filtered, sorted, paged read of bookings.
+ * Every criterion is optional; unset criteria match everything.
+ *
+ * Usage:
+ *   dataStore.query(new BookingQuery()
+ *           .user("yuva").status("CONFIRMED").emi(true)
+ *           .sortBy(BookingQuery.SortKey.DATE, true)
+ *           .page(0, 20))
+ *       .forEach(...);
+ *
+ * DataStore picks the most selective secondary index that applies
+ * (user, bike, status or date range) and filters the rest lazily.
+ */
+public class BookingQuery {
+
+    public enum SortKey { DATE, PRICE, MODEL, CUSTOMER }
+
+    // ── Filters ────────────────────────────────────────────────────────────────
+    private String        username;
+    private String        bikeId;
+    private String        bikeModel;
+    private String        status;
+    private LocalDateTime from, to;
+    private Boolean       emi;              // null = either, true = EMI, false = cash
+    private double        minPrice = 0;
+    private double        maxPrice = Double.MAX_VALUE;
+
+    // ── Ordering & paging ──────────────────────────────────────────────────────
+    private SortKey sortKey;
+    private boolean descending;
+    private long    offset = 0;
+    private long    limit  = Long.MAX_VALUE;
+
+    public BookingQuery() {}
+
+    // ── Fluent setters ─────────────────────────────────────────────────────────
+
+    public BookingQuery user(String v)             { this.username  = v; return this; }
+    public BookingQuery bikeId(String v)           { this.bikeId    = v; return this; }
+    public BookingQuery bikeModel(String v)        { this.bikeModel = v; return this; }
+    public BookingQuery status(String v)           { this.status    = v; return this; }
+    public BookingQuery emi(Boolean v)             { this.emi       = v; return this; }
+
+    /** Booking date within [from, to]; either bound may be null. */
+    public BookingQuery between(LocalDateTime from, LocalDateTime to) {
+        this.from = from;
+        this.to   = to;
+        return this;
+    }
+
+    /** On-road price within [min, max]. */
+    public BookingQuery priceBetween(double min, double max) {
+        this.minPrice = min;
+        this.maxPrice = max;
+        return this;
+    }
+
+    public BookingQuery sortBy(SortKey key, boolean descending) {
+        this.sortKey    = key;
+        this.descending = descending;
+        return this;
+    }
+
+    public BookingQuery page(long offset, long limit) {
+        if (offset < 0 || limit < 0) throw new IllegalArgumentException("offset and limit must be >= 0");
+        this.offset = offset;
+        this.limit  = limit;
+        return this;
+    }
+
+    // ── Getters (used by DataStore to plan the query) ──────────────────────────
+
+    public String        getUsername()  { return username; }
+    public String        getBikeId()    { return bikeId; }
+    public String        getStatus()    { return status; }
+    public LocalDateTime getFrom()      { return from; }
+    public LocalDateTime getTo()        { return to; }
+    public SortKey       getSortKey()   { return sortKey; }
+    public boolean       isDescending() { return descending; }
+    public long          getOffset()    { return offset; }
+    public long          getLimit()     { return limit; }
+
+    public boolean hasDateRange()       { return from != null || to != null; }
+
+    // ── Evaluation ─────────────────────────────────────────────────────────────
+
+    /** True if the booking satisfies every filter criterion. */
+    public boolean matches(Booking bk) {
+        if (username  != null && !username.equalsIgnoreCase(bk.getUsername()))       return false;
+        if (bikeId    != null && !bikeId.equalsIgnoreCase(bk.getBikeId()))            return false;
+        if (bikeModel != null && !bikeModel.equalsIgnoreCase(bk.getBikeModelName()))  return false;
+        if (status    != null && !status.equalsIgnoreCase(bk.getStatus()))            return false;
+        if (emi       != null && emi != bk.isEmiChosen())                             return false;
+
+        double price = bk.getTotalOnRoadPrice();
+        if (price < minPrice || price > maxPrice) return false;
+
+        if (hasDateRange()) {
+            LocalDateTime when = FormatUtil.parseDateTime(bk.getBookingDate());
+            if (when == null)                      return false;
+            if (from != null && when.isBefore(from)) return false;
+            if (to   != null && when.isAfter(to))    return false;
+        }
+        return true;
+    }
+
+    /** Comparator for the chosen sort key, or null if results stay in source order. */
+    public Comparator<Booking> comparator() {
+        if (sortKey == null) return null;
+        Comparator<Booking> c = switch (sortKey) {
+            case DATE     -> Comparator.comparing((Booking b) -> FormatUtil.parseDateTime(b.getBookingDate()),
+                                     Comparator.nullsFirst(Comparator.naturalOrder()));
+            case PRICE    -> Comparator.comparingDouble(Booking::getTotalOnRoadPrice);
+            case MODEL    -> Comparator.comparing(Booking::getBikeModelName,
+                                     Comparator.nullsFirst(String.CASE_INSENSITIVE_ORDER));
+            case CUSTOMER -> Comparator.comparing(Booking::getCustomerName,
+                                     Comparator.nullsFirst(String.CASE_INSENSITIVE_ORDER));
+        };
+        return descending ? c.reversed() : c;
+    }
+}
@@ -2,8 +2,15 @@ package com.jawa.showroom.service;
 
 import com.jawa.showroom.model.Bike;
 import com.jawa.showroom.model.Booking;
+import com.jawa.showroom.model.PriceQuote;
 import com.jawa.showroom.model.User;
 import com.jawa.showroom.util.FormatUtil;
+import com.jawa.showroom.util.Money;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 
 /**
  * BookingService manages the creation of bookings and generates
@@ -25,7 +32,9 @@ public class BookingService {
     // ── Booking Creation ───────────────────────────────────────────────────────
 
     /**
-     * Creates and persists a new booking.
+     * Creates and persists a new booking, returning once it is durable on disk.
+     * Blocks while the write queue is full and while the record is written, so
+     * keep it off the Swing EDT; UI code uses {@link #createBookingAsync}.
      *
      * @param user          logged-in user
      * @param bike          the bike being booked
@@ -34,10 +43,37 @@ public class BookingService {
      * @param annualRate    annual interest rate (if EMI)
      * @param tenureMonths  loan tenure in months (if EMI)
      * @return the created Booking object
+     * @throws UncheckedIOException if the booking could not be written
      */
     public Booking createBooking(User user, Bike bike,
                                  boolean emiChosen, double downPayment,
                                  double annualRate, int tenureMonths) {
+        Booking bk = buildBooking(user, bike, emiChosen, downPayment, annualRate, tenureMonths);
+        try {
+            dataStore.saveBooking(bk).join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof IOException io) throw new UncheckedIOException(io);
+            throw e;
+        }
+        return bk;
+    }
+
+    /**
+     * Same as {@link #createBooking}, but the returned future completes only
+     * once the booking is durable on disk. Never blocks the calling thread,
+     * so it is safe to call from the Swing EDT: if the write queue is full,
+     * nothing is saved and the future fails with an IOException instead.
+     */
+    public CompletableFuture<Booking> createBookingAsync(User user, Bike bike,
+                                                         boolean emiChosen, double downPayment,
+                                                         double annualRate, int tenureMonths) {
+        Booking bk = buildBooking(user, bike, emiChosen, downPayment, annualRate, tenureMonths);
+        return dataStore.offerBooking(bk).thenApply(v -> bk);
+    }
+
+    private Booking buildBooking(User user, Bike bike,
+                                 boolean emiChosen, double downPayment,
+                                 double annualRate, int tenureMonths) {
         Booking bk = new Booking();
 
         // IDs & dates
@@ -52,13 +88,14 @@ public class BookingService {
         bk.setBikeVariant(bike.getVariant());
         bk.setBikeColor(bike.getColor());
 
-        // Pricing snapshot
-        bk.setExShowroomPrice(bike.getExShowroomPrice());
-        bk.setGstAmount(bike.getGstAmount());
-        bk.setRtoCharges(bike.getRtoCharges());
-        bk.setInsurancePremium(bike.getInsurancePremium());
-        bk.setHandlingCharges(bike.getHandlingCharges());
-        bk.setTotalOnRoadPrice(bike.getOnRoadPrice());
+        // Pricing snapshot – today's price in the showroom's state, in exact paise
+        PriceQuote quote = dataStore.getPriceBook().quote(bike);
+        bk.setExShowroomPaise(quote.getExShowroomPaise());
+        bk.setGstPaise(quote.getGstPaise());
+        bk.setRtoPaise(quote.getRtoPaise());
+        bk.setInsurancePaise(quote.getInsurancePaise());
+        bk.setHandlingPaise(quote.getHandlingPaise());
+        bk.setTotalOnRoadPaise(quote.getOnRoadPaise());
 
         // Customer info
         bk.setCustomerName(user.getFullName());
@@ -69,16 +106,14 @@ public class BookingService {
         // EMI details
         bk.setEmiChosen(emiChosen);
         if (emiChosen) {
-            double loanAmount = bike.getOnRoadPrice() - downPayment;
-            double emi        = EMICalculator.calculateEMI(loanAmount, annualRate, tenureMonths);
-            bk.setDownPayment(downPayment);
-            bk.setLoanAmount(loanAmount);
+            long down = Money.ofRupees(downPayment);
+            long loan = quote.getOnRoadPaise() - down;
+            bk.setDownPaymentPaise(down);
+            bk.setLoanPaise(loan);
             bk.setInterestRate(annualRate);
             bk.setTenureMonths(tenureMonths);
-            bk.setEmiAmount(emi);
+            bk.setEmiPaise(EMICalculator.emiPaise(loan, annualRate, tenureMonths));
         }
-
-        dataStore.saveBooking(bk);
         return bk;
     }
 
@@ -151,12 +186,12 @@ public class BookingService {
             sb.append(String.format("  %-35s %d months%n", "Tenure:", bk.getTenureMonths()));
             sb.append(String.format("  %-35s %s / month%n", "Monthly EMI:",
                     FormatUtil.formatINR(bk.getEmiAmount())));
-            double totalPay = EMICalculator.totalPayable(bk.getEmiAmount(), bk.getTenureMonths());
-            double interest = EMICalculator.totalInterest(bk.getEmiAmount(), bk.getTenureMonths(), bk.getLoanAmount());
+            long loan     = bk.getLoanPaise();
+            long totalPay = EMICalculator.totalPayablePaise(loan, bk.getInterestRate(), bk.getTenureMonths());
             sb.append(String.format("  %-35s %s%n", "Total Payable (incl. interest):",
-                    FormatUtil.formatINR(bk.getDownPayment() + totalPay)));
+                    FormatUtil.formatINR(Money.toRupees(bk.getDownPaymentPaise() + totalPay))));
             sb.append(String.format("  %-35s %s%n", "Total Interest Cost:",
-                    FormatUtil.formatINR(interest)));
+                    FormatUtil.formatINR(Money.toRupees(totalPay - loan))));
             sb.append(D).append("\n");
         }
 
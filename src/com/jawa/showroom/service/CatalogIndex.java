@@ -0,0 +1,247 @@
+package com.jawa.showroom.service;
+
+import com.jawa.showroom.model.Bike;
+
+import java.util.*;
+
+/**
+ * CatalogIndex answers faceted filter queries over one BikeCatalog snapshot.
+ *
+ *  - Categorical facets (model, variant, colour, brakes, cooling) are kept as
+ *    one BitSet of catalogue positions per value, so combining filters is a
+ *    handful of word-wide AND/OR operations.
+ *  - Numeric ranges (on-road price, ground clearance) are kept as positions
+ *    sorted by value; a range is two binary searches plus setting the bits
+ *    in between. Prices are today's quotes from the PriceBook the index was
+ *    built with, the same figures the cards and bookings show.
+ *
+ * Facet counts are disjunctive: the count shown for a value is the number of
+ * matches if that value were chosen with every other filter left as it is.
+ *
+ * An index is immutable and belongs to its snapshot and price book (see
+ * BikeCatalog#index), so a reload never disturbs a query in progress.
+ */
+public final class CatalogIndex {
+
+    public enum Facet {
+        MODEL("Model"), VARIANT("Variant"), COLOR("Colour"), BRAKES("Brakes"), COOLING("Cooling");
+
+        private final String label;
+        Facet(String label) { this.label = label; }
+        public String label() { return label; }
+    }
+
+    private final List<Bike> bikes;
+    private final EnumMap<Facet, Map<String, BitSet>> facets = new EnumMap<>(Facet.class);
+    private final BitSet available = new BitSet();
+    private final NumericRange price;
+    private final NumericRange clearance;
+    final PriceBook pricedBy;
+    final long      pricedDay;
+
+    CatalogIndex(List<Bike> bikes, PriceBook prices) {
+        this.bikes     = bikes;
+        this.pricedBy  = prices;
+        this.pricedDay = prices.today();
+        for (Facet f : Facet.values()) facets.put(f, new TreeMap<>(String.CASE_INSENSITIVE_ORDER));
+
+        double[] onRoad     = new double[bikes.size()];
+        double[] clearances = new double[bikes.size()];
+        for (int i = 0; i < bikes.size(); i++) {
+            Bike b = bikes.get(i);
+            for (Facet f : Facet.values()) {
+                String v = valueOf(b, f);
+                if (v != null && !v.isBlank()) facets.get(f).computeIfAbsent(v.trim(), k -> new BitSet()).set(i);
+            }
+            if (b.isAvailable()) available.set(i);
+            onRoad[i]     = prices.quote(b).getOnRoadPrice();
+            clearances[i] = b.getSpecs().getGroundClearanceMm();
+        }
+        this.price     = new NumericRange(onRoad);
+        this.clearance = new NumericRange(clearances);
+    }
+
+    /** The facet value a bike files under, or null if it has none. */
+    public static String valueOf(Bike b, Facet f) {
+        return switch (f) {
+            case MODEL   -> b.getModelName();
+            case VARIANT -> b.getVariant();
+            case COLOR   -> b.getColor();
+            case BRAKES  -> brakeType(b);
+            case COOLING -> coolingType(b);
+        };
+    }
+
+    /** "ABS" or "Non-ABS", from the front brake description. */
+    public static String brakeType(Bike b) {
+        String fb = b.getFrontBrake();
+        return fb != null && fb.toUpperCase().contains("ABS") ? "ABS" : "Non-ABS";
+    }
+
+    /** "Liquid Cooled", "Oil Cooled", "Air Cooled" or null, from the engine type. */
+    public static String coolingType(Bike b) {
+        String et = b.getEngineType() == null ? "" : b.getEngineType().toLowerCase();
+        if (et.contains("liquid")) return "Liquid Cooled";
+        if (et.contains("oil"))    return "Oil Cooled";
+        if (et.contains("air"))    return "Air Cooled";
+        return null;
+    }
+
+    // ── Ranges ─────────────────────────────────────────────────────────────────
+
+    public double minPrice()     { return price.min(); }
+    public double maxPrice()     { return price.max(); }
+    public double minClearance() { return clearance.min(); }
+    public double maxClearance() { return clearance.max(); }
+
+    /** Facet values in display order (case-insensitive alphabetical). */
+    public Set<String> values(Facet f) {
+        return Collections.unmodifiableSet(facets.get(f).keySet());
+    }
+
+    // ── Querying ───────────────────────────────────────────────────────────────
+
+    /**
+     * A filter over the catalogue. Values within one facet are OR-ed, facets
+     * and ranges are AND-ed. Unset criteria match everything.
+     */
+    public static final class Filter {
+        private final EnumMap<Facet, Set<String>> selected = new EnumMap<>(Facet.class);
+        private double  minPrice     = Double.NEGATIVE_INFINITY, maxPrice     = Double.POSITIVE_INFINITY;
+        private double  minClearance = Double.NEGATIVE_INFINITY, maxClearance = Double.POSITIVE_INFINITY;
+        private boolean availableOnly;
+
+        /** Restricts a facet to the given values; none clears it. */
+        public Filter facet(Facet f, String... values) {
+            if (values.length == 0) selected.remove(f);
+            else selected.put(f, new HashSet<>(Arrays.asList(values)));
+            return this;
+        }
+
+        public Filter price(double min, double max)     { this.minPrice = min;     this.maxPrice = max;     return this; }
+        public Filter clearance(double min, double max) { this.minClearance = min; this.maxClearance = max; return this; }
+        public Filter availableOnly(boolean v)           { this.availableOnly = v; return this; }
+    }
+
+    /** Matches of one filter, plus the facet counts around it. */
+    public final class Result {
+        private final BitSet matches;
+        private final EnumMap<Facet, BitSet> others;    // matches ignoring that facet's own filter
+
+        private Result(BitSet matches, EnumMap<Facet, BitSet> others) {
+            this.matches = matches;
+            this.others  = others;
+        }
+
+        public int count() {
+            return matches.cardinality();
+        }
+
+        /** Matching bikes in catalogue order. */
+        public List<Bike> bikes() {
+            List<Bike> out = new ArrayList<>(count());
+            for (int i = matches.nextSetBit(0); i >= 0; i = matches.nextSetBit(i + 1)) out.add(bikes.get(i));
+            return out;
+        }
+
+        /** Value → number of matches if that value were (also) selected for the facet. */
+        public Map<String, Integer> counts(Facet f) {
+            Map<String, Integer> out = new LinkedHashMap<>();
+            BitSet base = others.get(f);
+            for (Map.Entry<String, BitSet> e : facets.get(f).entrySet()) {
+                BitSet bits = (BitSet) e.getValue().clone();
+                bits.and(base);
+                out.put(e.getKey(), bits.cardinality());
+            }
+            return out;
+        }
+    }
+
+    public Result query(Filter filter) {
+        int n = bikes.size();
+        BitSet all = new BitSet(n);
+        all.set(0, n);
+
+        BitSet common = filter.availableOnly ? (BitSet) available.clone() : (BitSet) all.clone();
+        common.and(price.between(filter.minPrice, filter.maxPrice, all));
+        common.and(clearance.between(filter.minClearance, filter.maxClearance, all));
+
+        EnumMap<Facet, BitSet> facetBits = new EnumMap<>(Facet.class);
+        for (Map.Entry<Facet, Set<String>> e : filter.selected.entrySet()) {
+            BitSet any = new BitSet(n);
+            Map<String, BitSet> index = facets.get(e.getKey());
+            for (String v : e.getValue()) {
+                BitSet bits = index.get(v);
+                if (bits != null) any.or(bits);
+            }
+            facetBits.put(e.getKey(), any);
+        }
+
+        BitSet matches = (BitSet) common.clone();
+        for (BitSet bits : facetBits.values()) matches.and(bits);
+
+        EnumMap<Facet, BitSet> others = new EnumMap<>(Facet.class);
+        for (Facet f : Facet.values()) {
+            BitSet b = (BitSet) common.clone();
+            for (Map.Entry<Facet, BitSet> e : facetBits.entrySet()) {
+                if (e.getKey() != f) b.and(e.getValue());
+            }
+            others.put(f, b);
+        }
+        return new Result(matches, others);
+    }
+
+    // ── Helpers ────────────────────────────────────────────────────────────────
+
+    /** Catalogue positions ordered by one numeric attribute; NaN values sort last and never match. */
+    private static final class NumericRange {
+        private final double[] sorted;
+        private final int[]    order;
+        private final int      valid;       // number of non-NaN values
+
+        NumericRange(double[] values) {
+            Integer[] idx = new Integer[values.length];
+            for (int i = 0; i < idx.length; i++) idx[i] = i;
+            Arrays.sort(idx, (a, b) -> Double.compare(values[a], values[b]));   // NaN sorts last
+            sorted = new double[values.length];
+            order  = new int[values.length];
+            int v = 0;
+            for (int i = 0; i < idx.length; i++) {
+                order[i]  = idx[i];
+                sorted[i] = values[idx[i]];
+                if (!Double.isNaN(sorted[i])) v++;
+            }
+            valid = v;
+        }
+
+        double min() { return valid == 0 ? 0 : sorted[0]; }
+        double max() { return valid == 0 ? 0 : sorted[valid - 1]; }
+
+        /** Positions with min <= value <= max; {@code all} if the range is unbounded. */
+        BitSet between(double min, double max, BitSet all) {
+            if (min == Double.NEGATIVE_INFINITY && max == Double.POSITIVE_INFINITY) return all;
+            int from = lowerBound(min), to = upperBound(max);
+            BitSet bits = new BitSet(order.length);
+            for (int i = from; i < to; i++) bits.set(order[i]);
+            return bits;
+        }
+
+        private int lowerBound(double key) {       // first index with sorted >= key
+            int lo = 0, hi = valid;
+            while (lo < hi) {
+                int mid = (lo + hi) >>> 1;
+                if (sorted[mid] < key) lo = mid + 1; else hi = mid;
+            }
+            return lo;
+        }
+
+        private int upperBound(double key) {       // first index with sorted > key
+            int lo = 0, hi = valid;
+            while (lo < hi) {
+                int mid = (lo + hi) >>> 1;
+                if (sorted[mid] <= key) lo = mid + 1; else hi = mid;
+            }
+            return lo;
+        }
+    }
+}
@@ -0,0 +1,87 @@
+package com.jawa.showroom.service;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.*;
+import java.util.concurrent.TimeUnit;
+
+import static java.nio.file.StandardWatchEventKinds.*;
+
+/**
+ * CatalogWatcher watches the data directory for changes to one file
+ * (bikes.dat, pricing.dat) and runs a reload callback on its own daemon thread.
+ *
+ * Editors typically save in several steps (truncate, write, rename), each
+ * raising its own event, so the watcher waits until the watched file has had
+ * no events for {@link #SETTLE_MS} before reloading once. Events for other
+ * files in the directory (the journals are appended to constantly) neither
+ * start nor extend that wait.
+ */
+class CatalogWatcher {
+
+    private static final long SETTLE_MS = 250;
+
+    private final String       fileName;
+    private final Runnable     onChange;
+    private final WatchService watcher;
+    private final Thread       thread;
+
+    CatalogWatcher(File file, Runnable onChange) throws IOException {
+        Path dir = file.getAbsoluteFile().getParentFile().toPath();
+        this.fileName = file.getName();
+        this.onChange = onChange;
+        this.watcher  = dir.getFileSystem().newWatchService();
+        dir.register(watcher, ENTRY_CREATE, ENTRY_MODIFY);
+
+        this.thread = new Thread(this::run, "catalog-watcher-" + fileName);
+        this.thread.setDaemon(true);
+        this.thread.start();
+    }
+
+    void close() {
+        thread.interrupt();
+        try {
+            watcher.close();
+        } catch (IOException ignored) {
+            // already closed
+        }
+    }
+
+    // ── Watcher Thread ─────────────────────────────────────────────────────────
+
+    private void run() {
+        try {
+            while (!Thread.currentThread().isInterrupted()) {
+                if (!drain(watcher.take())) continue;
+                // Let a multi-step save finish before reading the file
+                long settle   = TimeUnit.MILLISECONDS.toNanos(SETTLE_MS);
+                long deadline = System.nanoTime() + settle;
+                long left;
+                while ((left = deadline - System.nanoTime()) > 0) {
+                    WatchKey key = watcher.poll(left, TimeUnit.NANOSECONDS);
+                    if (key != null && drain(key)) deadline = System.nanoTime() + settle;
+                }
+                try {
+                    onChange.run();
+                } catch (RuntimeException e) {
+                    System.err.println("[DataStore] Reload of " + fileName + " failed: " + e.getMessage());
+                }
+            }
+        } catch (InterruptedException | ClosedWatchServiceException e) {
+            // close() – stop watching
+        }
+    }
+
+    /** Consumes a key's events; true if any of them touched the catalogue file. */
+    private boolean drain(WatchKey key) {
+        boolean relevant = false;
+        for (WatchEvent<?> event : key.pollEvents()) {
+            if (event.kind() == OVERFLOW
+                    || fileName.equals(String.valueOf(event.context()))) {
+                relevant = true;
+            }
+        }
+        key.reset();
+        return relevant;
+    }
+}
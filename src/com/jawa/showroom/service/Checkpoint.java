@@ -0,0 +1,146 @@
+package com.jawa.showroom.service;
+
+import java.io.*;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.util.Map;
+import java.util.zip.CRC32;
+import java.util.zip.CheckedOutputStream;
+
+/**
+ * Checkpoint describes the snapshot files DataStore last wrote and what they
+ * cover, so a restart can replay only the journal tail and skip rebuilding
+ * the booking indexes.
+ *
+ * File layout (store.ckpt, big-endian, replaced atomically):
+ *
+ *   int MAGIC | short VERSION | long generation | long createdAtMillis
+ *   long usersBytes | UTF bookingsFile | long bookingsBytes | int bookingCount
+ *   postings: 3 × ( int keys | keys × ( UTF key | int n | n × int position ) )
+ *             int dates | dates × ( long epochSecond | int n | n × int position )
+ *   long CRC32 of everything above
+ *
+ * Journal segments up to {@code generation} are folded into the snapshots.
+ * The checkpoint only applies while users.dat and the bookings snapshot still
+ * have the recorded sizes; after a crash between writing a snapshot and its
+ * checkpoint it is ignored and the loader falls back to a full replay.
+ */
+final class Checkpoint {
+
+    private static final int   MAGIC   = 0x4A57434B;     // "JWCK"
+    private static final short VERSION = 1;
+
+    final long   generation;
+    final long   createdAt;
+    final long   usersBytes;
+    final String bookingsFile;       // file name, e.g. "bookings.bin"
+    final long   bookingsBytes;
+    final int    bookingCount;
+    final BookingIndex.Postings postings;
+
+    Checkpoint(long generation, long createdAt, long usersBytes, String bookingsFile,
+               long bookingsBytes, int bookingCount, BookingIndex.Postings postings) {
+        this.generation    = generation;
+        this.createdAt     = createdAt;
+        this.usersBytes    = usersBytes;
+        this.bookingsFile  = bookingsFile;
+        this.bookingsBytes = bookingsBytes;
+        this.bookingCount  = bookingCount;
+        this.postings      = postings;
+    }
+
+    /** True if the given snapshot files are the ones this checkpoint was written for. */
+    boolean covers(File users, File bookings) {
+        return users.length() == usersBytes
+                && bookings.getName().equals(bookingsFile)
+                && bookings.length() == bookingsBytes;
+    }
+
+    // ── Writing ────────────────────────────────────────────────────────────────
+
+    void write(File file) throws IOException {
+        DurableFiles.replace(file, out -> {
+            CRC32 crc = new CRC32();
+            DataOutputStream d = new DataOutputStream(new CheckedOutputStream(out, crc));
+            d.writeInt(MAGIC);
+            d.writeShort(VERSION);
+            d.writeLong(generation);
+            d.writeLong(createdAt);
+            d.writeLong(usersBytes);
+            d.writeUTF(bookingsFile);
+            d.writeLong(bookingsBytes);
+            d.writeInt(bookingCount);
+            writeKeyed(d, postings.byUser);
+            writeKeyed(d, postings.byBike);
+            writeKeyed(d, postings.byStatus);
+            d.writeInt(postings.byDate.size());
+            for (Map.Entry<Long, int[]> e : postings.byDate.entrySet()) {
+                d.writeLong(e.getKey());
+                writePositions(d, e.getValue());
+            }
+            d.flush();
+            new DataOutputStream(out).writeLong(crc.getValue());
+        });
+    }
+
+    private static void writeKeyed(DataOutputStream d, Map<String, int[]> index) throws IOException {
+        d.writeInt(index.size());
+        for (Map.Entry<String, int[]> e : index.entrySet()) {
+            d.writeUTF(e.getKey());
+            writePositions(d, e.getValue());
+        }
+    }
+
+    private static void writePositions(DataOutputStream d, int[] positions) throws IOException {
+        d.writeInt(positions.length);
+        for (int p : positions) d.writeInt(p);
+    }
+
+    // ── Reading ────────────────────────────────────────────────────────────────
+
+    /** Reads a checkpoint, or returns null if it is missing, truncated or corrupt. */
+    static Checkpoint read(File file) {
+        if (!file.exists()) return null;
+        try {
+            byte[] bytes = Files.readAllBytes(file.toPath());
+            if (bytes.length < 8) throw new EOFException("truncated");
+            CRC32 crc = new CRC32();
+            crc.update(bytes, 0, bytes.length - 8);
+            if (crc.getValue() != ByteBuffer.wrap(bytes, bytes.length - 8, 8).getLong()) {
+                throw new IOException("checksum mismatch");
+            }
+
+            DataInputStream d = new DataInputStream(new ByteArrayInputStream(bytes, 0, bytes.length - 8));
+            if (d.readInt() != MAGIC)      throw new IOException("not a checkpoint file");
+            if (d.readShort() != VERSION)  throw new IOException("unsupported checkpoint version");
+            long   generation    = d.readLong();
+            long   createdAt     = d.readLong();
+            long   usersBytes    = d.readLong();
+            String bookingsFile  = d.readUTF();
+            long   bookingsBytes = d.readLong();
+            int    bookingCount  = d.readInt();
+
+            BookingIndex.Postings p = new BookingIndex.Postings();
+            readKeyed(d, p.byUser);
+            readKeyed(d, p.byBike);
+            readKeyed(d, p.byStatus);
+            for (int i = d.readInt(); i > 0; i--) p.byDate.put(d.readLong(), readPositions(d));
+
+            return new Checkpoint(generation, createdAt, usersBytes, bookingsFile,
+                                  bookingsBytes, bookingCount, p);
+        } catch (IOException e) {
+            System.err.println("[DataStore] Ignoring checkpoint " + file.getName() + ": " + e.getMessage());
+            return null;
+        }
+    }
+
+    private static void readKeyed(DataInputStream d, Map<String, int[]> index) throws IOException {
+        for (int i = d.readInt(); i > 0; i--) index.put(d.readUTF(), readPositions(d));
+    }
+
+    private static int[] readPositions(DataInputStream d) throws IOException {
+        int[] positions = new int[d.readInt()];
+        for (int i = 0; i < positions.length; i++) positions[i] = d.readInt();
+        return positions;
+    }
+}
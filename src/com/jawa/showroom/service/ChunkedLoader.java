@@ -0,0 +1,164 @@
+package com.jawa.showroom.service;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.function.Function;
+
+/**
+ * ChunkedLoader parses a large record file (users.dat, bookings.dat) on the
+ * common ForkJoin pool.
+ *
+ * The file is cut into line-aligned chunks: each cut point is moved forward
+ * to just past the next newline, so no record straddles two chunks. Every
+ * chunk is read with a positional read, split into records, checksum-verified
+ * and parsed independently; the results are then concatenated in file order.
+ *
+ * Recovery matches {@link DurableFiles#readRecords}: a record that fails its
+ * checksum is skipped, and an unterminated last line goes through
+ * {@link DurableFiles#unterminatedTail}, which only ever truncates journals.
+ */
+final class ChunkedLoader {
+
+    /** Files smaller than two chunks are parsed on the calling thread. */
+    private static final int  MIN_CHUNK  = 1 << 20;       // 1 MiB
+    private static final int  SCAN_BLOCK = 1 << 16;
+
+    private ChunkedLoader() { /* Utility class – no instances */ }
+
+    /** The parsed records of one chunk, and its unterminated last line, if any. */
+    private static final class Chunk<T> {
+        final List<T> records = new ArrayList<>();
+        int    count;               // intact records, including ones the parser rejected
+        String tail;                // text after the last newline; only the final chunk has one
+        long   tailStart;
+    }
+
+    /**
+     * Loads every intact record of {@code file}, in file order, mapped through
+     * {@code parser}. Records the parser maps to null are skipped.
+     */
+    static <T> List<T> load(File file, DurableFiles.Kind kind, Function<String, T> parser) throws IOException {
+        List<T> result = new ArrayList<>();
+        if (!file.exists()) return result;
+
+        int    kept      = 0;
+        String tail      = null;
+        long   tailStart = 0;
+
+        try (FileChannel ch = FileChannel.open(file.toPath(), StandardOpenOption.READ)) {
+            long size = ch.size();
+            long[] cuts = cutPoints(ch, size);
+
+            List<ForkJoinTask<Chunk<T>>> tasks = new ArrayList<>(cuts.length - 1);
+            for (int i = 0; i + 1 < cuts.length; i++) {
+                long from = cuts[i], to = cuts[i + 1];
+                tasks.add(ForkJoinTask.adapt(() -> {
+                    try {
+                        return parse(file, ch, from, to, parser);
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                }));
+            }
+            try {
+                if (tasks.size() == 1) tasks.get(0).invoke();
+                else ForkJoinTask.invokeAll(tasks);
+            } catch (UncheckedIOException e) {
+                throw e.getCause();
+            }
+
+            for (ForkJoinTask<Chunk<T>> task : tasks) {
+                Chunk<T> c = task.join();
+                result.addAll(c.records);
+                kept += c.count;
+                if (c.tail != null) {
+                    tail      = c.tail;
+                    tailStart = c.tailStart;
+                }
+            }
+        }
+        if (tail != null) {
+            String payload = DurableFiles.unterminatedTail(file, kind, tail, tailStart, kept);
+            T record = payload == null ? null : parser.apply(payload);
+            if (record != null) result.add(record);
+        }
+        return result;
+    }
+
+    /** Chunk boundaries: 0, each target offset advanced past its next newline, size. */
+    private static long[] cutPoints(FileChannel ch, long size) throws IOException {
+        int parallelism = ForkJoinPool.getCommonPoolParallelism();
+        int n = (int) Math.max(1, Math.min(size / MIN_CHUNK, parallelism * 4L));
+        n = Math.max(n, (int) (size >> 30) + 1);            // keep each chunk under 1 GiB
+
+        List<Long> cuts = new ArrayList<>(n + 1);
+        cuts.add(0L);
+        for (int i = 1; i < n; i++) {
+            long cut = nextLineStart(ch, size * i / n, size);
+            if (cut > cuts.get(cuts.size() - 1) && cut < size) cuts.add(cut);
+        }
+        cuts.add(size);
+
+        long[] out = new long[cuts.size()];
+        for (int i = 0; i < out.length; i++) out[i] = cuts.get(i);
+        return out;
+    }
+
+    private static long nextLineStart(FileChannel ch, long from, long size) throws IOException {
+        ByteBuffer buf = ByteBuffer.allocate(SCAN_BLOCK);
+        long pos = from;
+        while (pos < size) {
+            buf.clear();
+            int n = ch.read(buf, pos);
+            if (n <= 0) break;
+            for (int i = 0; i < n; i++) {
+                if (buf.get(i) == '\n') return pos + i + 1;
+            }
+            pos += n;
+        }
+        return size;
+    }
+
+    /** Reads and parses the records in [from, to). */
+    private static <T> Chunk<T> parse(File file, FileChannel ch, long from, long to,
+                                      Function<String, T> parser) throws IOException {
+        byte[] bytes = new byte[(int) (to - from)];
+        ByteBuffer buf = ByteBuffer.wrap(bytes);
+        while (buf.hasRemaining()) {
+            if (ch.read(buf, from + buf.position()) < 0) break;
+        }
+
+        Chunk<T> chunk = new Chunk<>();
+        int start = 0;
+        for (int i = 0; i < bytes.length; i++) {
+            if (bytes[i] != '\n') continue;
+            int end = (i > start && bytes[i - 1] == '\r') ? i - 1 : i;
+            if (end > start) {
+                String payload = DurableFiles.unseal(new String(bytes, start, end - start, StandardCharsets.UTF_8));
+                if (payload == null) {
+                    DurableFiles.skipCorrupt(file, from + start);
+                } else {
+                    T record = parser.apply(payload);
+                    if (record != null) chunk.records.add(record);
+                    chunk.count++;
+                }
+            }
+            start = i + 1;
+        }
+        if (start < bytes.length) {                      // last record never got its newline
+            int end = bytes[bytes.length - 1] == '\r' ? bytes.length - 1 : bytes.length;
+            chunk.tail      = new String(bytes, start, end - start, StandardCharsets.UTF_8);
+            chunk.tailStart = from + start;
+        }
+        return chunk;
+    }
+}
@@ -3,9 +3,22 @@ package com.jawa.showroom.service;
 import com.jawa.showroom.model.Bike;
 import com.jawa.showroom.model.Booking;
 import com.jawa.showroom.model.User;
+import com.jawa.showroom.util.Money;
 
 import java.io.*;
+import java.lang.ref.WeakReference;
+import java.time.LocalDateTime;
 import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 /**
  * DataStore provides file-based persistence for Users, Bikes, and Bookings.
@@ -15,41 +28,234 @@ import java.util.*;
  *  - users.dat   : field1|field2|...|fieldN (one user per line)
  *  - bookings.dat: field1|field2|...|fieldN (one booking per line)
  *
- * Bikes are seeded in-memory (can be extended to bikes.dat).
+ * New bookings are appended to bookings.journal and user registrations or
+ * profile changes to users.journal (upsert records keyed by lowercase
+ * username) instead of rewriting the .dat files. A background compactor
+ * periodically takes a checkpoint: it rotates both journals to numbered
+ * segments, writes fresh snapshot files, and records in store.ckpt which
+ * journal generation they cover along with the booking indexes as record
+ * positions (see Checkpoint). Saves continue while the snapshots are written.
+ * At startup only journal segments newer than the checkpoint are replayed and
+ * the indexes are restored rather than rebuilt, in the background.
+ *
+ * With -Djawa.store.bookingFormat=binary the bookings snapshot is kept in
+ * the compact bookings.bin format instead (see BookingBinaryFormat); an
+ * existing bookings.dat is still read and migrated on the next checkpoint.
+ * Each checkpoint writes its own bookings.bin.<generation> rather than
+ * replacing the file in place, since a mapped file cannot be replaced or
+ * deleted on every platform; the newest generation is loaded, and older ones
+ * are deleted once nothing maps them any more. A plain bookings.bin (from the
+ * converter or an older release) is still loaded when no generation exists.
+ * Adding -Djawa.store.mappedBookings=true memory-maps the snapshot instead of
+ * loading it: historic bookings are lazily decoded views (MappedBookingStore)
+ * and only bookings taken since the last checkpoint live on the heap.
+ *
+ * Journal writes are write-behind: mutations update the in-memory caches at
+ * once and hand their record to a WriteBehindWriter, which group-commits them
+ * on its own thread. Callers get a CompletableFuture that completes once the
+ * record is durable. Pending writes are flushed by a JVM shutdown hook.
+ *
+ * Crash safety (see DurableFiles): snapshot files are written to a temp file,
+ * fsynced and atomically renamed over the old one, so a crash never leaves a
+ * half-written snapshot. Every text record carries a CRC32; on load, a record
+ * that fails it is reported and skipped, and only a journal's torn last line
+ * is truncated. Snapshots are never rewritten by the loader. Journal fsync frequency follows -Djawa.store.fsync (StoreConfig).
+ *
+ * Bookings are also kept in secondary indexes (see BookingIndex) by user,
+ * bike, status and date, updated on every save and rebuilt on load.
+ *
+ * Concurrency: DataStore may be shared by several threads (sales terminals,
+ * background loaders). Reads never block: users live in a ConcurrentHashMap
+ * and bookings in lock-free append-only lists, published together with the
+ * mapped snapshot through one volatile reference. Writers take a per-username
+ * stripe lock (users) or the booking write lock; a checkpoint holds those only
+ * for the instant it captures state and rotates the journal.
+ *
+ * The bike catalogue lives in bikes.dat (see BikeCatalog), created from the
+ * built-in Jawa line-up on first run. A CatalogWatcher reloads it whenever
+ * the file is saved: the new immutable snapshot is parsed off-thread, swapped
+ * in with one volatile write, and BikeCatalog.Listeners are told which ids
+ * changed. A file that fails to parse leaves the current catalogue in place.
+ * pricing.dat (see PriceBook) holds per-state RTO tables and dated price
+ * lists and is reloaded the same way.
  */
 public class DataStore {
 
     private static final String DATA_DIR    = "data" + File.separator;
     private static final String USERS_FILE  = DATA_DIR + "users.dat";
     private static final String BOOKINGS_FILE = DATA_DIR + "bookings.dat";
+    private static final String BOOKINGS_BIN  = DATA_DIR + "bookings.bin";
+    private static final String USERS_JOURNAL    = DATA_DIR + "users.journal";
+    private static final String BOOKINGS_JOURNAL = DATA_DIR + "bookings.journal";
+    private static final String CHECKPOINT_FILE  = DATA_DIR + "store.ckpt";
+    private static final String BIKES_FILE       = DATA_DIR + "bikes.dat";
+    private static final String PRICING_FILE     = DATA_DIR + "pricing.dat";
     private static final String DELIM       = "\\|";
     private static final String WRITE_DELIM = "|";
 
+    /** Journal size that triggers a checkpoint, and how often the compactor checks. */
+    private static final int  COMPACT_THRESHOLD    = 500;
+    private static final long COMPACT_INTERVAL_SEC = 30;
+
     // ── In-memory caches ───────────────────────────────────────────────────────
-    private final Map<String, User>    users    = new LinkedHashMap<>();
-    private final List<Booking>        bookings = new ArrayList<>();
-    private final List<Bike>           bikes    = new ArrayList<>();
+    private final Map<String, User>    users    = new ConcurrentHashMap<>();
+    private volatile BikeCatalog       catalog  = BikeCatalog.of(List.of());
+    private volatile BookingSet        bookings = new BookingSet(null, new AppendOnlyList<>());
+
+    private final List<BikeCatalog.Listener> catalogListeners = new CopyOnWriteArrayList<>();
+    private CatalogWatcher catalogWatcher;
+
+    private volatile PriceBook priceBook = PriceBook.empty();
+    private CatalogWatcher pricingWatcher;
+    private final List<PriceBook.Listener> pricingListeners = new CopyOnWriteArrayList<>();
+
+    /** Startup phase → milliseconds; filled by init() from more than one thread. */
+    private final Map<String, Long> startupTimings = Collections.synchronizedMap(new LinkedHashMap<>());
+
+    /** Secondary indexes over all bookings; lock-free to read, null until built. */
+    private volatile BookingIndex bookingIndex;
+    /** Checkpointed postings and the snapshot they index, until the indexes are built. */
+    private BookingIndex.Postings restorablePostings;
+    private List<Booking>         restorableBase;
+
+    /** The binary bookings snapshot in use, or null; guarded by checkpointLock after init. */
+    private File bookingBin;
+    /** Superseded binary snapshots not yet deleted; guarded by checkpointLock. */
+    private final List<RetiredSnapshot> retiredSnapshots = new ArrayList<>();
+
+    // ── Locks (writers only – readers never lock) ──────────────────────────────
+    private static final int USER_STRIPES = 16;
+    private final Object[]      userStripes   = new Object[USER_STRIPES];
+    /** Shared by user writers, exclusive while a checkpoint captures users. */
+    private final ReadWriteLock userCompactLock = new ReentrantReadWriteLock();
+    /** Serialises booking appends with each other and with checkpoint capture. */
+    private final Object        bookingWriteLock = new Object();
+    /** One checkpoint at a time. */
+    private final Object        checkpointLock   = new Object();
+    /** One index build at a time; never held while taking bookingWriteLock for long. */
+    private final Object        indexBuildLock   = new Object();
+
+    /**
+     * The bookings visible to readers: an optional mapped snapshot plus the heap
+     * tail appended after it. Immutable as a pair and swapped in one volatile
+     * write, so a reader never sees a new snapshot with a stale tail.
+     */
+    private static final class BookingSet {
+        final MappedBookingStore      mapped;   // null in heap mode
+        final AppendOnlyList<Booking> tail;
+
+        BookingSet(MappedBookingStore mapped, AppendOnlyList<Booking> tail) {
+            this.mapped = mapped;
+            this.tail   = tail;
+        }
+
+        List<Booking> all() {
+            return mapped == null ? tail : concat(mapped, tail);
+        }
+    }
+
+    /**
+     * A superseded binary snapshot. Its mapping, if any, is only weakly held:
+     * once readers, indexes and views have all let go of the old store, the
+     * file is no longer mapped and can be deleted.
+     */
+    private static final class RetiredSnapshot {
+        final File file;
+        final WeakReference<MappedBookingStore> mapping;   // null if never mapped
+
+        RetiredSnapshot(File file, MappedBookingStore mapping) {
+            this.file    = file;
+            this.mapping = mapping == null ? null : new WeakReference<>(mapping);
+        }
+
+        boolean unreferenced() {
+            return mapping == null || mapping.get() == null;
+        }
+    }
+
+    // ── Journaling ─────────────────────────────────────────────────────────────
+    private final JournalFile userJournal    = new JournalFile(USERS_JOURNAL);
+    private final JournalFile bookingJournal = new JournalFile(BOOKINGS_JOURNAL);
+    private ScheduledExecutorService compactor;
+    private WriteBehindWriter        writer;
+    private long                     generation;   // last journal generation handed to a checkpoint
 
     // ── Singleton ──────────────────────────────────────────────────────────────
-    private static DataStore instance;
+    private static volatile DataStore instance;
 
     public static DataStore getInstance() {
-        if (instance == null) {
-            instance = new DataStore();
-            instance.init();
+        DataStore ds = instance;
+        if (ds == null) {
+            synchronized (DataStore.class) {
+                ds = instance;
+                if (ds == null) {
+                    ds = new DataStore();
+                    ds.init();
+                    instance = ds;
+                }
+            }
         }
-        return instance;
+        return ds;
     }
 
-    private DataStore() {}
+    private DataStore() {
+        for (int i = 0; i < USER_STRIPES; i++) userStripes[i] = new Object();
+    }
 
     // ── Initialization ─────────────────────────────────────────────────────────
 
+    /**
+     * Loads everything from disk. Users and bookings load concurrently, and
+     * large .dat files are parsed in parallel chunks (see ChunkedLoader). With
+     * a checkpoint that matches the snapshots, only newer journal segments are
+     * replayed. Indexes are restored or rebuilt on a background thread, so
+     * startup does not wait for them; the first lookup does if it must.
+     * The time spent in each phase is printed and kept for getStartupTimings().
+     */
     private void init() {
+        long start = System.nanoTime();
         ensureDataDir();
-        seedBikes();
-        loadUsers();
-        loadBookings();
+        writer = new WriteBehindWriter(StoreConfig.queueDepth(), StoreConfig.commitWindowMs());
+        Runtime.getRuntime().addShutdownHook(new Thread(this::shutdown, "datastore-shutdown"));
+        timed("bikes", this::loadCatalog);
+        timed("pricing", this::loadPricing);
+
+        long t = System.nanoTime();
+        Checkpoint ckpt = Checkpoint.read(new File(CHECKPOINT_FILE));
+        if (ckpt != null && !ckpt.covers(new File(USERS_FILE), bookingSnapshotFile())) ckpt = null;
+        startupTimings.put("checkpoint", (System.nanoTime() - t) / 1_000_000);
+        long replayAfter = ckpt == null ? -1 : ckpt.generation;
+        generation = Math.max(ckpt == null ? 0 : ckpt.generation,
+                Math.max(userJournal.lastSegmentGeneration(), bookingJournal.lastSegmentGeneration()));
+
+        CompletableFuture<Void> usersLoaded = CompletableFuture.runAsync(
+                () -> timed("users", () -> loadUsers(replayAfter)));
+        loadBookings(replayAfter, ckpt);
+        usersLoaded.join();
+        startCompactor();
+        startupTimings.put("total", (System.nanoTime() - start) / 1_000_000);
+
+        System.out.println("[DataStore] Loaded " + users.size() + " users, "
+                + bookings.all().size() + " bookings" + (ckpt == null ? "" : " from checkpoint " + ckpt.generation)
+                + "; startup ms " + startupTimings);
+
+        Thread indexer = new Thread(() -> timed("index", this::ensureIndexed), "datastore-indexer");
+        indexer.setDaemon(true);
+        indexer.start();
+    }
+
+    /** Runs one startup phase and records its wall-clock time. */
+    private void timed(String phase, Runnable step) {
+        long t = System.nanoTime();
+        step.run();
+        startupTimings.put(phase, (System.nanoTime() - t) / 1_000_000);
+    }
+
+    /** Wall-clock milliseconds of each startup phase, in completion order. */
+    public Map<String, Long> getStartupTimings() {
+        synchronized (startupTimings) {
+            return new LinkedHashMap<>(startupTimings);
+        }
     }
 
     private void ensureDataDir() {
@@ -57,13 +263,101 @@ public class DataStore {
         if (!dir.exists()) dir.mkdirs();
     }
 
-    // ── Bike Seeding ───────────────────────────────────────────────────────────
+    // ── Bike Catalogue ─────────────────────────────────────────────────────────
 
     /**
-     * Seeds the catalog with real Jawa motorcycle data.
-     * Extend this method or load from bikes.dat for more dynamic data.
+     * Loads bikes.dat, writing the built-in line-up to it on first run, and
+     * starts watching it for edits.
      */
-    private void seedBikes() {
+    private void loadCatalog() {
+        File file = new File(BIKES_FILE);
+        if (file.exists()) {
+            try {
+                catalog = BikeCatalog.read(file);
+            } catch (IOException e) {
+                System.err.println("[DataStore] Error loading bikes.dat, using built-in catalogue: " + e.getMessage());
+                catalog = BikeCatalog.of(defaultBikes());
+            }
+        } else {
+            catalog = BikeCatalog.of(defaultBikes());
+            try {
+                catalog.write(file);
+            } catch (IOException e) {
+                System.err.println("[DataStore] Error writing bikes.dat: " + e.getMessage());
+            }
+        }
+        try {
+            catalogWatcher = new CatalogWatcher(file, this::reloadCatalog);
+        } catch (IOException e) {
+            System.err.println("[DataStore] Catalogue hot reload unavailable: " + e.getMessage());
+        }
+    }
+
+    /** Re-reads bikes.dat on the watcher thread and swaps the new snapshot in. */
+    private void reloadCatalog() {
+        BikeCatalog next;
+        try {
+            next = BikeCatalog.read(new File(BIKES_FILE));
+            // An empty file is far more likely a save in progress than an empty showroom
+            if (next.size() == 0) throw new IOException("no bikes in file");
+        } catch (IOException e) {
+            System.err.println("[DataStore] Keeping current catalogue, bikes.dat rejected: " + e.getMessage());
+            return;
+        }
+        BikeCatalog previous = catalog;
+        Set<String> changed = previous.changesTo(next);
+        if (changed.isEmpty()) return;
+        catalog = next;
+        priceBook.clearQuotes();
+        System.out.println("[DataStore] Catalogue reloaded: " + next.size() + " bikes, "
+                + changed.size() + " changed");
+        for (BikeCatalog.Listener l : catalogListeners) l.catalogChanged(previous, next, changed);
+    }
+
+    public void addCatalogListener(BikeCatalog.Listener l)    { catalogListeners.add(l); }
+    public void removeCatalogListener(BikeCatalog.Listener l) { catalogListeners.remove(l); }
+
+    /** Loads pricing.dat, writing an empty commented template on first run, and watches it. */
+    private void loadPricing() {
+        File file = new File(PRICING_FILE);
+        if (file.exists()) {
+            try {
+                priceBook = PriceBook.read(file);
+            } catch (IOException e) {
+                System.err.println("[DataStore] Error loading pricing.dat, using bikes.dat prices: " + e.getMessage());
+            }
+        } else {
+            try {
+                PriceBook.writeTemplate(file);
+            } catch (IOException e) {
+                System.err.println("[DataStore] Error writing pricing.dat: " + e.getMessage());
+            }
+        }
+        try {
+            pricingWatcher = new CatalogWatcher(file, this::reloadPricing);
+        } catch (IOException e) {
+            System.err.println("[DataStore] Pricing hot reload unavailable: " + e.getMessage());
+        }
+    }
+
+    private void reloadPricing() {
+        try {
+            priceBook = PriceBook.read(new File(PRICING_FILE));
+            System.out.println("[DataStore] Pricing reloaded");
+        } catch (IOException e) {
+            System.err.println("[DataStore] Keeping current pricing, pricing.dat rejected: " + e.getMessage());
+            return;
+        }
+        PriceBook current = priceBook;
+        for (PriceBook.Listener l : pricingListeners) l.pricingChanged(current);
+    }
+
+    public void addPricingListener(PriceBook.Listener l)    { pricingListeners.add(l); }
+    public void removePricingListener(PriceBook.Listener l) { pricingListeners.remove(l); }
+
+    /** The built-in Jawa line-up, used to create bikes.dat on first run. */
+    private List<Bike> defaultBikes() {
+        List<Bike> bikes = new ArrayList<>();
         bikes.add(buildBike("JW001", "Jawa 42",      "Standard",
                 "Jasper Red",    199000, 28.0, 12000, 18000, 4000,
                 "334 cc", "Single Cyl, Liquid Cooled",
@@ -123,6 +417,7 @@ public class DataStore {
                 "280 mm Disc", "220 mm Drum",
                 "41 mm Telescopic Forks", "Twin Shock",
                 "Entry-level retro commuter – lightweight, fuel-efficient, timeless style."));
+        return bikes;
     }
 
     /** Helper to construct a fully-populated Bike object. */
@@ -167,9 +462,48 @@ public class DataStore {
 
     // ── User Persistence ───────────────────────────────────────────────────────
 
-    public void saveUser(User user) {
-        users.put(user.getUsername().toLowerCase(), user);
-        persistUsers();
+    /**
+     * Inserts or updates a user. Only the changed record is written, as an
+     * upsert at the end of users.journal; the last record for a username wins.
+     *
+     * @return a future that completes once the record is durable on disk
+     */
+    public CompletableFuture<Void> saveUser(User user) {
+        String key = user.getUsername().toLowerCase();
+        userCompactLock.readLock().lock();
+        try {
+            synchronized (userStripe(key)) {
+                users.put(key, user);
+                // Queued under the stripe so a user's records reach the journal in
+                // the order their updates were applied; replay keeps the last one
+                return writer.submit(userJournal, encodeUser(user));
+            }
+        } finally {
+            userCompactLock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Saves a new user only if the username is still free, atomically with
+     * respect to other registrations on any thread.
+     *
+     * @return the pending write, or null if the username is already taken
+     */
+    public CompletableFuture<Void> saveNewUser(User user) {
+        String key = user.getUsername().toLowerCase();
+        userCompactLock.readLock().lock();
+        try {
+            synchronized (userStripe(key)) {
+                if (users.putIfAbsent(key, user) != null) return null;
+                return writer.submit(userJournal, encodeUser(user));
+            }
+        } finally {
+            userCompactLock.readLock().unlock();
+        }
+    }
+
+    private Object userStripe(String key) {
+        return userStripes[(key.hashCode() & 0x7fffffff) % USER_STRIPES];
     }
 
     public User findUser(String username) {
@@ -180,131 +514,596 @@ public class DataStore {
         return users.containsKey(username.toLowerCase());
     }
 
-    private void persistUsers() {
-        try (PrintWriter pw = new PrintWriter(new FileWriter(USERS_FILE))) {
-            for (User u : users.values()) {
-                pw.println(join(u.getUsername(), u.getPasswordHash(), u.getFullName(),
-                        u.getEmail(), u.getPhone(), u.getAddress(), u.getCreatedAt()));
-            }
+    /** Writes the users snapshot; returns false (journal segments must be kept) on failure. */
+    private boolean persistUsers(List<User> snapshot) {
+        List<String> records = new ArrayList<>(snapshot.size());
+        for (User u : snapshot) records.add(encodeUser(u));
+        try {
+            DurableFiles.replace(new File(USERS_FILE), out -> DurableFiles.writeRecords(out, records));
+            return true;
         } catch (IOException e) {
             System.err.println("[DataStore] Error saving users: " + e.getMessage());
+            return false;
         }
     }
 
-    private void loadUsers() {
-        File f = new File(USERS_FILE);
-        if (!f.exists()) return;
-        try (BufferedReader br = new BufferedReader(new FileReader(f))) {
-            String line;
-            while ((line = br.readLine()) != null) {
-                String[] p = line.split(DELIM, -1);
-                if (p.length < 7) continue;
-                User u = new User(p[0], p[1], p[2], p[3], p[4], p[5], p[6]);
+    /** Loads the users.dat snapshot, then applies newer journal upserts in order. */
+    private void loadUsers(long replayAfter) {
+        try {
+            for (User u : ChunkedLoader.load(new File(USERS_FILE), DurableFiles.Kind.SNAPSHOT, DataStore::decodeUser)) {
                 users.put(u.getUsername().toLowerCase(), u);
             }
         } catch (IOException e) {
             System.err.println("[DataStore] Error loading users: " + e.getMessage());
         }
+        try {
+            for (String line : userJournal.readLines(replayAfter)) upsertUser(line);
+        } catch (IOException e) {
+            System.err.println("[DataStore] Error replaying user journal: " + e.getMessage());
+        }
+    }
+
+    private void upsertUser(String line) {
+        User u = decodeUser(line);
+        if (u != null) users.put(u.getUsername().toLowerCase(), u);
+    }
+
+    /** Parses one user record, or returns null if the line is malformed. */
+    private static User decodeUser(String line) {
+        String[] p = line.split(DELIM, -1);
+        if (p.length < 7) return null;
+        return new User(p[0], p[1], p[2], p[3], p[4], p[5], p[6]);
+    }
+
+    private String encodeUser(User u) {
+        return join(u.getUsername(), u.getPasswordHash(), u.getFullName(),
+                u.getEmail(), u.getPhone(), u.getAddress(), u.getCreatedAt());
     }
 
     // ── Booking Persistence ────────────────────────────────────────────────────
 
-    public void saveBooking(Booking bk) {
-        bookings.add(bk);
-        persistBookings();
+    /**
+     * Adds a booking to the in-memory list and queues its journal record.
+     * Blocks while the write queue is full; see {@link #offerBooking}.
+     *
+     * @return a future that completes once the record is durable on disk
+     */
+    public CompletableFuture<Void> saveBooking(Booking bk) {
+        synchronized (bookingWriteLock) {
+            bookings.tail.add(bk);
+            BookingIndex idx = bookingIndex;
+            if (idx != null) idx.add(bk);
+        }
+        // Journal order need not match list order: replay de-duplicates by id
+        return writer.submit(bookingJournal, encodeBooking(bk));
+    }
+
+    /**
+     * Like {@link #saveBooking}, but never blocks, so it is safe on the EDT.
+     * If the write queue is full the booking is not added at all and the
+     * returned future fails with an IOException.
+     */
+    public CompletableFuture<Void> offerBooking(Booking bk) {
+        String record = encodeBooking(bk);
+        synchronized (bookingWriteLock) {
+            // Queued and added under one lock hold, so a checkpoint sees both or neither
+            CompletableFuture<Void> done = writer.offer(bookingJournal, record);
+            if (done == null) {
+                return CompletableFuture.failedFuture(new IOException("Booking queue is full, please try again"));
+            }
+            bookings.tail.add(bk);
+            BookingIndex idx = bookingIndex;
+            if (idx != null) idx.add(bk);
+            return done;
+        }
     }
 
+    /*
+     * Until the indexer thread has published the indexes, lookups fall back to
+     * a scan through query() rather than wait for (or run) the build.
+     */
+
     public List<Booking> getBookingsByUser(String username) {
-        List<Booking> result = new ArrayList<>();
-        for (Booking b : bookings) {
-            if (b.getUsername().equalsIgnoreCase(username)) result.add(b);
+        BookingIndex idx = bookingIndex;
+        if (idx != null) return idx.byUser(username);
+        return username == null ? new ArrayList<>() : scan(new BookingQuery().user(username));
+    }
+
+    public List<Booking> getBookingsByBike(String bikeId) {
+        BookingIndex idx = bookingIndex;
+        if (idx != null) return idx.byBike(bikeId);
+        return bikeId == null ? new ArrayList<>() : scan(new BookingQuery().bikeId(bikeId));
+    }
+
+    public List<Booking> getBookingsByStatus(String status) {
+        BookingIndex idx = bookingIndex;
+        if (idx != null) return idx.byStatus(status);
+        return status == null ? new ArrayList<>() : scan(new BookingQuery().status(status));
+    }
+
+    /** Bookings dated within [from, to], oldest first; a null bound is open-ended. */
+    public List<Booking> getBookingsBetween(LocalDateTime from, LocalDateTime to) {
+        BookingIndex idx = bookingIndex;
+        if (idx != null) return idx.between(from, to);
+        return scan(new BookingQuery().between(from, to).sortBy(BookingQuery.SortKey.DATE, false));
+    }
+
+    private List<Booking> scan(BookingQuery q) {
+        return query(q).collect(Collectors.toCollection(ArrayList::new));
+    }
+
+    /**
+     * Runs a booking query. The candidate set comes from the most selective
+     * index the query can use (user, bike, status or date range), falling back
+     * to a snapshot of all bookings; remaining criteria, sorting and paging are
+     * applied lazily by the returned stream.
+     */
+    public Stream<Booking> query(BookingQuery q) {
+        List<Booking> source = null;
+        boolean dateOrdered = false;
+        BookingIndex idx = bookingIndex;
+        if (idx != null) {
+            if (q.getUsername() != null) source = smaller(source, idx.byUser(q.getUsername()));
+            if (q.getBikeId()   != null) source = smaller(source, idx.byBike(q.getBikeId()));
+            if (q.getStatus()   != null) source = smaller(source, idx.byStatus(q.getStatus()));
         }
-        return result;
+        if (idx != null && q.hasDateRange()) {
+            List<Booking> inRange = idx.between(q.getFrom(), q.getTo());
+            if (source == null || inRange.size() < source.size()) {
+                source      = inRange;
+                dateOrdered = true;
+            }
+        }
+        if (source == null) source = snapshotAll();
+
+        Stream<Booking> s = source.stream().filter(q::matches);
+        boolean alreadySorted = dateOrdered && q.getSortKey() == BookingQuery.SortKey.DATE && !q.isDescending();
+        if (q.comparator() != null && !alreadySorted) s = s.sorted(q.comparator());
+        return s.skip(q.getOffset()).limit(q.getLimit());
     }
 
+    private static List<Booking> smaller(List<Booking> current, List<Booking> candidate) {
+        return current == null || candidate.size() < current.size() ? candidate : current;
+    }
+
+    /**
+     * Builds the secondary indexes once: from checkpointed postings plus the
+     * bookings added after that snapshot when possible, else by a full scan.
+     * Runs on the indexer thread after startup. The build works on a fixed
+     * snapshot without any write lock; only the catch-up over bookings saved
+     * meanwhile, and the publish, happen under bookingWriteLock, so writers
+     * never wait for more than that short tail.
+     */
+    void ensureIndexed() {
+        if (bookingIndex != null) return;
+        synchronized (indexBuildLock) {
+            if (bookingIndex != null) return;
+            BookingIndex idx = new BookingIndex();
+            List<Booking> base = snapshotAll();
+            if (restorablePostings != null) {
+                idx.restore(restorableBase, restorablePostings);
+                for (int i = restorableBase.size(), n = base.size(); i < n; i++) idx.add(base.get(i));
+            } else {
+                idx.rebuild(base);
+            }
+            synchronized (bookingWriteLock) {
+                List<Booking> all = bookings.all();
+                for (int i = base.size(), n = all.size(); i < n; i++) idx.add(all.get(i));
+                bookingIndex = idx;
+            }
+            restorablePostings = null;
+            restorableBase     = null;
+        }
+    }
+
+    /** Live, read-only view of every booking; safe to read while others book. */
     public List<Booking> getAllBookings() {
-        return Collections.unmodifiableList(bookings);
-    }
-
-    private void persistBookings() {
-        try (PrintWriter pw = new PrintWriter(new FileWriter(BOOKINGS_FILE))) {
-            for (Booking bk : bookings) {
-                pw.println(join(
-                        bk.getBookingId(), bk.getUsername(), bk.getBookingDate(), bk.getStatus(),
-                        bk.getBikeId(), bk.getBikeModelName(), bk.getBikeVariant(), bk.getBikeColor(),
-                        str(bk.getExShowroomPrice()), str(bk.getGstAmount()),
-                        str(bk.getRtoCharges()), str(bk.getInsurancePremium()),
-                        str(bk.getHandlingCharges()), str(bk.getTotalOnRoadPrice()),
-                        bk.isEmiChosen() ? "Y" : "N",
-                        str(bk.getDownPayment()), str(bk.getLoanAmount()),
-                        str(bk.getInterestRate()), String.valueOf(bk.getTenureMonths()),
-                        str(bk.getEmiAmount()),
-                        bk.getCustomerName(), bk.getCustomerEmail(),
-                        bk.getCustomerPhone(), escape(bk.getCustomerAddress())));
+        return Collections.unmodifiableList(bookings.all());
+    }
+
+    /** Fixed-size view of the bookings that exist right now. */
+    private List<Booking> snapshotAll() {
+        List<Booking> all = bookings.all();
+        return all.subList(0, all.size());
+    }
+
+    /** Writes the bookings snapshot to {@code file}; returns false (journal segments must be kept) on failure. */
+    private boolean persistBookings(List<Booking> all, File file) {
+        try {
+            if (StoreConfig.binaryBookings()) {
+                BookingBinaryFormat.write(all, file);
+            } else {
+                DurableFiles.replace(file, out -> DurableFiles.writeRecords(out,
+                        () -> all.stream().map(DataStore::encodeBooking).iterator()));
             }
+            return true;
         } catch (IOException e) {
             System.err.println("[DataStore] Error saving bookings: " + e.getMessage());
+            return false;
         }
     }
 
-    private void loadBookings() {
-        File f = new File(BOOKINGS_FILE);
-        if (!f.exists()) return;
-        try (BufferedReader br = new BufferedReader(new FileReader(f))) {
-            String line;
-            while ((line = br.readLine()) != null) {
-                String[] p = line.split(DELIM, -1);
-                if (p.length < 24) continue;
-                Booking bk = new Booking();
-                bk.setBookingId(p[0]);    bk.setUsername(p[1]);
-                bk.setBookingDate(p[2]);  bk.setStatus(p[3]);
-                bk.setBikeId(p[4]);       bk.setBikeModelName(p[5]);
-                bk.setBikeVariant(p[6]);  bk.setBikeColor(p[7]);
-                bk.setExShowroomPrice(dbl(p[8]));  bk.setGstAmount(dbl(p[9]));
-                bk.setRtoCharges(dbl(p[10]));      bk.setInsurancePremium(dbl(p[11]));
-                bk.setHandlingCharges(dbl(p[12])); bk.setTotalOnRoadPrice(dbl(p[13]));
-                bk.setEmiChosen("Y".equals(p[14]));
-                bk.setDownPayment(dbl(p[15]));     bk.setLoanAmount(dbl(p[16]));
-                bk.setInterestRate(dbl(p[17]));    bk.setTenureMonths(Integer.parseInt(p[18]));
-                bk.setEmiAmount(dbl(p[19]));
-                bk.setCustomerName(p[20]);  bk.setCustomerEmail(p[21]);
-                bk.setCustomerPhone(p[22]); bk.setCustomerAddress(unescape(p[23]));
-                bookings.add(bk);
+    /**
+     * Loads the bookings snapshot, then replays the newer journal records on
+     * top of it. Bookings already present in the snapshot are skipped, which
+     * covers a crash between writing a snapshot and recording its checkpoint.
+     * If the checkpoint's postings fit the loaded snapshot they are kept for
+     * ensureIndexed().
+     */
+    private void loadBookings(long replayAfter, Checkpoint ckpt) {
+        File bin = StoreConfig.binaryBookings() ? latestBookingBin() : null;
+        if (bin != null) {
+            bookingBin = bin;
+            retireOlderBookingBins(bin);
+        }
+        if (StoreConfig.mappedBookings() && bin != null) {
+            long t = System.nanoTime();
+            try {
+                MappedBookingStore mapped = MappedBookingStore.open(bin);
+                bookings = new BookingSet(mapped, replayOverMapped(mapped, replayAfter));
+                keepPostings(ckpt, mapped);
+                startupTimings.put("bookings.map", (System.nanoTime() - t) / 1_000_000);
+                return;
+            } catch (IOException e) {
+                System.err.println("[DataStore] Error mapping " + bin.getName() + ": " + e.getMessage());
+            }
+        }
+
+        AppendOnlyList<Booking> loaded = new AppendOnlyList<>();
+        Set<String> seen = new HashSet<>();
+        timed("bookings.snapshot", () -> {
+            for (Booking bk : loadBookingSnapshot()) {
+                if (seen.add(bk.getBookingId())) loaded.add(bk);
+            }
+        });
+        keepPostings(ckpt, loaded.subList(0, loaded.size()));
+        timed("bookings.journal", () -> {
+            try {
+                for (String line : bookingJournal.readLines(replayAfter)) {
+                    Booking bk = decodeBooking(line);
+                    if (bk != null && seen.add(bk.getBookingId())) loaded.add(bk);
+                }
+            } catch (IOException e) {
+                System.err.println("[DataStore] Error replaying booking journal: " + e.getMessage());
             }
+        });
+        bookings = new BookingSet(null, loaded);
+    }
+
+    private void keepPostings(Checkpoint ckpt, List<Booking> snapshot) {
+        if (ckpt == null || snapshot.size() != ckpt.bookingCount) return;
+        restorablePostings = ckpt.postings;
+        restorableBase     = snapshot;
+    }
+
+    /**
+     * Replays the journal on top of a mapped snapshot. A journal record can only
+     * duplicate one of the last few snapshot records (crash between snapshot and
+     * checkpoint, or a write still queued at rotation), so only that many views
+     * are decoded for the check.
+     */
+    private AppendOnlyList<Booking> replayOverMapped(MappedBookingStore mapped, long replayAfter) throws IOException {
+        List<String> lines = bookingJournal.readLines(replayAfter);
+        Set<String> recent = new HashSet<>();
+        int n = mapped.size();
+        for (int i = Math.max(0, n - lines.size()); i < n; i++) {
+            recent.add(mapped.get(i).getBookingId());
+        }
+        AppendOnlyList<Booking> tail = new AppendOnlyList<>();
+        for (String line : lines) {
+            Booking bk = decodeBooking(line);
+            if (bk != null && !recent.contains(bk.getBookingId())) tail.add(bk);
+        }
+        return tail;
+    }
+
+    /** The file loadBookingSnapshot() reads, as recorded in checkpoints. */
+    private static File bookingSnapshotFile() {
+        File bin = StoreConfig.binaryBookings() ? latestBookingBin() : null;
+        return bin != null ? bin : new File(BOOKINGS_FILE);
+    }
+
+    /** Reads the newest binary snapshot when the binary format is enabled and present, else bookings.dat. */
+    private List<Booking> loadBookingSnapshot() {
+        File bin = StoreConfig.binaryBookings() ? latestBookingBin() : null;
+        if (bin != null) {
+            try {
+                return BookingBinaryFormat.read(bin);
+            } catch (IOException e) {
+                System.err.println("[DataStore] Error loading " + bin.getName() + ": " + e.getMessage());
+            }
+        }
+        try {
+            return ChunkedLoader.load(new File(BOOKINGS_FILE), DurableFiles.Kind.SNAPSHOT,
+                    DataStore::decodeBooking);
         } catch (IOException e) {
             System.err.println("[DataStore] Error loading bookings: " + e.getMessage());
+            return new ArrayList<>();
+        }
+    }
+
+    /** The binary snapshot written by checkpoint {@code g}. */
+    private static File bookingBinFile(long g) {
+        return new File(BOOKINGS_BIN + "." + g);
+    }
+
+    /** Generation of a bookings.bin.<g> file, or -1 for anything else. */
+    private static long bookingBinGeneration(File f) {
+        String prefix = new File(BOOKINGS_BIN).getName() + ".";
+        if (!f.getName().startsWith(prefix)) return -1;
+        try {
+            return Long.parseLong(f.getName().substring(prefix.length()));
+        } catch (NumberFormatException e) {
+            return -1;                                   // e.g. a leftover .tmp
+        }
+    }
+
+    /** The highest bookings.bin.<g>, else a plain bookings.bin, else null. */
+    private static File latestBookingBin() {
+        File best = null;
+        File[] files = new File(DATA_DIR).listFiles();
+        if (files != null) {
+            for (File f : files) {
+                long g = bookingBinGeneration(f);
+                if (g >= 0 && (best == null || g > bookingBinGeneration(best))) best = f;
+            }
+        }
+        File plain = new File(BOOKINGS_BIN);
+        return best != null ? best : plain.exists() ? plain : null;
+    }
+
+    /** At startup nothing maps the other binary snapshots yet, so they can go at once. */
+    private void retireOlderBookingBins(File current) {
+        File[] files = new File(DATA_DIR).listFiles();
+        if (files == null) return;
+        for (File f : files) {
+            boolean bin = bookingBinGeneration(f) >= 0 || f.getName().equals(new File(BOOKINGS_BIN).getName());
+            if (bin && !f.getName().equals(current.getName())) retiredSnapshots.add(new RetiredSnapshot(f, null));
+        }
+        deleteRetiredSnapshots();
+    }
+
+    /** Deletes retired snapshots nothing maps any more; the rest are retried later. */
+    private void deleteRetiredSnapshots() {
+        retiredSnapshots.removeIf(r -> r.unreferenced() && (r.file.delete() || !r.file.exists()));
+    }
+
+    /** Encodes a booking as one pipe-delimited text record (snapshot and journal format). */
+    static String encodeBooking(Booking bk) {
+        return join(
+                bk.getBookingId(), bk.getUsername(), bk.getBookingDate(), bk.getStatus(),
+                bk.getBikeId(), bk.getBikeModelName(), bk.getBikeVariant(), bk.getBikeColor(),
+                amt(bk.getExShowroomPaise()), amt(bk.getGstPaise()),
+                amt(bk.getRtoPaise()), amt(bk.getInsurancePaise()),
+                amt(bk.getHandlingPaise()), amt(bk.getTotalOnRoadPaise()),
+                bk.isEmiChosen() ? "Y" : "N",
+                amt(bk.getDownPaymentPaise()), amt(bk.getLoanPaise()),
+                str(bk.getInterestRate()), String.valueOf(bk.getTenureMonths()),
+                amt(bk.getEmiPaise()),
+                bk.getCustomerName(), bk.getCustomerEmail(),
+                bk.getCustomerPhone(), escape(bk.getCustomerAddress()));
+    }
+
+    /** Parses one booking record, or returns null if the line is malformed. */
+    static Booking decodeBooking(String line) {
+        String[] p = line.split(DELIM, -1);
+        if (p.length < 24) return null;
+        Booking bk = new Booking();
+        bk.setBookingId(p[0]);    bk.setUsername(p[1]);
+        bk.setBookingDate(p[2]);  bk.setStatus(p[3]);
+        bk.setBikeId(p[4]);       bk.setBikeModelName(p[5]);
+        bk.setBikeVariant(p[6]);  bk.setBikeColor(p[7]);
+        bk.setExShowroomPaise(paise(p[8]));  bk.setGstPaise(paise(p[9]));
+        bk.setRtoPaise(paise(p[10]));        bk.setInsurancePaise(paise(p[11]));
+        bk.setHandlingPaise(paise(p[12]));   bk.setTotalOnRoadPaise(paise(p[13]));
+        bk.setEmiChosen("Y".equals(p[14]));
+        bk.setDownPaymentPaise(paise(p[15])); bk.setLoanPaise(paise(p[16]));
+        bk.setInterestRate(dbl(p[17]));      bk.setTenureMonths(Integer.parseInt(p[18]));
+        bk.setEmiPaise(paise(p[19]));
+        bk.setCustomerName(p[20]);  bk.setCustomerEmail(p[21]);
+        bk.setCustomerPhone(p[22]); bk.setCustomerAddress(unescape(p[23]));
+        return bk;
+    }
+
+    // ── Shutdown ───────────────────────────────────────────────────────────────
+
+    /** Flushes every queued write to disk. Runs from the JVM shutdown hook. */
+    public void shutdown() {
+        if (catalogWatcher != null) catalogWatcher.close();
+        if (pricingWatcher != null) pricingWatcher.close();
+        if (compactor != null) {
+            // Let a running checkpoint finish its I/O rather than interrupt it
+            compactor.shutdown();
+            try {
+                if (!compactor.awaitTermination(30, TimeUnit.SECONDS)) {
+                    System.err.println("[DataStore] Checkpoint still running at shutdown");
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        if (writer != null) writer.close();
+    }
+
+    // ── Compaction ─────────────────────────────────────────────────────────────
+
+    private void startCompactor() {
+        compactor = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r, "datastore-compactor");
+            t.setDaemon(true);
+            return t;
+        });
+        compactor.scheduleWithFixedDelay(this::compactIfNeeded,
+                COMPACT_INTERVAL_SEC, COMPACT_INTERVAL_SEC, TimeUnit.SECONDS);
+    }
+
+    private void compactIfNeeded() {
+        if (userJournal.pendingRecords()    >= COMPACT_THRESHOLD
+                || bookingJournal.pendingRecords() >= COMPACT_THRESHOLD) {
+            checkpoint();
+        }
+        synchronized (checkpointLock) {
+            deleteRetiredSnapshots();
+        }
+    }
+
+    /**
+     * Takes a checkpoint: folds everything journaled so far into fresh snapshot
+     * files and records it in store.ckpt.
+     *
+     *  1. Under the write locks, briefly: capture users and bookings and rotate
+     *     both journals to segment {@code g}.
+     *  2. Without locks: write users.dat and the bookings snapshot atomically
+     *     (a binary snapshot goes to a new bookings.bin.g). In mapped mode,
+     *     map the new file and swap it, and indexes over it, in.
+     *  3. Write store.ckpt (generation g, snapshot sizes, index postings).
+     *  4. Delete journal segments up to g and retire the previous bookings.bin.
+     *
+     * A crash at any point leaves the old checkpoint or none; either way the
+     * next start replays every segment the snapshots might be missing.
+     *
+     * @return true if the checkpoint was written
+     */
+    public boolean checkpoint() {
+        synchronized (checkpointLock) {
+            long g = ++generation;
+            List<User> userSnapshot;
+            List<Booking> bookingSnapshot;
+            int capturedTail;
+            try {
+                userCompactLock.writeLock().lock();
+                try {
+                    userSnapshot = new ArrayList<>(users.values());
+                    userJournal.rotate(g);
+                } finally {
+                    userCompactLock.writeLock().unlock();
+                }
+                synchronized (bookingWriteLock) {
+                    bookingSnapshot = snapshotAll();
+                    capturedTail    = bookings.tail.size();
+                    bookingJournal.rotate(g);
+                }
+            } catch (IOException e) {
+                System.err.println("[DataStore] Error rotating journals: " + e.getMessage());
+                return false;
+            }
+
+            File bookingsFile = StoreConfig.binaryBookings() ? bookingBinFile(g) : new File(BOOKINGS_FILE);
+            if (!persistUsers(userSnapshot) || !persistBookings(bookingSnapshot, bookingsFile)) return false;
+            BookingIndex.Postings postings = BookingIndex.Postings.of(bookingSnapshot);
+            MappedBookingStore previous = bookings.mapped;
+            if (StoreConfig.mappedBookings()) remapBookings(bookingsFile, capturedTail, postings);
+
+            try {
+                new Checkpoint(g, System.currentTimeMillis(), new File(USERS_FILE).length(),
+                        bookingsFile.getName(), bookingsFile.length(), bookingSnapshot.size(),
+                        postings).write(new File(CHECKPOINT_FILE));
+                userJournal.deleteSegmentsUpTo(g);
+                bookingJournal.deleteSegmentsUpTo(g);
+                if (StoreConfig.binaryBookings()) {
+                    if (bookingBin != null) retiredSnapshots.add(new RetiredSnapshot(bookingBin, previous));
+                    bookingBin = bookingsFile;
+                    deleteRetiredSnapshots();
+                }
+                return true;
+            } catch (IOException e) {
+                System.err.println("[DataStore] Error writing checkpoint: " + e.getMessage());
+                return false;
+            }
+        }
+    }
+
+    /**
+     * Swaps a freshly written binary snapshot in as the mapped snapshot. The heap
+     * tail keeps only bookings saved after the checkpoint captured its state.
+     * The indexes move onto the new store too (restored from {@code postings},
+     * which describe exactly the records of {@code file}), so nothing keeps the
+     * old mapping reachable once in-flight readers are done with it.
+     */
+    private void remapBookings(File file, int capturedTail, BookingIndex.Postings postings) {
+        try {
+            MappedBookingStore mapped = MappedBookingStore.open(file);
+            synchronized (indexBuildLock) {
+                BookingIndex idx = null;
+                if (bookingIndex != null) {
+                    idx = new BookingIndex();
+                    idx.restore(mapped, postings);
+                }
+                synchronized (bookingWriteLock) {
+                    AppendOnlyList<Booking> oldTail = bookings.tail;
+                    AppendOnlyList<Booking> newTail = new AppendOnlyList<>();
+                    for (int i = capturedTail, n = oldTail.size(); i < n; i++) {
+                        Booking bk = oldTail.get(i);
+                        newTail.add(bk);
+                        if (idx != null) idx.add(bk);
+                    }
+                    bookings = new BookingSet(mapped, newTail);
+                    if (idx != null) {
+                        bookingIndex = idx;
+                    } else {
+                        restorablePostings = postings;
+                        restorableBase     = mapped;
+                    }
+                }
+            }
+        } catch (IOException e) {
+            System.err.println("[DataStore] Error mapping " + file.getName() + ": " + e.getMessage());
         }
     }
 
     // ── Bike Access ────────────────────────────────────────────────────────────
 
+    /** The current catalogue snapshot; replaced, never modified, on reload. */
+    public BikeCatalog getCatalog() {
+        return catalog;
+    }
+
     public List<Bike> getAllBikes() {
-        return Collections.unmodifiableList(bikes);
+        return catalog.getBikes();
     }
 
     public List<Bike> getAvailableBikes() {
         List<Bike> result = new ArrayList<>();
-        for (Bike b : bikes) if (b.isAvailable()) result.add(b);
+        for (Bike b : catalog.getBikes()) if (b.isAvailable()) result.add(b);
         return result;
     }
 
     public Bike findBikeById(String bikeId) {
-        for (Bike b : bikes) if (b.getBikeId().equalsIgnoreCase(bikeId)) return b;
-        return null;
+        return catalog.find(bikeId);
+    }
+
+    /** Current per-state / dated pricing; replaced, never modified, on reload. */
+    public PriceBook getPriceBook() {
+        return priceBook;
     }
 
     // ── Private Helpers ────────────────────────────────────────────────────────
 
-    private String join(String... parts) {
+    /** Read-only concatenation of two lists, without copying either. */
+    private static <T> List<T> concat(List<T> head, List<T> tail) {
+        return new AbstractList<>() {
+            @Override public T get(int i) { return i < head.size() ? head.get(i) : tail.get(i - head.size()); }
+            @Override public int size()   { return head.size() + tail.size(); }
+        };
+    }
+
+    private static String join(String... parts) {
         return String.join(WRITE_DELIM, parts);
     }
 
-    private String str(double d) { return String.valueOf(d); }
+    private static String str(double d) { return String.valueOf(d); }
+
+    /** Amounts are written as exact decimal rupees ("288720.50") and read back to the paisa. */
+    private static String amt(long paise) { return Money.toPlain(paise); }
+
+    private static long paise(String s) {
+        try { return Money.parse(s); } catch (NumberFormatException e) { return 0; }
+    }
 
-    private double dbl(String s) {
+    private static double dbl(String s) {
         try { return Double.parseDouble(s); } catch (NumberFormatException e) { return 0.0; }
     }
 
-    private String escape(String s)   { return s == null ? "" : s.replace("|", "~PIPE~").replace("\n", "~NL~"); }
-    private String unescape(String s) { return s == null ? "" : s.replace("~PIPE~", "|").replace("~NL~", "\n"); }
+    private static String escape(String s)   { return s == null ? "" : s.replace("|", "~PIPE~").replace("\n", "~NL~"); }
+    private static String unescape(String s) { return s == null ? "" : s.replace("~PIPE~", "|").replace("~NL~", "\n"); }
 }
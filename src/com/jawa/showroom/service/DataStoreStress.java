@@ -0,0 +1,236 @@
+package com.jawa.showroom.service;
+
+import com.jawa.showroom.model.Booking;
+import com.jawa.showroom.model.User;
+import com.jawa.showroom.util.FormatUtil;
+
+import java.io.*;
+import java.nio.file.Files;
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * DataStoreStress hammers DataStore from many threads, kills the JVM without
+ * a clean shutdown, restarts it and checks that nothing acknowledged was lost
+ * or reordered.
+ *
+ * Each round runs in a fresh JVM inside a scratch data directory. It first
+ * verifies what earlier rounds left behind, then N threads each save a run of
+ * bookings for their own user, keep updating a few shared users (so updates
+ * to one user race across threads) and query their own bookings, while
+ * another thread takes checkpoints. Once every write future has completed,
+ * the round records the in-memory state of the shared users and halts.
+ *
+ * After a restart every thread's bookings must be present exactly once and
+ * in the order they were saved, and each shared user must have the value the
+ * store held when the round ended.
+ *
+ * Run as a program (jawa.store.* system properties are passed to the rounds):
+ *
+ *   java com.jawa.showroom.service.DataStoreStress [threads] [bookingsPerThread] [rounds]
+ */
+public final class DataStoreStress {
+
+    private static final int    SHARED_USERS  = 4;
+    private static final String EXPECTED_FILE = "stress.expected";
+
+    private DataStoreStress() { /* Utility class – no instances */ }
+
+    public static void main(String[] args) throws Exception {
+        if (args.length > 0 && args[0].equals("round")) {
+            round(Integer.parseInt(args[1]), Integer.parseInt(args[2]), Integer.parseInt(args[3]));
+            return;
+        }
+        int threads   = args.length > 0 ? Integer.parseInt(args[0]) : 8;
+        int perThread = args.length > 1 ? Integer.parseInt(args[1]) : 2000;
+        int rounds    = args.length > 2 ? Integer.parseInt(args[2]) : 3;
+
+        File work = Files.createTempDirectory("jawa-stress").toFile();
+        System.out.println("Stress run in " + work + ": " + threads + " threads x "
+                + perThread + " bookings, " + rounds + " rounds");
+        // One extra round that only verifies
+        for (int r = 0; r <= rounds; r++) {
+            long start = System.nanoTime();
+            int exit = launch(work, r, r < rounds ? threads : 0, perThread);
+            if (exit != 0) {
+                System.out.println("FAILED in round " + r + " (data left in " + work + ")");
+                System.exit(1);
+            }
+            System.out.printf("Round %d ok in %d ms%n", r, (System.nanoTime() - start) / 1_000_000);
+        }
+        deleteTree(work);
+        System.out.println("PASSED");
+    }
+
+    private static int launch(File work, int round, int threads, int perThread) throws Exception {
+        List<String> cmd = new ArrayList<>();
+        cmd.add(new File(System.getProperty("java.home"), "bin" + File.separator + "java").getPath());
+        cmd.add("-cp");
+        cmd.add(System.getProperty("java.class.path"));
+        for (String name : System.getProperties().stringPropertyNames()) {
+            if (name.startsWith("jawa.store.")) cmd.add("-D" + name + "=" + System.getProperty(name));
+        }
+        cmd.add(DataStoreStress.class.getName());
+        cmd.add("round");
+        cmd.add(String.valueOf(round));
+        cmd.add(String.valueOf(threads));
+        cmd.add(String.valueOf(perThread));
+        return new ProcessBuilder(cmd).directory(work).inheritIO().start().waitFor();
+    }
+
+    // ── One round (child JVM) ──────────────────────────────────────────────────
+
+    private static void round(int round, int threads, int perThread) throws Exception {
+        DataStore ds = DataStore.getInstance();
+        Properties expected = new Properties();
+        File expectedFile = new File(EXPECTED_FILE);
+        if (expectedFile.exists()) {
+            try (InputStream in = new FileInputStream(expectedFile)) {
+                expected.load(in);
+            }
+        }
+        List<String> problems = verify(ds, expected);
+        if (!problems.isEmpty()) fail(problems);
+        if (threads == 0) {
+            ds.shutdown();
+            System.exit(0);
+        }
+
+        List<CompletableFuture<Void>> writes = Collections.synchronizedList(new ArrayList<>());
+        List<String> errors = Collections.synchronizedList(new ArrayList<>());
+        CountDownLatch go = new CountDownLatch(1);
+        AtomicBoolean running = new AtomicBoolean(true);
+
+        Thread checkpointer = new Thread(() -> {
+            while (running.get()) {
+                ds.checkpoint();
+                sleep(100);
+            }
+        }, "stress-checkpointer");
+        checkpointer.start();
+
+        List<Thread> workers = new ArrayList<>();
+        for (int t = 0; t < threads; t++) {
+            int id = t;
+            Thread w = new Thread(() -> {
+                try {
+                    go.await();
+                    hammer(ds, round, id, perThread, writes, errors);
+                } catch (Exception e) {
+                    errors.add("thread " + id + ": " + e);
+                }
+            }, "stress-" + t);
+            workers.add(w);
+            w.start();
+        }
+        go.countDown();
+        for (Thread w : workers) w.join();
+        running.set(false);
+        checkpointer.join();
+        CompletableFuture.allOf(writes.toArray(new CompletableFuture[0])).join();
+        if (!errors.isEmpty()) fail(errors);
+
+        // Everything is acknowledged: record what a restart must see, then die hard
+        expected.setProperty("threads", String.valueOf(threads));
+        expected.setProperty("perThread", String.valueOf(perThread));
+        expected.setProperty("rounds", String.valueOf(round + 1));
+        for (int u = 0; u < SHARED_USERS; u++) {
+            expected.setProperty("shared" + u, ds.findUser("shared" + u).getPhone());
+        }
+        try (OutputStream out = new FileOutputStream(expectedFile)) {
+            expected.store(out, "DataStoreStress");
+        }
+        Runtime.getRuntime().halt(0);
+    }
+
+    private static void hammer(DataStore ds, int round, int id, int perThread,
+                               List<CompletableFuture<Void>> writes, List<String> errors) {
+        String owner = "stress" + id;
+        int before = ds.getBookingsByUser(owner).size();
+        for (int i = 0; i < perThread; i++) {
+            Booking bk = new Booking();
+            bk.setBookingId(bookingId(round, id, i));
+            bk.setUsername(owner);
+            bk.setBookingDate(FormatUtil.now());
+            bk.setStatus("CONFIRMED");
+            bk.setBikeId("stress-bike" + (i % 5));
+            bk.setLoanPaise(i * 100L);
+            writes.add(ds.saveBooking(bk));
+
+            User u = new User();
+            u.setUsername("shared" + (i % SHARED_USERS));
+            u.setPhone(round + ":" + id + ":" + i);
+            writes.add(ds.saveUser(u));
+
+            if (i % 50 == 0) {
+                long seen = ds.query(new BookingQuery().user(owner)).count();
+                if (seen != before + i + 1) {
+                    errors.add(owner + " sees " + seen + " bookings after saving " + (before + i + 1));
+                }
+            }
+        }
+    }
+
+    // ── Verification ───────────────────────────────────────────────────────────
+
+    /** Checks the store against what the previous rounds acknowledged. */
+    private static List<String> verify(DataStore ds, Properties expected) {
+        List<String> problems = new ArrayList<>();
+        int rounds = Integer.parseInt(expected.getProperty("rounds", "0"));
+        if (rounds == 0) return problems;
+        int threads   = Integer.parseInt(expected.getProperty("threads"));
+        int perThread = Integer.parseInt(expected.getProperty("perThread"));
+
+        Map<String, List<String>> byOwner = new HashMap<>();
+        for (Booking bk : ds.getAllBookings()) {
+            byOwner.computeIfAbsent(bk.getUsername(), k -> new ArrayList<>()).add(bk.getBookingId());
+        }
+        for (int t = 0; t < threads; t++) {
+            List<String> want = new ArrayList<>();
+            for (int r = 0; r < rounds; r++) {
+                for (int i = 0; i < perThread; i++) want.add(bookingId(r, t, i));
+            }
+            List<String> got = byOwner.getOrDefault("stress" + t, List.of());
+            if (!got.equals(want)) {
+                problems.add("stress" + t + ": " + got.size() + " bookings, expected " + want.size()
+                        + (got.size() == want.size() ? " (order differs)" : ""));
+            }
+            long indexed = ds.query(new BookingQuery().user("stress" + t)).count();
+            if (indexed != want.size()) problems.add("stress" + t + ": query finds " + indexed);
+        }
+        for (int u = 0; u < SHARED_USERS; u++) {
+            User user = ds.findUser("shared" + u);
+            String want = expected.getProperty("shared" + u);
+            String got  = user == null ? null : user.getPhone();
+            if (!Objects.equals(want, got)) problems.add("shared" + u + ": " + got + ", expected " + want);
+        }
+        return problems;
+    }
+
+    private static String bookingId(int round, int thread, int i) {
+        return "S" + round + "-" + thread + "-" + i;
+    }
+
+    private static void fail(List<String> problems) {
+        int shown = Math.min(problems.size(), 20);
+        for (String p : problems.subList(0, shown)) System.out.println("  " + p);
+        if (problems.size() > shown) System.out.println("  … " + (problems.size() - shown) + " more");
+        Runtime.getRuntime().halt(1);
+    }
+
+    private static void sleep(long ms) {
+        try {
+            Thread.sleep(ms);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static void deleteTree(File dir) {
+        File[] children = dir.listFiles();
+        if (children != null) for (File f : children) deleteTree(f);
+        dir.delete();
+    }
+}
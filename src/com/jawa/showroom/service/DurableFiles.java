@@ -0,0 +1,208 @@
+package com.jawa.showroom.service;
+
+import java.io.*;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.zip.CRC32;
+
+/**
+ * DurableFiles holds the crash-safety primitives shared by DataStore's files.
+ *
+ *  - {@link #replace} writes a whole file to a temp sibling, fsyncs it and
+ *    atomically renames it over the target, so a crash leaves either the old
+ *    file or the new one, never a truncated mix.
+ *  - {@link #seal} / {@link #unseal} append and verify a CRC32 on each text
+ *    record:  payload|#crc32hex
+ *  - {@link #readRecords} reads a record file, skipping records that fail
+ *    their checksum. Only a journal's unterminated last line, a torn append,
+ *    is cut off the file ({@link #unterminatedTail}); snapshots, which are
+ *    only ever written whole by replace(), are never rewritten.
+ *
+ * Records written before checksums were introduced carry no suffix and are
+ * accepted as they are.
+ */
+final class DurableFiles {
+
+    private static final String CRC_MARK = "|#";
+    private static final int    CRC_HEX  = 8;
+
+    private DurableFiles() { /* Utility class – no instances */ }
+
+    /** What a record file is, which decides how a damaged last line is handled. */
+    enum Kind {
+        /** Written whole by {@link #replace}; can never have a torn tail. */
+        SNAPSHOT,
+        /** Appended to in place; a crash mid-append can leave a torn last line. */
+        JOURNAL
+    }
+
+    /** Writes the body of a file; used by {@link #replace}. */
+    interface Body {
+        void writeTo(OutputStream out) throws IOException;
+    }
+
+    // ── Atomic Replacement ─────────────────────────────────────────────────────
+
+    /** Replaces {@code target} with the bytes produced by {@code body}, atomically. */
+    static void replace(File target, Body body) throws IOException {
+        Path dest = target.toPath();
+        Path tmp  = dest.resolveSibling(target.getName() + ".tmp");
+        try (FileOutputStream fos = new FileOutputStream(tmp.toFile())) {
+            BufferedOutputStream out = new BufferedOutputStream(fos, 1 << 16);
+            body.writeTo(out);
+            out.flush();
+            fos.getFD().sync();
+        } catch (IOException e) {
+            Files.deleteIfExists(tmp);
+            throw e;
+        }
+        try {
+            Files.move(tmp, dest, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (AtomicMoveNotSupportedException e) {
+            Files.move(tmp, dest, StandardCopyOption.REPLACE_EXISTING);
+        }
+        syncDirectory(dest.toAbsolutePath().getParent());
+    }
+
+    /** Makes the rename itself durable. Not every platform can open a directory, so failures are ignored. */
+    private static void syncDirectory(Path dir) {
+        if (dir == null) return;
+        try (FileChannel ch = FileChannel.open(dir, StandardOpenOption.READ)) {
+            ch.force(true);
+        } catch (IOException ignored) {
+            // e.g. Windows – the rename is still atomic, just not yet forced to disk
+        }
+    }
+
+    /** Writes text records, one per line, each sealed with its checksum. */
+    static void writeRecords(OutputStream out, Iterable<String> payloads) throws IOException {
+        Writer w = new OutputStreamWriter(out, StandardCharsets.UTF_8);
+        for (String p : payloads) {
+            w.write(seal(p));
+            w.write('\n');
+        }
+        w.flush();
+    }
+
+    // ── Record Checksums ───────────────────────────────────────────────────────
+
+    /** Appends the CRC32 of the payload. */
+    static String seal(String payload) {
+        String hex = Long.toHexString(crc(payload));
+        return payload + CRC_MARK + "00000000".substring(hex.length()) + hex;
+    }
+
+    /**
+     * Returns the payload of a record, or null if its checksum does not match.
+     * Unsealed (legacy) records are returned unchanged.
+     */
+    static String unseal(String line) {
+        int mark = line.length() - CRC_HEX - CRC_MARK.length();
+        if (mark < 0 || !line.startsWith(CRC_MARK, mark)) return line;
+        String payload = line.substring(0, mark);
+        long expected;
+        try {
+            expected = Long.parseLong(line.substring(mark + CRC_MARK.length()), 16);
+        } catch (NumberFormatException e) {
+            return line;
+        }
+        return crc(payload) == expected ? payload : null;
+    }
+
+    private static long crc(String payload) {
+        CRC32 crc = new CRC32();
+        crc.update(payload.getBytes(StandardCharsets.UTF_8));
+        return crc.getValue();
+    }
+
+    // ── Recovery ───────────────────────────────────────────────────────────────
+
+    /**
+     * Reads every intact record of a line-oriented record file, in order.
+     * A record that fails its checksum is reported and skipped; the records
+     * after it are still read. The last line, if it has no terminator, goes
+     * through {@link #unterminatedTail}. Returns the verified payloads.
+     */
+    static List<String> readRecords(File file, Kind kind) throws IOException {
+        List<String> records = new ArrayList<>();
+        if (!file.exists()) return records;
+
+        long lineStart = 0;     // byte offset of the line being assembled
+        long pos       = 0;
+        ByteArrayOutputStream line = new ByteArrayOutputStream(256);
+        try (InputStream in = new FileInputStream(file)) {
+            byte[] buf = new byte[1 << 16];
+            int n;
+            while ((n = in.read(buf)) > 0) {
+                int start = 0;
+                for (int i = 0; i < n; i++) {
+                    if (buf[i] != '\n') continue;
+                    line.write(buf, start, i - start);
+                    start = i + 1;
+                    String text = stripCr(line.toString(StandardCharsets.UTF_8));
+                    line.reset();
+                    if (!text.isEmpty()) {
+                        String payload = unseal(text);
+                        if (payload == null) skipCorrupt(file, lineStart);
+                        else records.add(payload);
+                    }
+                    lineStart = pos + i + 1;
+                }
+                line.write(buf, start, n - start);
+                pos += n;
+            }
+        }
+        if (line.size() > 0) {
+            String payload = unterminatedTail(file, kind,
+                    stripCr(line.toString(StandardCharsets.UTF_8)), lineStart, records.size());
+            if (payload != null) records.add(payload);
+        }
+        return records;
+    }
+
+    /**
+     * The one recovery rule for a last line that has no terminator, shared by
+     * every reader of record files. In a journal it is a torn append that was
+     * never acknowledged: the file is cut back to {@code lineStart} so later
+     * appends follow clean data, and null is returned. A snapshot is never
+     * rewritten; its last line is verified like any other and its payload
+     * returned, or null (reported) if it fails its checksum.
+     *
+     * @param kept records read before this line, for the log message
+     */
+    static String unterminatedTail(File file, Kind kind, String text, long lineStart, int kept) throws IOException {
+        if (kind == Kind.JOURNAL) {
+            truncateTail(file, lineStart, kept);
+            return null;
+        }
+        String payload = text.isEmpty() ? null : unseal(text);
+        if (payload == null && !text.isEmpty()) skipCorrupt(file, lineStart);
+        return payload;
+    }
+
+    /** Reports a record that failed its checksum; the caller skips it and reads on. */
+    static void skipCorrupt(File file, long offset) {
+        System.err.println("[DataStore] Skipping corrupt record in " + file.getName() + " at byte " + offset);
+    }
+
+    private static String stripCr(String text) {
+        return text.endsWith("\r") ? text.substring(0, text.length() - 1) : text;
+    }
+
+    /** Cuts a journal back to {@code good} bytes, the end of its last complete record. */
+    private static void truncateTail(File file, long good, int kept) throws IOException {
+        System.err.println("[DataStore] Truncating torn tail of " + file.getName()
+                + ": dropped " + (file.length() - good) + " bytes after " + kept + " records");
+        try (FileChannel ch = FileChannel.open(file.toPath(), StandardOpenOption.WRITE)) {
+            ch.truncate(good);
+            ch.force(true);
+        }
+    }
+}
@@ -1,5 +1,10 @@
 package com.jawa.showroom.service;
 
+import com.jawa.showroom.util.Money;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+
 /**
  * EMICalculator computes Equated Monthly Instalments using the standard
  * reducing-balance formula:
@@ -10,67 +15,189 @@ package com.jawa.showroom.service;
  *   P = principal loan amount (INR)
  *   r = monthly interest rate (annual rate / 12 / 100)
  *   n = tenure in months
+ *
+ * Amounts are worked in whole paise (see Money): the EMI and each month's
+ * interest are rounded half-even to the paisa, and the last instalment
+ * repays whatever balance is left, so the principal parts of a schedule add
+ * up to the principal exactly. The double methods wrap the paise ones.
  */
 public class EMICalculator {
 
+    // ── Paise ──────────────────────────────────────────────────────────────────
+
+    /** Monthly EMI in paise, rounded half-even. */
+    public static long emiPaise(long principal, double annualRatePercent, int tenureMonths) {
+        if (principal <= 0 || tenureMonths <= 0) return 0;
+
+        if (annualRatePercent <= 0) {
+            // Zero-interest loan: simple division
+            return Money.divide(principal, tenureMonths);
+        }
+
+        double r = annualRatePercent / 12.0 / 100.0;   // monthly rate
+        double pow = Math.pow(1 + r, tenureMonths);
+        return Money.times(principal, r * pow / (pow - 1));
+    }
+
+    /**
+     * Total repaid over the full tenure: the regular EMIs plus the final,
+     * balance-clearing instalment. Walks the schedule; allocation-free.
+     */
+    public static long totalPayablePaise(long principal, double annualRatePercent, int tenureMonths) {
+        if (principal <= 0 || tenureMonths <= 0) return 0;
+        long emi     = emiPaise(principal, annualRatePercent, tenureMonths);
+        double r     = monthlyRate(annualRatePercent);
+        long balance = principal, total = 0;
+        for (int m = 1; m <= tenureMonths; m++) {
+            long interest = Money.times(balance, r);
+            long repaid   = m == tenureMonths ? balance : Math.min(emi - interest, balance);
+            total   += repaid + interest;
+            balance -= repaid;
+        }
+        return total;
+    }
+
+    // ── Inverse ────────────────────────────────────────────────────────────────
+
+    /**
+     * The largest loan, in paise, whose EMI over {@code tenureMonths} is no more
+     * than {@code emiPaise}: the EMI formula solved for P,
+     *
+     *   P = EMI * ((1+r)^n - 1) / (r * (1+r)^n)
+     *
+     * rounded down and nudged so that emiPaise(P) never exceeds the budget.
+     */
+    public static long maxPrincipalPaise(long emiPaise, double annualRatePercent, int tenureMonths) {
+        if (emiPaise <= 0 || tenureMonths <= 0) return 0;
+        double r = monthlyRate(annualRatePercent);
+        double perPaisaOfEmi;                           // principal bought by one paisa of EMI
+        if (r == 0) {
+            perPaisaOfEmi = tenureMonths;
+        } else {
+            double pow = Math.pow(1 + r, tenureMonths);
+            perPaisaOfEmi = (pow - 1) / (r * pow);
+        }
+        // The EMI is rounded half-even, so anything below emi + ½ paisa still fits
+        long p = (long) Math.floor((emiPaise + 0.5) * perPaisaOfEmi);
+        while (p > 0 && emiPaise(p, annualRatePercent, tenureMonths) > emiPaise) p--;
+        while (emiPaise(p + 1, annualRatePercent, tenureMonths) <= emiPaise) p++;
+        return p;
+    }
+
+    /**
+     * The shortest tenure, in months, at which a loan's EMI fits the budget:
+     * n = -ln(1 - rP/EMI) / ln(1+r), rounded up. Returns -1 if the budget
+     * does not even cover the first month's interest, so no tenure works.
+     */
+    public static int tenureForPaise(long principal, long emiPaise, double annualRatePercent) {
+        if (principal <= 0) return 0;
+        if (emiPaise <= 0) return -1;
+        double r = monthlyRate(annualRatePercent);
+        double months;
+        if (r == 0) {
+            months = (double) principal / emiPaise;
+        } else {
+            double x = r * principal / emiPaise;
+            if (x >= 1) return -1;
+            months = -Math.log1p(-x) / Math.log1p(r);
+        }
+        if (months >= Integer.MAX_VALUE) return -1;
+        // The EMI is rounded to the paisa, so the answer can sit a month either side
+        int n = Math.max(1, (int) Math.ceil(months));
+        while (emiPaise(principal, annualRatePercent, n) > emiPaise) n++;
+        while (n > 1 && emiPaise(principal, annualRatePercent, n - 1) <= emiPaise) n--;
+        return n;
+    }
+
+    /**
+     * The highest annual rate, to 0.01%, at which a loan's EMI over
+     * {@code tenureMonths} fits the budget; found by bisection, since the
+     * rate has no closed form. NaN if even an interest-free loan does not
+     * fit; 100% is the ceiling searched.
+     */
+    public static double rateForPaise(long principal, long emiPaise, int tenureMonths) {
+        if (principal <= 0) return 100;
+        if (tenureMonths <= 0 || emiPaise(principal, 0, tenureMonths) > emiPaise) return Double.NaN;
+        if (emiPaise(principal, 100, tenureMonths) <= emiPaise) return 100;
+        int lo = 0, hi = 10_000;                          // basis points: lo fits, hi does not
+        while (hi - lo > 1) {
+            int mid = (lo + hi) >>> 1;
+            if (emiPaise(principal, mid / 100.0, tenureMonths) <= emiPaise) lo = mid;
+            else hi = mid;
+        }
+        return lo / 100.0;
+    }
+
+    // ── Rupees ─────────────────────────────────────────────────────────────────
+
     /**
      * Calculates the monthly EMI.
      *
      * @param principal       loan amount in INR
      * @param annualRatePercent annual interest rate (e.g., 9.5 for 9.5%)
      * @param tenureMonths    repayment period in months
-     * @return monthly EMI in INR
+     * @return monthly EMI in INR, to the paisa
      */
     public static double calculateEMI(double principal, double annualRatePercent, int tenureMonths) {
-        if (principal <= 0 || tenureMonths <= 0) return 0;
+        return Money.toRupees(emiPaise(Money.ofRupees(principal), annualRatePercent, tenureMonths));
+    }
 
-        if (annualRatePercent <= 0) {
-            // Zero-interest loan: simple division
-            return principal / tenureMonths;
-        }
+    /**
+     * Total amount repaid over full tenure for a loan, including the final
+     * instalment's rounding adjustment.
+     */
+    public static double totalPayableForLoan(double principal, double annualRatePercent, int tenureMonths) {
+        return Money.toRupees(totalPayablePaise(Money.ofRupees(principal), annualRatePercent, tenureMonths));
+    }
 
-        double r = annualRatePercent / 12.0 / 100.0;   // monthly rate
-        double pow = Math.pow(1 + r, tenureMonths);
-        return (principal * r * pow) / (pow - 1);
+    /**
+     * Total interest charged on a loan (totalPayableForLoan - principal).
+     */
+    public static double totalInterestForLoan(double principal, double annualRatePercent, int tenureMonths) {
+        long p = Money.ofRupees(principal);
+        if (p <= 0 || tenureMonths <= 0) return 0;
+        return Money.toRupees(totalPayablePaise(p, annualRatePercent, tenureMonths) - p);
     }
 
     /**
      * Total amount repaid over full tenure (EMI × months).
+     *
+     * @deprecated ignores the final instalment's rounding adjustment; use
+     *             {@link #totalPayableForLoan(double, double, int)}
      */
+    @Deprecated
     public static double totalPayable(double emi, int tenureMonths) {
         return emi * tenureMonths;
     }
 
     /**
      * Total interest charged (totalPayable - principal).
+     *
+     * @deprecated ignores the final instalment's rounding adjustment; use
+     *             {@link #totalInterestForLoan(double, double, int)}
      */
+    @Deprecated
     public static double totalInterest(double emi, int tenureMonths, double principal) {
         return totalPayable(emi, tenureMonths) - principal;
     }
 
     /**
      * Builds a full amortisation schedule string (month-by-month breakdown).
+     * Callers that can stream should use AmortisationSchedule and
+     * AmortisationFormatter instead of materialising the whole table.
      */
     public static String amortisationTable(double principal, double annualRatePercent, int tenureMonths) {
-        double emi      = calculateEMI(principal, annualRatePercent, tenureMonths);
-        double monthlyR = annualRatePercent / 12.0 / 100.0;
-        double balance  = principal;
-
-        StringBuilder sb = new StringBuilder();
-        sb.append(String.format("%-6s %-12s %-12s %-12s %-14s%n",
-                "Month", "EMI (₹)", "Principal", "Interest", "Balance (₹)"));
-        sb.append("-".repeat(60)).append("\n");
-
-        for (int m = 1; m <= tenureMonths; m++) {
-            double interest  = balance * monthlyR;
-            double principalPart = emi - interest;
-            balance -= principalPart;
-            if (balance < 0) balance = 0;
-
-            sb.append(String.format("%-6d %-12.2f %-12.2f %-12.2f %-14.2f%n",
-                    m, emi, principalPart, interest, balance));
+        AmortisationSchedule schedule = AmortisationSchedule.of(Money.ofRupees(principal), annualRatePercent, tenureMonths);
+        StringBuilder sb = new StringBuilder(128 + schedule.months() * 64);
+        try {
+            new AmortisationFormatter().write(sb, schedule);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);                  // StringBuilder never throws
         }
-
         return sb.toString();
     }
+
+    private static double monthlyRate(double annualRatePercent) {
+        return annualRatePercent <= 0 ? 0 : annualRatePercent / 12.0 / 100.0;
+    }
 }
@@ -0,0 +1,116 @@
+package com.jawa.showroom.service;
+
+import java.util.Random;
+
+/**
+ * EMICheck exercises the paise EMI code with random loans.
+ *
+ * First it checks, for every generated principal, rate and tenure, that an
+ * AmortisationSchedule is consistent: the principal column adds up to the
+ * loan, every month's payment is its principal plus interest, the balance
+ * never goes negative and ends at zero, and the total agrees with
+ * EMICalculator#totalPayablePaise. One schedule is reused throughout, as the
+ * EMI panel does, so in-place recomputation is covered too.
+ *
+ * Then it times EMICalculator#emiPaise against the old double formula
+ * (P·r·(1+r)^n / ((1+r)^n − 1) in rupees, unrounded) on the same inputs.
+ *
+ * Run as a program:
+ *
+ *   java com.jawa.showroom.service.EMICheck [cases] [seed]
+ */
+public final class EMICheck {
+
+    private EMICheck() { /* Utility class – no instances */ }
+
+    public static void main(String[] args) {
+        int  cases = args.length > 0 ? Integer.parseInt(args[0]) : 100_000;
+        long seed  = args.length > 1 ? Long.parseLong(args[1]) : System.nanoTime();
+        System.out.println("EMICheck: " + cases + " cases, seed " + seed);
+
+        Random rnd = new Random(seed);
+        long[]   principals = new long[cases];
+        double[] rates      = new double[cases];
+        int[]    tenures    = new int[cases];
+        for (int i = 0; i < cases; i++) {
+            principals[i] = 1 + (long) (rnd.nextDouble() * 50_00_000_00L);  // up to ₹50 lakh
+            rates[i]      = rnd.nextInt(10) == 0 ? 0 : rnd.nextInt(3001) / 100.0;   // 0–30%, some interest-free
+            tenures[i]    = 1 + rnd.nextInt(360);
+        }
+
+        int failures = checkSchedules(principals, rates, tenures);
+        timeEmi(principals, rates, tenures);
+        if (failures > 0) {
+            System.out.println("FAILED: " + failures + " inconsistent schedules");
+            System.exit(1);
+        }
+        System.out.println("PASSED");
+    }
+
+    // ── Schedule property ──────────────────────────────────────────────────────
+
+    private static int checkSchedules(long[] principals, double[] rates, int[] tenures) {
+        AmortisationSchedule s = new AmortisationSchedule();
+        int failures = 0;
+        for (int i = 0; i < principals.length; i++) {
+            String problem = check(s.compute(principals[i], rates[i], tenures[i]), principals[i], rates[i], tenures[i]);
+            if (problem != null && ++failures <= 20) {
+                System.out.printf("  loan %d paise, %.2f%%, %d months: %s%n", principals[i], rates[i], tenures[i], problem);
+            }
+        }
+        return failures;
+    }
+
+    private static String check(AmortisationSchedule s, long loan, double rate, int tenure) {
+        if (s.months() != tenure) return "has " + s.months() + " rows";
+        long principalSum = 0, paid = 0;
+        for (int m = 0; m < tenure; m++) {
+            if (s.emiPaise(m) != s.principalPaise(m) + s.interestPaise(m)) return "month " + (m + 1) + " payment mismatch";
+            if (s.balancePaise(m) < 0) return "negative balance in month " + (m + 1);
+            principalSum += s.principalPaise(m);
+            paid         += s.emiPaise(m);
+        }
+        if (principalSum != loan)                  return "principal column sums to " + principalSum;
+        if (s.balancePaise(tenure - 1) != 0)       return "ends with balance " + s.balancePaise(tenure - 1);
+        if (paid != s.totalPayablePaise())         return "payments sum to " + paid + ", total says " + s.totalPayablePaise();
+        long walked = EMICalculator.totalPayablePaise(loan, rate, tenure);
+        if (walked != s.totalPayablePaise())       return "totalPayablePaise gives " + walked;
+        return null;
+    }
+
+    // ── Timing ─────────────────────────────────────────────────────────────────
+
+    private static void timeEmi(long[] principals, double[] rates, int[] tenures) {
+        int n = principals.length;
+        double[] rupees = new double[n];
+        for (int i = 0; i < n; i++) rupees[i] = principals[i] / 100.0;
+
+        long sink = 0;
+        double dsink = 0;
+        for (int warm = 0; warm < 5; warm++) {
+            for (int i = 0; i < n; i++) sink  += EMICalculator.emiPaise(principals[i], rates[i], tenures[i]);
+            for (int i = 0; i < n; i++) dsink += doubleEmi(rupees[i], rates[i], tenures[i]);
+        }
+
+        long t = System.nanoTime();
+        for (int i = 0; i < n; i++) sink += EMICalculator.emiPaise(principals[i], rates[i], tenures[i]);
+        long paiseNs = System.nanoTime() - t;
+
+        t = System.nanoTime();
+        for (int i = 0; i < n; i++) dsink += doubleEmi(rupees[i], rates[i], tenures[i]);
+        long doubleNs = System.nanoTime() - t;
+
+        System.out.printf("emiPaise      %6.1f ns/call%n", (double) paiseNs / n);
+        System.out.printf("double EMI    %6.1f ns/call%n", (double) doubleNs / n);
+        if (sink == 42 && dsink == 42) System.out.println();   // keeps the loops live
+    }
+
+    /** The EMI as computed before amounts moved to paise. */
+    private static double doubleEmi(double principal, double annualRatePercent, int tenureMonths) {
+        if (principal <= 0 || tenureMonths <= 0) return 0;
+        if (annualRatePercent <= 0) return principal / tenureMonths;
+        double r = annualRatePercent / 12.0 / 100.0;
+        double pow = Math.pow(1 + r, tenureMonths);
+        return (principal * r * pow) / (pow - 1);
+    }
+}
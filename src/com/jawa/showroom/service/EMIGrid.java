@@ -0,0 +1,110 @@
+package com.jawa.showroom.service;
+
+import com.jawa.showroom.util.Money;
+
+import java.util.Arrays;
+import java.util.Objects;
+import java.util.stream.IntStream;
+
+/**
+ * EMIGrid computes the EMI for every combination of loan amount, interest
+ * rate and tenure in one pass, for the "what would it cost me" matrix shown
+ * to customers.
+ *
+ * For each rate the growth factor (1+r)^n is built up month by month by
+ * multiplication, and the EMI factor r(1+r)^n / ((1+r)^n - 1) is taken at
+ * each requested tenure and applied to every loan, so a whole rate row costs
+ * one multiplication per month plus one per cell instead of a Math.pow per
+ * cell. Results are paise rounded half-even like EMICalculator#emiPaise;
+ * the accumulated powers agree with Math.pow to within a few ulps, so a cell
+ * can differ by a paisa only when the exact EMI lies on a half-paisa.
+ *
+ * Rates are independent, so {@link #compute(boolean)} can spread them over
+ * the common fork-join pool; each rate writes its own cells.
+ */
+public final class EMIGrid {
+
+    private final long[]   loans;      // paise
+    private final double[] rates;      // annual %
+    private final int[]    tenures;    // months, ascending
+    private final long[]   emi;        // [loan][rate][tenure], flattened
+
+    /**
+     * @param loansPaise        loan amounts (e.g. one per down payment)
+     * @param annualRatePercent rates, e.g. from {@link #rateSteps}
+     * @param tenureMonths      tenures; sorted here, duplicates removed
+     */
+    public EMIGrid(long[] loansPaise, double[] annualRatePercent, int[] tenureMonths) {
+        this.loans   = loansPaise.clone();
+        this.rates   = annualRatePercent.clone();
+        this.tenures = Arrays.stream(tenureMonths).filter(t -> t > 0).sorted().distinct().toArray();
+        this.emi     = new long[loans.length * rates.length * tenures.length];
+    }
+
+    /** Rates from {@code from} to {@code to} inclusive, e.g. 7–18% in 0.25 steps. */
+    public static double[] rateSteps(double from, double to, double step) {
+        int n = (int) Math.floor((to - from) / step + 1e-9) + 1;
+        double[] r = new double[Math.max(0, n)];
+        for (int i = 0; i < r.length; i++) r[i] = from + i * step;   // no accumulated drift
+        return r;
+    }
+
+    /** Tenures from {@code from} to {@code to} months inclusive. */
+    public static int[] tenureSteps(int from, int to, int step) {
+        return IntStream.iterate(from, t -> t <= to, t -> t + step).toArray();
+    }
+
+    // ── Computation ────────────────────────────────────────────────────────────
+
+    /** Fills the grid; {@code parallel} spreads the rates across cores. */
+    public EMIGrid compute(boolean parallel) {
+        IntStream ri = IntStream.range(0, rates.length);
+        (parallel ? ri.parallel() : ri).forEach(this::computeRate);
+        return this;
+    }
+
+    private void computeRate(int ri) {
+        int nt = tenures.length, nr = rates.length;
+        double r = rates[ri] / 12.0 / 100.0;
+
+        if (r <= 0) {                                   // zero-interest: simple division
+            for (int ti = 0; ti < nt; ti++) {
+                for (int li = 0; li < loans.length; li++) {
+                    emi[(li * nr + ri) * nt + ti] = loans[li] <= 0 ? 0 : Money.divide(loans[li], tenures[ti]);
+                }
+            }
+            return;
+        }
+
+        double growth = 1 + r, pow = 1;
+        int month = 0;
+        for (int ti = 0; ti < nt; ti++) {
+            while (month < tenures[ti]) {
+                pow *= growth;
+                month++;
+            }
+            double factor = r * pow / (pow - 1);
+            for (int li = 0; li < loans.length; li++) {
+                emi[(li * nr + ri) * nt + ti] = loans[li] <= 0 ? 0 : Money.times(loans[li], factor);
+            }
+        }
+    }
+
+    // ── Results ────────────────────────────────────────────────────────────────
+
+    public int    loanCount()           { return loans.length; }
+    public int    rateCount()           { return rates.length; }
+    public int    tenureCount()         { return tenures.length; }
+
+    public long   loanPaise(int li)     { return loans[li]; }
+    public double rate(int ri)          { return rates[ri]; }
+    public int    tenure(int ti)        { return tenures[ti]; }
+
+    /** Monthly EMI in paise for one cell. */
+    public long emiPaise(int li, int ri, int ti) {
+        Objects.checkIndex(li, loans.length);
+        Objects.checkIndex(ri, rates.length);
+        Objects.checkIndex(ti, tenures.length);
+        return emi[(li * rates.length + ri) * tenures.length + ti];
+    }
+}
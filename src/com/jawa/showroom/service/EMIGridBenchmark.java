@@ -0,0 +1,86 @@
+package com.jawa.showroom.service;
+
+import com.jawa.showroom.util.Money;
+
+import java.util.function.LongSupplier;
+
+/**
+ * EMIGridBenchmark times filling an EMIGrid sequentially and in parallel
+ * against working out every cell on its own with EMICalculator#calculateEMI,
+ * as the EMI panel did before the grid existed.
+ *
+ * The grid has the EMI grid dialog's shape (7–18% in 0.25 steps, 6–84
+ * months every 6) with the given number of loan amounts. Before timing,
+ * every cell is compared with EMICalculator#emiPaise; the grid's class
+ * comment explains why a cell may be a paisa off.
+ *
+ * Run as a program:
+ *
+ *   java com.jawa.showroom.service.EMIGridBenchmark [loans] [iterations]
+ */
+public final class EMIGridBenchmark {
+
+    private static final double[] RATES   = EMIGrid.rateSteps(7, 18, 0.25);
+    private static final int[]    TENURES = EMIGrid.tenureSteps(6, 84, 6);
+
+    private EMIGridBenchmark() { /* Utility class – no instances */ }
+
+    public static void main(String[] args) {
+        int loanCount  = args.length > 0 ? Integer.parseInt(args[0]) : 50;
+        int iterations = args.length > 1 ? Integer.parseInt(args[1]) : 500;
+
+        long[] loans = new long[loanCount];
+        for (int i = 0; i < loanCount; i++) loans[i] = Money.ofRupees(250_000 - i * 2_500);   // one per down payment
+        int cells = loanCount * RATES.length * TENURES.length;
+        System.out.printf("%d loans x %d rates x %d tenures = %,d cells, %d iterations, %d cores%n",
+                loanCount, RATES.length, TENURES.length, cells, iterations,
+                Runtime.getRuntime().availableProcessors());
+
+        EMIGrid grid = new EMIGrid(loans, RATES, TENURES).compute(false);
+        int offByPaisa = 0;
+        for (int li = 0; li < loanCount; li++) {
+            for (int ri = 0; ri < RATES.length; ri++) {
+                for (int ti = 0; ti < TENURES.length; ti++) {
+                    long want = EMICalculator.emiPaise(loans[li], RATES[ri], TENURES[ti]);
+                    long diff = Math.abs(grid.emiPaise(li, ri, ti) - want);
+                    if (diff > 1) {
+                        System.out.printf("FAILED: loan %d, %.2f%%, %d months: grid %d, emiPaise %d%n",
+                                loans[li], RATES[ri], TENURES[ti], grid.emiPaise(li, ri, ti), want);
+                        System.exit(1);
+                    }
+                    if (diff == 1) offByPaisa++;
+                }
+            }
+        }
+        System.out.println("Cells a paisa off emiPaise: " + offByPaisa);
+
+        double seq = time(iterations, () -> new EMIGrid(loans, RATES, TENURES).compute(false).emiPaise(0, 0, 0));
+        double par = time(iterations, () -> new EMIGrid(loans, RATES, TENURES).compute(true).emiPaise(0, 0, 0));
+        double perCell = time(iterations, () -> {
+            double sum = 0;
+            for (long loan : loans) {
+                double rupees = Money.toRupees(loan);
+                for (double rate : RATES) {
+                    for (int tenure : TENURES) sum += EMICalculator.calculateEMI(rupees, rate, tenure);
+                }
+            }
+            return (long) sum;
+        });
+
+        System.out.printf("%-26s %10s %8s%n", "", "us/grid", "speedup");
+        System.out.printf("%-26s %10.1f %8s%n", "calculateEMI per cell", perCell, "1.0x");
+        System.out.printf("%-26s %10.1f %7.1fx%n", "EMIGrid sequential", seq, perCell / seq);
+        System.out.printf("%-26s %10.1f %7.1fx%n", "EMIGrid parallel", par, perCell / par);
+    }
+
+    /** Average microseconds per run, after as many warm-up runs. */
+    private static double time(int iterations, LongSupplier body) {
+        long sink = 0;
+        for (int i = 0; i < iterations; i++) sink += body.getAsLong();
+        long start = System.nanoTime();
+        for (int i = 0; i < iterations; i++) sink += body.getAsLong();
+        double us = (System.nanoTime() - start) / 1_000.0 / iterations;
+        if (sink == 42) System.out.println();      // keeps the work live
+        return us;
+    }
+}
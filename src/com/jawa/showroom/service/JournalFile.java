@@ -0,0 +1,153 @@
+package com.jawa.showroom.service;
+
+import java.io.*;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.TreeMap;
+
+/**
+ * JournalFile is an append-only text log that sits beside a snapshot file.
+ * Each mutation is written as a single line at the end of the journal, so the
+ * cost of a save no longer depends on how much history has been stored.
+ *
+ * When the owner checkpoints, it first {@link #rotate rotates} the journal:
+ * the live file is renamed to a numbered segment (users.journal.7) and new
+ * appends start a fresh file. Once the checkpoint covering generation g is
+ * durable, segments up to g are deleted. A crash in between loses nothing:
+ * the loader replays every segment newer than its checkpoint, then the live file.
+ *
+ * Every record carries a CRC32 (see DurableFiles). When the journal is read
+ * back, a record that fails its checksum is skipped; only a torn last line
+ * left by a crash mid-append is truncated.
+ * How often appends are fsynced follows {@link StoreConfig#fsyncPolicy()}.
+ */
+class JournalFile {
+
+    private final File file;
+    private final StoreConfig.FsyncPolicy fsync;
+    private final long fsyncIntervalMs;
+    private int     pending;     // records appended since the last rotation
+    private boolean dirty;       // written but not yet fsynced
+    private long    lastSync = System.currentTimeMillis();
+
+    JournalFile(String path) {
+        this.file            = new File(path);
+        this.fsync           = StoreConfig.fsyncPolicy();
+        this.fsyncIntervalMs = StoreConfig.fsyncIntervalMs();
+    }
+
+    /**
+     * Appends a batch of records (without trailing newlines). Under the default
+     * policy the batch is fsynced once, so a group commit costs a single disk
+     * flush no matter how many records it carries.
+     */
+    synchronized void appendAll(List<String> lines) throws IOException {
+        try (FileOutputStream fos = new FileOutputStream(file, true)) {
+            Writer w = new BufferedWriter(new OutputStreamWriter(fos, StandardCharsets.UTF_8));
+            for (String line : lines) {
+                w.write(DurableFiles.seal(line));
+                w.write('\n');
+            }
+            w.flush();
+            dirty = true;
+            if (fsync == StoreConfig.FsyncPolicy.ALWAYS) sync(fos.getFD());
+        }
+        pending += lines.size();
+        syncIfDue();
+    }
+
+    /** Under the INTERVAL policy, fsyncs once the interval has passed since the last sync. */
+    synchronized void syncIfDue() throws IOException {
+        if (fsync == StoreConfig.FsyncPolicy.INTERVAL
+                && System.currentTimeMillis() - lastSync >= fsyncIntervalMs) {
+            force();
+        }
+    }
+
+    /** Fsyncs anything written since the last sync, whatever the policy. */
+    synchronized void force() throws IOException {
+        if (!dirty || !file.exists()) return;
+        try (FileChannel ch = FileChannel.open(file.toPath(), StandardOpenOption.WRITE)) {
+            ch.force(false);
+        }
+        dirty    = false;
+        lastSync = System.currentTimeMillis();
+    }
+
+    private void sync(FileDescriptor fd) throws IOException {
+        fd.sync();
+        dirty    = false;
+        lastSync = System.currentTimeMillis();
+    }
+
+    /**
+     * Reads every intact record newer than the given checkpoint generation:
+     * segments after {@code afterGeneration} in order, then the live file.
+     * A torn last line left by a crash mid-append is cut off the file it is in.
+     */
+    synchronized List<String> readLines(long afterGeneration) throws IOException {
+        List<String> lines = new ArrayList<>();
+        for (File segment : segments().tailMap(afterGeneration, false).values()) {
+            lines.addAll(DurableFiles.readRecords(segment, DurableFiles.Kind.JOURNAL));
+        }
+        List<String> live = DurableFiles.readRecords(file, DurableFiles.Kind.JOURNAL);
+        lines.addAll(live);
+        pending = live.size();
+        return lines;
+    }
+
+    /**
+     * Closes the live file as segment {@code generation}; later appends go to a
+     * new live file. Records still queued in the writer land in the new file
+     * and are replayed as harmless duplicates if the checkpoint already has them.
+     */
+    synchronized void rotate(long generation) throws IOException {
+        if (!file.exists()) return;
+        force();
+        Files.move(file.toPath(), segmentFile(generation).toPath());
+        pending = 0;
+    }
+
+    /** Deletes the segments a durable checkpoint of {@code generation} now covers. */
+    synchronized void deleteSegmentsUpTo(long generation) throws IOException {
+        for (File segment : segments().headMap(generation, true).values()) {
+            Files.deleteIfExists(segment.toPath());
+        }
+    }
+
+    /** Highest segment generation on disk, or 0 if there is none. */
+    synchronized long lastSegmentGeneration() {
+        TreeMap<Long, File> all = segments();
+        return all.isEmpty() ? 0 : all.lastKey();
+    }
+
+    private File segmentFile(long generation) {
+        return new File(file.getPath() + "." + generation);
+    }
+
+    /** Segment files by generation. */
+    private TreeMap<Long, File> segments() {
+        TreeMap<Long, File> result = new TreeMap<>();
+        File dir = file.getAbsoluteFile().getParentFile();
+        String prefix = file.getName() + ".";
+        File[] found = dir == null ? null : dir.listFiles((d, name) -> name.startsWith(prefix));
+        if (found == null) return result;
+        for (File f : found) {
+            try {
+                result.put(Long.parseLong(f.getName().substring(prefix.length())), f);
+            } catch (NumberFormatException ignored) {
+                // not a segment (e.g. an editor backup)
+            }
+        }
+        return result;
+    }
+
+    /** Number of records in the live file, i.e. not yet covered by a checkpoint. */
+    synchronized int pendingRecords() {
+        return pending;
+    }
+}
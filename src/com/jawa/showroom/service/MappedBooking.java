@@ -0,0 +1,109 @@
+package com.jawa.showroom.service;
+
+import com.jawa.showroom.model.Booking;
+import com.jawa.showroom.util.Money;
+
+import static com.jawa.showroom.service.BookingBinaryFormat.*;
+
+/**
+ * A read-only Booking view over one record of a MappedBookingStore.
+ * Each getter decodes its field straight from the mapped file, so a view
+ * costs a reference and an offset until fields are actually read.
+ */
+class MappedBooking extends Booking {
+
+    private final MappedBookingStore store;
+    private final int base;
+
+    MappedBooking(MappedBookingStore store, int base) {
+        this.store = store;
+        this.base  = base;
+    }
+
+    // ── Decoding Getters ───────────────────────────────────────────────────────
+
+    @Override public String  getBookingId()        { return store.stringAt(base, STR_BOOKING_ID); }
+    @Override public String  getUsername()         { return store.dictAt(base, OFF_USERNAME); }
+    @Override public String  getBookingDate()      { return store.stringAt(base, STR_DATE); }
+    @Override public String  getStatus()           { return store.dictAt(base, OFF_STATUS); }
+
+    @Override public String  getBikeId()           { return store.dictAt(base, OFF_BIKE_ID); }
+    @Override public String  getBikeModelName()    { return store.dictAt(base, OFF_MODEL); }
+    @Override public String  getBikeVariant()      { return store.dictAt(base, OFF_VARIANT); }
+    @Override public String  getBikeColor()        { return store.dictAt(base, OFF_COLOR); }
+
+    @Override public double  getExShowroomPrice()  { return Money.toRupees(getExShowroomPaise()); }
+    @Override public double  getGstAmount()        { return Money.toRupees(getGstPaise()); }
+    @Override public double  getRtoCharges()       { return Money.toRupees(getRtoPaise()); }
+    @Override public double  getInsurancePremium() { return Money.toRupees(getInsurancePaise()); }
+    @Override public double  getHandlingCharges()  { return Money.toRupees(getHandlingPaise()); }
+    @Override public double  getTotalOnRoadPrice() { return Money.toRupees(getTotalOnRoadPaise()); }
+
+    @Override public boolean isEmiChosen()         { return store.byteAt(base, OFF_EMI_FLAG) != 0; }
+    @Override public double  getLoanAmount()       { return Money.toRupees(getLoanPaise()); }
+    @Override public double  getInterestRate()     { return store.rateAt(base); }
+    @Override public int     getTenureMonths()     { return store.intAt(base, OFF_TENURE); }
+    @Override public double  getEmiAmount()        { return Money.toRupees(getEmiPaise()); }
+    @Override public double  getDownPayment()      { return Money.toRupees(getDownPaymentPaise()); }
+
+    @Override public long    getExShowroomPaise()  { return store.paiseAt(base, AMT_EX_SHOWROOM); }
+    @Override public long    getGstPaise()         { return store.paiseAt(base, AMT_GST); }
+    @Override public long    getRtoPaise()         { return store.paiseAt(base, AMT_RTO); }
+    @Override public long    getInsurancePaise()   { return store.paiseAt(base, AMT_INSURANCE); }
+    @Override public long    getHandlingPaise()    { return store.paiseAt(base, AMT_HANDLING); }
+    @Override public long    getTotalOnRoadPaise() { return store.paiseAt(base, AMT_TOTAL); }
+    @Override public long    getLoanPaise()        { return store.paiseAt(base, AMT_LOAN); }
+    @Override public long    getEmiPaise()         { return store.paiseAt(base, AMT_EMI); }
+    @Override public long    getDownPaymentPaise() { return store.paiseAt(base, AMT_DOWN); }
+
+    @Override public String  getCustomerName()     { return store.stringAt(base, STR_NAME); }
+    @Override public String  getCustomerEmail()    { return store.stringAt(base, STR_EMAIL); }
+    @Override public String  getCustomerPhone()    { return store.stringAt(base, STR_PHONE); }
+    @Override public String  getCustomerAddress()  { return store.stringAt(base, STR_ADDRESS); }
+
+    // ── Views are read-only ────────────────────────────────────────────────────
+
+    private static UnsupportedOperationException readOnly() {
+        return new UnsupportedOperationException("Mapped bookings are read-only");
+    }
+
+    @Override public void setBookingId(String v)         { throw readOnly(); }
+    @Override public void setUsername(String v)          { throw readOnly(); }
+    @Override public void setBookingDate(String v)       { throw readOnly(); }
+    @Override public void setStatus(String v)            { throw readOnly(); }
+    @Override public void setBikeId(String v)            { throw readOnly(); }
+    @Override public void setBikeModelName(String v)     { throw readOnly(); }
+    @Override public void setBikeVariant(String v)       { throw readOnly(); }
+    @Override public void setBikeColor(String v)         { throw readOnly(); }
+    @Override public void setExShowroomPrice(double v)   { throw readOnly(); }
+    @Override public void setGstAmount(double v)         { throw readOnly(); }
+    @Override public void setRtoCharges(double v)        { throw readOnly(); }
+    @Override public void setInsurancePremium(double v)  { throw readOnly(); }
+    @Override public void setHandlingCharges(double v)   { throw readOnly(); }
+    @Override public void setTotalOnRoadPrice(double v)  { throw readOnly(); }
+    @Override public void setExShowroomPaise(long v)     { throw readOnly(); }
+    @Override public void setGstPaise(long v)            { throw readOnly(); }
+    @Override public void setRtoPaise(long v)            { throw readOnly(); }
+    @Override public void setInsurancePaise(long v)      { throw readOnly(); }
+    @Override public void setHandlingPaise(long v)       { throw readOnly(); }
+    @Override public void setTotalOnRoadPaise(long v)    { throw readOnly(); }
+    @Override public void setLoanPaise(long v)           { throw readOnly(); }
+    @Override public void setEmiPaise(long v)            { throw readOnly(); }
+    @Override public void setDownPaymentPaise(long v)    { throw readOnly(); }
+    @Override public void setEmiChosen(boolean v)        { throw readOnly(); }
+    @Override public void setLoanAmount(double v)        { throw readOnly(); }
+    @Override public void setInterestRate(double v)      { throw readOnly(); }
+    @Override public void setTenureMonths(int v)         { throw readOnly(); }
+    @Override public void setEmiAmount(double v)         { throw readOnly(); }
+    @Override public void setDownPayment(double v)       { throw readOnly(); }
+    @Override public void setCustomerName(String v)      { throw readOnly(); }
+    @Override public void setCustomerEmail(String v)     { throw readOnly(); }
+    @Override public void setCustomerPhone(String v)     { throw readOnly(); }
+    @Override public void setCustomerAddress(String v)   { throw readOnly(); }
+
+    @Override
+    public String toString() {
+        return String.format("Booking[%s] %s %s | ₹%.0f | %s",
+                getBookingId(), getBikeModelName(), getBikeVariant(), getTotalOnRoadPrice(), getStatus());
+    }
+}
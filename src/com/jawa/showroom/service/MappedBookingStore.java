@@ -0,0 +1,83 @@
+package com.jawa.showroom.service;
+
+import com.jawa.showroom.model.Booking;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.AbstractList;
+
+import static com.jawa.showroom.service.BookingBinaryFormat.*;
+
+/**
+ * MappedBookingStore exposes a bookings.bin snapshot as a read-only list of
+ * lazily decoded Booking views, backed by a memory-mapped file.
+ *
+ * Opening the store only reads the header, the string dictionary and each
+ * record's length prefix to build an offset index; no Booking is decoded
+ * until it is asked for, and each view decodes individual fields on access.
+ * Heap use therefore stays at one int per booking instead of a full object.
+ */
+class MappedBookingStore extends AbstractList<Booking> {
+
+    /** Per-thread decode buffer for string fields; grows to the longest string seen. */
+    private static final ThreadLocal<byte[]> SCRATCH = ThreadLocal.withInitial(() -> new byte[256]);
+
+    private final ByteBuffer buf;
+    private final short      version;
+    private final String[]   dict;
+    private final int[]      offsets;    // payload start of each record
+
+    private MappedBookingStore(ByteBuffer buf, short version, String[] dict, int[] offsets) {
+        this.buf     = buf;
+        this.version = version;
+        this.dict    = dict;
+        this.offsets = offsets;
+    }
+
+    /** Maps the given bookings.bin file and builds its offset index. */
+    static MappedBookingStore open(File file) throws IOException {
+        ByteBuffer buf = BookingBinaryFormat.map(file);
+        int count = readHeader(buf);
+        short version = version(buf);
+        String[] dict = readDictionary(buf);
+
+        int[] offsets = new int[count];
+        int pos = buf.position();
+        for (int i = 0; i < count; i++) {
+            int len = buf.getInt(pos);
+            offsets[i] = pos + 4;
+            pos += 4 + len;
+        }
+        return new MappedBookingStore(buf, version, dict, offsets);
+    }
+
+    @Override
+    public Booking get(int index) {
+        return new MappedBooking(this, offsets[index]);
+    }
+
+    @Override
+    public int size() {
+        return offsets.length;
+    }
+
+    // ── Field access for MappedBooking ─────────────────────────────────────────
+
+    String dictAt(int base, int off)      { return dict[buf.getInt(base + off)]; }
+    long   paiseAt(int base, int index)   { return paise(buf, base, version, index); }
+    double rateAt(int base)               { return rate(buf, base); }
+    int    intAt(int base, int off)       { return buf.getInt(base + off); }
+    byte   byteAt(int base, int off)      { return buf.get(base + off); }
+
+    String stringAt(int base, int index) {
+        int pos = stringPos(buf, base, index);
+        int len = buf.getShort(pos) & 0xFFFF;
+        byte[] scratch = SCRATCH.get();
+        if (len != NULL_STRING && len > scratch.length) {
+            scratch = new byte[len];             // strings are at most 64 KiB, so this stays bounded
+            SCRATCH.set(scratch);
+        }
+        return BookingBinaryFormat.stringAt(buf, pos, scratch);
+    }
+}
@@ -0,0 +1,240 @@
+package com.jawa.showroom.service;
+
+import com.jawa.showroom.model.Bike;
+import com.jawa.showroom.model.PriceQuote;
+import com.jawa.showroom.util.Money;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.time.format.DateTimeParseException;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * PriceBook prices a bike for a given state and date: per-state RTO tables
+ * and dated ex-showroom price lists on top of the figures in bikes.dat.
+ *
+ * pricing.dat format (blank lines and '#' comments ignored):
+ *
+ *   RTO|<state>|<road tax % of ex-showroom>|<flat registration fee>
+ *   PRICE|<bikeId>|<effective from yyyy-MM-dd>|<ex-showroom price>
+ *
+ * A bike without PRICE entries, or a date before its first one, uses the
+ * bikes.dat ex-showroom price; a state without an RTO entry uses the bike's
+ * own RTO charge (bikes.dat figures are for {@link #HOME_STATE}). GST rate,
+ * insurance and handling always come from bikes.dat.
+ *
+ * Quotes are immutable and cached per bike id, state and price window, so
+ * the hot path (same bike, state and current price) is two hash lookups on
+ * strings that already exist and an array read, with no allocation. The
+ * cached quotes of an id belong to one Bike instance at one
+ * {@link Bike#getPriceStamp() price stamp}; a reloaded Bike or a price
+ * setter call makes them stale and they are recomputed. The window for a
+ * date is found through a last-hit hint, falling back to a binary search
+ * over the bike's few price changes. DataStore also clears the cache when
+ * the catalogue is reloaded, so replaced bikes are not kept reachable.
+ *
+ * Every price the application shows, filters or sorts on comes from a quote,
+ * never from Bike#getOnRoadPrice, so a PRICE entry in effect is seen the same
+ * way by the cards, the catalogue index, the comparison and the booking.
+ */
+public final class PriceBook {
+
+    /**
+     * The showroom's state; booking quotes are for it unless told otherwise.
+     * Set with {@code -Djawa.store.homeState} (see StoreConfig).
+     */
+    public static final String HOME_STATE = StoreConfig.homeState();
+
+    /** Notified on the watcher thread after pricing.dat has been reloaded. */
+    public interface Listener {
+        void pricingChanged(PriceBook current);
+    }
+
+    /** Road tax and registration for one state. */
+    private record RtoRate(double percent, long flatFeePaise) {
+        long chargeOn(long exShowroomPaise) {
+            return Money.percentOf(exShowroomPaise, percent) + flatFeePaise;
+        }
+    }
+
+    /** Dated ex-showroom prices of one bike, oldest first. */
+    private static final class PriceList {
+        final long[]   fromDay;         // LocalDate epoch day each price takes effect
+        final long[]   pricePaise;
+        volatile int   hint;            // window of the last lookup
+
+        PriceList(TreeMap<Long, Long> entries) {
+            fromDay = new long[entries.size()];
+            pricePaise = new long[entries.size()];
+            int i = 0;
+            for (Map.Entry<Long, Long> e : entries.entrySet()) {
+                fromDay[i]      = e.getKey();
+                pricePaise[i++] = e.getValue();
+            }
+        }
+
+        /** Index of the price in effect on {@code day}, or -1 before the first one. */
+        int window(long day) {
+            int h = hint;
+            if (day >= fromDay[h] && (h + 1 == fromDay.length || day < fromDay[h + 1])) return h;
+            int w = Arrays.binarySearch(fromDay, day);
+            if (w < 0) w = -w - 2;                      // insertion point - 1
+            if (w >= 0) hint = w;
+            return w;
+        }
+    }
+
+    /**
+     * The quotes of one Bike instance at one price stamp: per state, one slot
+     * per price window (slot 0 is the bikes.dat price). Slots are filled
+     * racily; quotes are immutable, so a lost write only costs a recompute.
+     */
+    private static final class BikeQuotes {
+        final Bike bike;
+        final int  priceStamp;
+        final int  slots;
+        final Map<String, PriceQuote[]> byState = new ConcurrentHashMap<>();
+
+        BikeQuotes(Bike bike, PriceList list) {
+            this.bike       = bike;
+            this.priceStamp = bike.getPriceStamp();
+            this.slots      = list == null ? 1 : list.fromDay.length + 1;
+        }
+
+        boolean isFor(Bike b) {
+            return bike == b && priceStamp == b.getPriceStamp();
+        }
+    }
+
+    private final Map<String, RtoRate>    rto;        // upper-case state → rate
+    private final Map<String, PriceList>  prices;     // lowercase bikeId → price list
+    private final Map<String, BikeQuotes> quotes = new ConcurrentHashMap<>();   // lowercase bikeId
+
+    /** LocalDate.now() costs a time-zone lookup; today's epoch day is kept until midnight */
+    private volatile long today;
+    private volatile long todayEndsAt;      // epoch millis of the next local midnight
+
+    private PriceBook(Map<String, RtoRate> rto, Map<String, PriceList> prices) {
+        this.rto    = rto;
+        this.prices = prices;
+    }
+
+    /** A price book with no tables: every quote is the bikes.dat price. */
+    public static PriceBook empty() {
+        return new PriceBook(Map.of(), Map.of());
+    }
+
+    // ── Quotes ─────────────────────────────────────────────────────────────────
+
+    /** Today's price in the showroom's state. */
+    public PriceQuote quote(Bike bike) {
+        return quote(bike, HOME_STATE, today());
+    }
+
+    public PriceQuote quote(Bike bike, String state, LocalDate date) {
+        return quote(bike, state == null ? HOME_STATE : state.trim().toUpperCase(), date.toEpochDay());
+    }
+
+    private PriceQuote quote(Bike bike, String st, long day) {
+        String id = bike.getIdKey();
+        PriceList list = prices.isEmpty() ? null : prices.get(id);
+        int window = list == null ? -1 : list.window(day);
+
+        BikeQuotes cached = quotes.get(id);
+        if (cached == null || !cached.isFor(bike)) {
+            cached = new BikeQuotes(bike, list);
+            quotes.put(id, cached);
+        }
+        PriceQuote[] slots = cached.byState.get(st);
+        if (slots == null) {
+            slots = new PriceQuote[cached.slots];
+            PriceQuote[] raced = cached.byState.putIfAbsent(st, slots);
+            if (raced != null) slots = raced;
+        }
+        PriceQuote q = slots[window + 1];
+        if (q == null) {
+            q = compute(bike, st, window < 0 ? Money.ofRupees(bike.getExShowroomPrice()) : list.pricePaise[window]);
+            slots[window + 1] = q;
+        }
+        return q;
+    }
+
+    private PriceQuote compute(Bike bike, String state, long exShowroom) {
+        RtoRate rate = rto.get(state);
+        long gst     = Money.percentOf(exShowroom, bike.getGstRate());
+        long rtoCh   = rate == null ? Money.ofRupees(bike.getRtoCharges()) : rate.chargeOn(exShowroom);
+        return new PriceQuote(state, exShowroom, gst, rtoCh,
+                Money.ofRupees(bike.getInsurancePremium()), Money.ofRupees(bike.getHandlingCharges()));
+    }
+
+    /** Today's epoch day, the date {@link #quote(Bike)} prices for. */
+    long today() {
+        if (System.currentTimeMillis() >= todayEndsAt) {
+            LocalDate d = LocalDate.now();
+            today       = d.toEpochDay();
+            todayEndsAt = d.plusDays(1).atStartOfDay(ZoneId.systemDefault()).toInstant().toEpochMilli();
+        }
+        return today;
+    }
+
+    /** States with their own RTO table, sorted. */
+    public Set<String> states() {
+        return new TreeSet<>(rto.keySet());
+    }
+
+    /** Drops cached quotes, e.g. after the catalogue replaced its Bike objects. */
+    void clearQuotes() {
+        quotes.clear();
+    }
+
+    // ── pricing.dat ────────────────────────────────────────────────────────────
+
+    /** Parses a pricing file; a malformed line fails the whole load. */
+    public static PriceBook read(File file) throws IOException {
+        Map<String, RtoRate> rto = new HashMap<>();
+        Map<String, TreeMap<Long, Long>> dated = new HashMap<>();
+        try (BufferedReader br = new BufferedReader(
+                new InputStreamReader(new FileInputStream(file), StandardCharsets.UTF_8))) {
+            String line;
+            int lineNo = 0;
+            while ((line = br.readLine()) != null) {
+                lineNo++;
+                if (line.isBlank() || line.startsWith("#")) continue;
+                String[] p = line.split("\\|", -1);
+                try {
+                    if (p.length == 4 && p[0].trim().equalsIgnoreCase("RTO")) {
+                        rto.put(p[1].trim().toUpperCase(),
+                                new RtoRate(Double.parseDouble(p[2].trim()), Money.parse(p[3])));
+                    } else if (p.length == 4 && p[0].trim().equalsIgnoreCase("PRICE")) {
+                        dated.computeIfAbsent(p[1].trim().toLowerCase(), k -> new TreeMap<>())
+                             .put(LocalDate.parse(p[2].trim()).toEpochDay(), Money.parse(p[3]));
+                    } else {
+                        throw new IOException(file.getName() + ":" + lineNo + ": unknown pricing record");
+                    }
+                } catch (NumberFormatException | DateTimeParseException e) {
+                    throw new IOException(file.getName() + ":" + lineNo + ": malformed pricing record");
+                }
+            }
+        }
+        Map<String, PriceList> prices = new HashMap<>();
+        dated.forEach((id, entries) -> prices.put(id, new PriceList(entries)));
+        return new PriceBook(rto, prices);
+    }
+
+    /** Writes a commented, empty pricing file explaining the format. */
+    static void writeTemplate(File file) throws IOException {
+        DurableFiles.replace(file, out -> {
+            Writer w = new OutputStreamWriter(out, StandardCharsets.UTF_8);
+            w.write("# Jawa pricing – RTO tables per state and dated ex-showroom price lists.\n");
+            w.write("# RTO|<state>|<road tax % of ex-showroom>|<flat registration fee>\n");
+            w.write("#   e.g. RTO|KA|18|1500\n");
+            w.write("# PRICE|<bikeId>|<effective from yyyy-MM-dd>|<ex-showroom price>\n");
+            w.write("#   e.g. PRICE|JW001|2026-04-01|204000\n");
+            w.write("# Without entries, prices and " + HOME_STATE + " RTO charges come from bikes.dat.\n");
+            w.flush();
+        });
+    }
+}
@@ -0,0 +1,144 @@
+package com.jawa.showroom.service;
+
+import com.jawa.showroom.model.Booking;
+
+import java.io.File;
+import java.nio.file.Files;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.*;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * QueryBenchmark times indexed DataStore.query() against a full scan of every
+ * booking for a few typical queries.
+ *
+ * It writes N synthetic bookings to a bookings.dat in a scratch directory and
+ * starts DataStore on it in a child JVM (so the real data directory is never
+ * touched), waits for the indexes, then runs each query both ways. The two
+ * results are compared before anything is timed.
+ *
+ * Run as a program (jawa.store.* system properties are passed on):
+ *
+ *   java com.jawa.showroom.service.QueryBenchmark [bookings] [iterations]
+ */
+public final class QueryBenchmark {
+
+    private static final DateTimeFormatter DATE_TIME = DateTimeFormatter.ofPattern("dd-MM-yyyy HH:mm:ss");
+    private static final LocalDateTime     EPOCH     = LocalDateTime.of(2024, 1, 1, 9, 0);
+    private static final String[]          STATUSES  = { "CONFIRMED", "DELIVERED", "CANCELLED" };
+    private static final int               USERS     = 5000;
+    private static final int               BIKES     = 20;
+
+    private QueryBenchmark() { /* Utility class – no instances */ }
+
+    public static void main(String[] args) throws Exception {
+        if (args.length > 0 && args[0].equals("run")) {
+            run(Integer.parseInt(args[1]));
+            return;
+        }
+        int n          = args.length > 0 ? Integer.parseInt(args[0]) : 200_000;
+        int iterations = args.length > 1 ? Integer.parseInt(args[1]) : 100;
+
+        File work = Files.createTempDirectory("jawa-query").toFile();
+        File data = new File(work, "data");
+        data.mkdirs();
+        long t = System.nanoTime();
+        List<String> records = new ArrayList<>(n);
+        for (Booking bk : generate(n)) records.add(DataStore.encodeBooking(bk));
+        DurableFiles.replace(new File(data, "bookings.dat"), out -> DurableFiles.writeRecords(out, records));
+        System.out.printf("Wrote %,d bookings in %d ms%n", n, (System.nanoTime() - t) / 1_000_000);
+
+        List<String> cmd = new ArrayList<>();
+        cmd.add(new File(System.getProperty("java.home"), "bin" + File.separator + "java").getPath());
+        cmd.add("-cp");
+        cmd.add(System.getProperty("java.class.path"));
+        for (String name : System.getProperties().stringPropertyNames()) {
+            if (name.startsWith("jawa.store.")) cmd.add("-D" + name + "=" + System.getProperty(name));
+        }
+        cmd.add(QueryBenchmark.class.getName());
+        cmd.add("run");
+        cmd.add(String.valueOf(iterations));
+        int exit = new ProcessBuilder(cmd).directory(work).inheritIO().start().waitFor();
+
+        for (File f : Objects.requireNonNull(data.listFiles())) f.delete();
+        data.delete();
+        work.delete();
+        System.exit(exit);
+    }
+
+    /** Bookings spread over USERS users, BIKES bikes, three statuses and two years, in date order. */
+    static List<Booking> generate(int n) {
+        Random rnd = new Random(42);
+        List<Booking> result = new ArrayList<>(n);
+        long spanMinutes = 2L * 365 * 24 * 60;
+        for (int i = 0; i < n; i++) {
+            Booking bk = new Booking();
+            bk.setBookingId("Q" + i);
+            bk.setUsername("user" + rnd.nextInt(USERS));
+            bk.setBookingDate(EPOCH.plusMinutes(spanMinutes * i / n).format(DATE_TIME));
+            bk.setStatus(STATUSES[rnd.nextInt(10) < 7 ? 0 : 1 + rnd.nextInt(2)]);
+            bk.setBikeId("bike" + rnd.nextInt(BIKES));
+            bk.setBikeModelName("Model " + bk.getBikeId());
+            bk.setCustomerName("Customer " + i);
+            bk.setTotalOnRoadPaise(15_000_000L + rnd.nextInt(10_000_000));
+            bk.setEmiChosen(rnd.nextBoolean());
+            result.add(bk);
+        }
+        return result;
+    }
+
+    // ── Child JVM ──────────────────────────────────────────────────────────────
+
+    private static void run(int iterations) {
+        DataStore ds = DataStore.getInstance();
+        long t = System.nanoTime();
+        ds.ensureIndexed();
+        System.out.printf("Indexes ready after %d ms more%n", (System.nanoTime() - t) / 1_000_000);
+
+        Map<String, BookingQuery> queries = new LinkedHashMap<>();
+        queries.put("by user", new BookingQuery().user("user17"));
+        queries.put("by user, newest first", new BookingQuery().user("user17")
+                .sortBy(BookingQuery.SortKey.DATE, true));
+        queries.put("by bike + status", new BookingQuery().bikeId("bike3").status("CANCELLED"));
+        queries.put("one week", new BookingQuery().between(EPOCH.plusDays(200), EPOCH.plusDays(207))
+                .sortBy(BookingQuery.SortKey.DATE, false));
+        queries.put("status, page 3 of 20", new BookingQuery().status("DELIVERED").page(40, 20));
+        queries.put("no index (price)", new BookingQuery().priceBetween(200_000, 210_000));
+
+        System.out.printf("%-24s %8s %12s %12s %8s%n", "query", "hits", "indexed us", "scan us", "speedup");
+        for (Map.Entry<String, BookingQuery> e : queries.entrySet()) {
+            BookingQuery q = e.getValue();
+            List<String> indexed = ids(ds.query(q));
+            List<String> scanned = ids(scan(ds, q));
+            if (!indexed.equals(scanned)) {
+                System.out.println("MISMATCH for " + e.getKey() + ": " + indexed.size() + " vs " + scanned.size());
+                Runtime.getRuntime().halt(1);
+            }
+            double fast = time(iterations, () -> ds.query(q).count());
+            double slow = time(iterations, () -> scan(ds, q).count());
+            System.out.printf("%-24s %8d %12.1f %12.1f %7.1fx%n", e.getKey(), indexed.size(), fast, slow, slow / fast);
+        }
+        Runtime.getRuntime().halt(0);
+    }
+
+    /** The same query answered without indexes: filter, sort and page every booking. */
+    private static Stream<Booking> scan(DataStore ds, BookingQuery q) {
+        Stream<Booking> s = ds.getAllBookings().stream().filter(q::matches);
+        if (q.comparator() != null) s = s.sorted(q.comparator());
+        return s.skip(q.getOffset()).limit(q.getLimit());
+    }
+
+    private static List<String> ids(Stream<Booking> s) {
+        return s.map(Booking::getBookingId).collect(Collectors.toList());
+    }
+
+    /** Average microseconds per call, after as many warm-up calls. */
+    private static double time(int iterations, Runnable body) {
+        for (int i = 0; i < iterations; i++) body.run();
+        long start = System.nanoTime();
+        for (int i = 0; i < iterations; i++) body.run();
+        return (System.nanoTime() - start) / 1_000.0 / iterations;
+    }
+}
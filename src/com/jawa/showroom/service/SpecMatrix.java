@@ -0,0 +1,168 @@
+package com.jawa.showroom.service;
+
+import com.jawa.showroom.model.Bike;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.function.ToDoubleBiFunction;
+
+/**
+ * SpecMatrix holds the numeric specs of the bikes being compared, stored
+ * column-wise: one primitive double[] per spec, indexed by bike slot. Finding
+ * the best and worst bike for a spec is a single scan of one array, and
+ * adding or removing a bike touches each column once.
+ *
+ * The on-road price column holds quotes from the matrix's PriceBook; call
+ * {@link #setPriceBook} when pricing.dat is reloaded.
+ *
+ * Not thread-safe; the comparison view owns it on the EDT.
+ */
+public final class SpecMatrix {
+
+    /** Which way a spec improves. */
+    public enum Better { HIGHER, LOWER, NEITHER }
+
+    public enum Spec {
+        ON_ROAD_PRICE   ("On-Road Price",    Better.LOWER,   (b, p) -> p.quote(b).getOnRoadPrice()),
+        ENGINE_CC       ("Displacement",     Better.HIGHER,  (b, p) -> b.getSpecs().getEngineCc()),
+        POWER           ("Max Power",        Better.HIGHER,  (b, p) -> b.getSpecs().getPowerPs()),
+        TORQUE          ("Max Torque",       Better.HIGHER,  (b, p) -> b.getSpecs().getTorqueNm()),
+        GEARS           ("Gears",            Better.NEITHER, (b, p) -> b.getSpecs().getGears()),
+        TANK            ("Fuel Tank",        Better.HIGHER,  (b, p) -> b.getSpecs().getTankLitres()),
+        MILEAGE         ("Mileage",          Better.HIGHER,  (b, p) -> b.getSpecs().getMileageKmpl()),
+        KERB_WEIGHT     ("Kerb Weight",      Better.LOWER,   (b, p) -> b.getSpecs().getKerbWeightKg()),
+        SEAT_HEIGHT     ("Seat Height",      Better.NEITHER, (b, p) -> b.getSpecs().getSeatHeightMm()),
+        WHEELBASE       ("Wheelbase",        Better.NEITHER, (b, p) -> b.getSpecs().getWheelbaseMm()),
+        GROUND_CLEARANCE("Ground Clearance", Better.HIGHER,  (b, p) -> b.getSpecs().getGroundClearanceMm());
+
+        private final String label;
+        private final Better better;
+        private final ToDoubleBiFunction<Bike, PriceBook> value;
+
+        Spec(String label, Better better, ToDoubleBiFunction<Bike, PriceBook> value) {
+            this.label  = label;
+            this.better = better;
+            this.value  = value;
+        }
+
+        public String label()  { return label; }
+        public Better better() { return better; }
+    }
+
+    private static final Spec[] SPECS = Spec.values();
+
+    private final List<Bike> bikes = new ArrayList<>();
+    private double[][] columns = new double[SPECS.length][4];    // [spec][slot]
+    private final double[] best  = new double[SPECS.length];     // NaN if the bikes do not differ
+    private final double[] worst = new double[SPECS.length];
+    private PriceBook prices;
+
+    public SpecMatrix(PriceBook prices) {
+        this.prices = prices;
+        rank();
+    }
+
+    /** Re-prices every slot with a new price book. */
+    public void setPriceBook(PriceBook prices) {
+        this.prices = prices;
+        for (int slot = 0; slot < bikes.size(); slot++) fill(slot, bikes.get(slot));
+        rank();
+    }
+
+    // ── Editing ────────────────────────────────────────────────────────────────
+
+    /** Adds a bike as the last slot; returns its slot, or -1 if it is already present. */
+    public int add(Bike bike) {
+        if (indexOf(bike.getBikeId()) >= 0) return -1;
+        int slot = bikes.size();
+        if (slot == columns[0].length) {
+            for (int s = 0; s < SPECS.length; s++) {
+                columns[s] = Arrays.copyOf(columns[s], slot * 2);
+            }
+        }
+        fill(slot, bike);
+        bikes.add(bike);
+        rank();
+        return slot;
+    }
+
+    /** Removes the bike in {@code slot}; later slots move down by one. */
+    public void remove(int slot) {
+        int n = bikes.size();
+        for (int s = 0; s < SPECS.length; s++) {
+            System.arraycopy(columns[s], slot + 1, columns[s], slot, n - slot - 1);
+        }
+        bikes.remove(slot);
+        rank();
+    }
+
+    /** Replaces a bike in place, e.g. after a catalogue edit. */
+    public void set(int slot, Bike bike) {
+        fill(slot, bike);
+        bikes.set(slot, bike);
+        rank();
+    }
+
+    // ── Access ─────────────────────────────────────────────────────────────────
+
+    public int size() {
+        return bikes.size();
+    }
+
+    public Bike bike(int slot) {
+        return bikes.get(slot);
+    }
+
+    public List<Bike> bikes() {
+        return Collections.unmodifiableList(bikes);
+    }
+
+    public int indexOf(String bikeId) {
+        for (int i = 0; i < bikes.size(); i++) {
+            if (bikes.get(i).getBikeId().equalsIgnoreCase(bikeId)) return i;
+        }
+        return -1;
+    }
+
+    /** The spec value for a slot; NaN if the bike's spec string could not be parsed. */
+    public double value(Spec spec, int slot) {
+        return columns[spec.ordinal()][slot];
+    }
+
+    /** True if the slot holds (or ties for) the best value of a spec the bikes differ on. */
+    public boolean isBest(Spec spec, int slot) {
+        return columns[spec.ordinal()][slot] == best[spec.ordinal()];
+    }
+
+    /** True if the slot holds (or ties for) the worst value of a spec the bikes differ on. */
+    public boolean isWorst(Spec spec, int slot) {
+        return columns[spec.ordinal()][slot] == worst[spec.ordinal()];
+    }
+
+    private void fill(int slot, Bike bike) {
+        for (int s = 0; s < SPECS.length; s++) columns[s][slot] = SPECS[s].value.applyAsDouble(bike, prices);
+    }
+
+    // ── Ranking ────────────────────────────────────────────────────────────────
+
+    private void rank() {
+        int n = bikes.size();
+        for (int s = 0; s < SPECS.length; s++) {
+            best[s] = worst[s] = Double.NaN;               // NaN never compares equal
+            if (SPECS[s].better == Better.NEITHER) continue;
+
+            double[] col = columns[s];
+            double lo = Double.POSITIVE_INFINITY, hi = Double.NEGATIVE_INFINITY;
+            for (int i = 0; i < n; i++) {
+                if (col[i] < lo) lo = col[i];                 // NaN fails both tests
+                if (col[i] > hi) hi = col[i];
+            }
+            if (!(lo < hi)) continue;                       // fewer than two distinct values
+            boolean higher = SPECS[s].better == Better.HIGHER;
+            best[s]  = higher ? hi : lo;
+            worst[s] = higher ? lo : hi;
+        }
+    }
+}
@@ -0,0 +1,80 @@
+package com.jawa.showroom.service;
+
+/**
+ * Tunable settings for DataStore persistence and pricing.
+ * Each value can be overridden with a JVM system property, e.g.
+ *
+ *   java -Djawa.store.commitWindowMs=10 -Djawa.store.queueDepth=4096 ...
+ */
+public final class StoreConfig {
+
+    private StoreConfig() { /* Utility class – no instances */ }
+
+    /**
+     * How long (ms) the write-behind thread keeps collecting records after the
+     * first one arrives, before writing and fsyncing them as one group commit.
+     */
+    public static long commitWindowMs() {
+        return Long.getLong("jawa.store.commitWindowMs", 5L);
+    }
+
+    /** Maximum number of records waiting to be written before callers block. */
+    public static int queueDepth() {
+        return Integer.getInteger("jawa.store.queueDepth", 1024);
+    }
+
+    /**
+     * On-disk format for the bookings snapshot: "text" (bookings.dat, the
+     * default) or "binary" (bookings.bin, see BookingBinaryFormat).
+     */
+    public static boolean binaryBookings() {
+        return mappedBookings()
+                || "binary".equalsIgnoreCase(System.getProperty("jawa.store.bookingFormat", "text"));
+    }
+
+    /**
+     * When true, the bookings snapshot is memory-mapped and exposed as lazily
+     * decoded views instead of being loaded onto the heap. Implies the binary format.
+     */
+    public static boolean mappedBookings() {
+        return Boolean.getBoolean("jawa.store.mappedBookings");
+    }
+
+    /** When journal appends are forced to disk; see {@link #fsyncPolicy()}. */
+    public enum FsyncPolicy {
+        /** fsync every group commit; a completed save survives power loss (default). */
+        ALWAYS,
+        /** fsync at most once per {@link #fsyncIntervalMs()}; a crash can lose that window. */
+        INTERVAL,
+        /** Never fsync journals; the OS flushes when it likes. Survives process crashes only. */
+        NEVER
+    }
+
+    /**
+     * Journal fsync strategy ({@code jawa.store.fsync=always|interval|never}).
+     * Snapshot files are always fsynced before they replace the old ones.
+     */
+    public static FsyncPolicy fsyncPolicy() {
+        String v = System.getProperty("jawa.store.fsync", "always");
+        try {
+            return FsyncPolicy.valueOf(v.trim().toUpperCase());
+        } catch (IllegalArgumentException e) {
+            System.err.println("[DataStore] Unknown jawa.store.fsync '" + v + "', using ALWAYS");
+            return FsyncPolicy.ALWAYS;
+        }
+    }
+
+    /** Maximum time (ms) journal data stays un-fsynced under {@link FsyncPolicy#INTERVAL}. */
+    public static long fsyncIntervalMs() {
+        return Long.getLong("jawa.store.fsyncIntervalMs", 1000L);
+    }
+
+    /**
+     * The showroom's state code, whose RTO charges the bikes.dat figures are
+     * and which quotes default to ({@code jawa.store.homeState}, default MH).
+     */
+    public static String homeState() {
+        String v = System.getProperty("jawa.store.homeState", "MH").trim();
+        return v.isEmpty() ? "MH" : v.toUpperCase();
+    }
+}
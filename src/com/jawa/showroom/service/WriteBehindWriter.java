@@ -0,0 +1,175 @@
+package com.jawa.showroom.service;
+
+import java.io.IOException;
+import java.util.*;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * WriteBehindWriter moves journal I/O off the caller's thread.
+ *
+ * Records are placed on a bounded queue; a single writer thread waits for the
+ * first record, keeps collecting for the configured commit window, then writes
+ * the whole batch with one fsync per journal (group commit). Each caller gets
+ * a CompletableFuture that completes once its record is written; under the
+ * default fsync policy that also means durable on disk. With a relaxed policy
+ * the writer fsyncs lagging journals while idle and always before it exits.
+ *
+ * The writer thread is never interrupted: close() queues a sentinel behind the
+ * pending records, so an in-flight FileChannel write or force is not aborted.
+ */
+class WriteBehindWriter {
+
+    /** One queued record and the future to complete when it is on disk. */
+    private static final class PendingWrite {
+        final JournalFile journal;
+        final String      line;
+        final CompletableFuture<Void> done = new CompletableFuture<>();
+
+        PendingWrite(JournalFile journal, String line) {
+            this.journal = journal;
+            this.line    = line;
+        }
+    }
+
+    /** Queued by close(); everything ahead of it is written before the thread exits. */
+    private static final PendingWrite SHUTDOWN = new PendingWrite(null, null);
+
+    private final BlockingQueue<PendingWrite> queue;
+    private final Set<JournalFile> journals = new LinkedHashSet<>();   // writer thread only
+    private final long   commitWindowMs;
+    private final Thread writer;
+    private volatile boolean closed = false;
+
+    WriteBehindWriter(int queueDepth, long commitWindowMs) {
+        this.queue          = new ArrayBlockingQueue<>(queueDepth);
+        this.commitWindowMs = commitWindowMs;
+        this.writer         = new Thread(this::run, "datastore-writer");
+        this.writer.setDaemon(true);
+        this.writer.start();
+    }
+
+    /**
+     * Queues a record for the given journal. Blocks only if the queue is full.
+     *
+     * @return a future that completes when the record has been written (and
+     *         fsynced, under the default policy)
+     */
+    CompletableFuture<Void> submit(JournalFile journal, String line) {
+        PendingWrite w = new PendingWrite(journal, line);
+        if (closed) {
+            w.done.completeExceptionally(new IOException("DataStore writer is shut down"));
+            return w.done;
+        }
+        try {
+            queue.put(w);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            w.done.completeExceptionally(e);
+        }
+        return w.done;
+    }
+
+    /**
+     * Like {@link #submit}, but never blocks.
+     *
+     * @return the pending write, or null if the queue is full and nothing was queued
+     */
+    CompletableFuture<Void> offer(JournalFile journal, String line) {
+        PendingWrite w = new PendingWrite(journal, line);
+        if (closed) {
+            w.done.completeExceptionally(new IOException("DataStore writer is shut down"));
+            return w.done;
+        }
+        return queue.offer(w) ? w.done : null;
+    }
+
+    /**
+     * Stops accepting records, writes everything still queued and waits for
+     * the writer thread to finish. Safe to call more than once.
+     */
+    void close() {
+        try {
+            synchronized (this) {
+                if (!closed) {
+                    closed = true;
+                    queue.put(SHUTDOWN);
+                }
+            }
+            writer.join(TimeUnit.SECONDS.toMillis(10));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    // ── Writer Thread ──────────────────────────────────────────────────────────
+
+    private void run() {
+        List<PendingWrite> batch = new ArrayList<>();
+        boolean stopping = false;
+        while (!stopping) {
+            try {
+                PendingWrite first = queue.poll(100, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    syncIdle();
+                    continue;
+                }
+                if (first == SHUTDOWN) {
+                    stopping = true;
+                } else {
+                    batch.add(first);
+                    if (commitWindowMs > 0 && !closed) Thread.sleep(commitWindowMs);
+                }
+            } catch (InterruptedException e) {
+                // Not expected; close() never interrupts. Just write what we have.
+            }
+            queue.drainTo(batch);
+            if (batch.remove(SHUTDOWN)) stopping = true;
+            commit(batch);
+            batch.clear();
+        }
+        // Records that raced past the closed check land behind the sentinel
+        queue.drainTo(batch);
+        commit(batch);
+        for (JournalFile j : journals) {
+            try {
+                j.force();
+            } catch (IOException e) {
+                System.err.println("[DataStore] Final journal sync failed: " + e.getMessage());
+            }
+        }
+    }
+
+    private void syncIdle() {
+        for (JournalFile j : journals) {
+            try {
+                j.syncIfDue();
+            } catch (IOException e) {
+                System.err.println("[DataStore] Journal sync failed: " + e.getMessage());
+            }
+        }
+    }
+
+    /** Writes one batch, grouped per journal so each journal is fsynced once. */
+    private void commit(List<PendingWrite> batch) {
+        if (batch.isEmpty()) return;
+        Map<JournalFile, List<PendingWrite>> byJournal = new LinkedHashMap<>();
+        for (PendingWrite w : batch) {
+            byJournal.computeIfAbsent(w.journal, j -> new ArrayList<>()).add(w);
+        }
+        for (Map.Entry<JournalFile, List<PendingWrite>> e : byJournal.entrySet()) {
+            journals.add(e.getKey());
+            List<String> lines = new ArrayList<>(e.getValue().size());
+            for (PendingWrite w : e.getValue()) lines.add(w.line);
+            try {
+                e.getKey().appendAll(lines);
+                for (PendingWrite w : e.getValue()) w.done.complete(null);
+            } catch (IOException ex) {
+                System.err.println("[DataStore] Group commit failed: " + ex.getMessage());
+                for (PendingWrite w : e.getValue()) w.done.completeExceptionally(ex);
+            }
+        }
+    }
+}
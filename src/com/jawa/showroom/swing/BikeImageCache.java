@@ -0,0 +1,511 @@
+package com.jawa.showroom.swing;
+
+import javax.imageio.ImageIO;
+import javax.imageio.ImageReadParam;
+import javax.imageio.ImageReader;
+import javax.imageio.stream.ImageInputStream;
+import javax.swing.*;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.io.File;
+import java.io.IOException;
+import java.lang.ref.SoftReference;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.PriorityBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * BikeImageCache — bike photos, decoded once and kept as pre-scaled thumbnails.
+ *
+ * LEVELS:
+ *   1. Memory: a size-bounded LRU of thumbnails ({@code jawa.images.memoryMb},
+ *      default 48 MB). Thumbnails pushed out of it move to a soft-reference
+ *      overflow, which the GC may clear under memory pressure.
+ *   2. Disk: every thumbnail is also written as a PNG under
+ *      {@code jawa.images.cacheDir} (default data/image-cache), named by a
+ *      SHA-1 of the source file's path, size and modification time. A later
+ *      launch, or a thumbnail the GC has dropped, is served from there
+ *      without decoding the full-size JPEG again; an edited photo gets a new
+ *      name and is decoded afresh. {@link #prune} deletes thumbnails whose
+ *      name no longer matches any catalogue photo.
+ *
+ * Each source photo is decoded at most once per launch and scaled to every
+ * Variant in the same pass. {@link #get} never blocks and is what paint code
+ * calls; when it returns null, {@link #load} fetches the image on a small
+ * daemon pool, visible cards before prefetches, and calls back on the EDT.
+ * Photos that cannot be found are remembered so they are not looked up on
+ * every repaint. {@link #forget} drops both that and any thumbnails in
+ * memory once their bikes change.
+ *
+ * Hit and miss counts are kept in {@link #metrics()} and summarised once on
+ * exit instead of logging every lookup.
+ */
+final class BikeImageCache {
+
+    /** The sizes bikes are drawn at; a thumbnail just covers its box. */
+    enum Variant {
+        CARD(560, 145),         // catalogue card canvas
+        BANNER(720, 200);       // detail dialog banner
+
+        final int width, height;
+
+        Variant(int width, int height) {
+            this.width  = width;
+            this.height = height;
+        }
+    }
+
+    /** Cache counters, as a snapshot. */
+    record Metrics(long memoryHits, long softHits, long misses, long diskHits,
+                   long decodes, long notFound, long evictions, long memoryBytes) {
+        @Override public String toString() {
+            return "memory hits " + memoryHits + ", soft hits " + softHits + ", misses " + misses
+                    + ", disk hits " + diskHits + ", decodes " + decodes + ", not found " + notFound
+                    + ", evictions " + evictions + ", " + (memoryBytes >> 20) + " MB held";
+        }
+    }
+
+    /**
+     * Local bike image file paths mapped by bikeId.
+     * Place your image files in the "images/" folder next to the project root.
+     * Supported formats: .jpg, .jpeg, .png
+     *
+     * Expected filenames:
+     *   images/JW001.jpg  ->  Jawa 42 Standard
+     *   images/JW002.jpg  ->  Jawa 42 ABS
+     *   images/JW003.jpg  ->  Jawa Perak Bobber
+     *   images/JW004.jpg  ->  Jawa 300 Scrambler
+     *   images/JW005.jpg  ->  Jawa 42 FJ
+     *   images/JW006.jpg  ->  Jawa 350
+     *
+     * Bikes not listed here are looked up as images/<bikeId>.jpg.
+     */
+    private static final Map<String, String> BIKE_IMAGE_PATHS = new HashMap<>();
+    static {
+        BIKE_IMAGE_PATHS.put("JW001", "images/JW001.jpg");
+        BIKE_IMAGE_PATHS.put("JW002", "images/JW002.jpg");
+        BIKE_IMAGE_PATHS.put("JW003", "images/JW003.jpg");
+        BIKE_IMAGE_PATHS.put("JW004", "images/JW004.jpg");
+        BIKE_IMAGE_PATHS.put("JW005", "images/JW005.jpg");
+        BIKE_IMAGE_PATHS.put("JW006", "images/JW006.jpg");
+    }
+
+    private static final BikeImageCache SHARED = new BikeImageCache(
+            Integer.getInteger("jawa.images.memoryMb", 48) * (1L << 20),
+            new File(System.getProperty("jawa.images.cacheDir", "data" + File.separator + "image-cache")));
+    static {
+        Runtime.getRuntime().addShutdownHook(new Thread(
+                () -> System.err.println("[ImageCache] " + SHARED.metrics()), "image-cache-metrics"));
+    }
+
+    /** How soon a requested image is needed. */
+    enum Priority {
+        VISIBLE,                // painted right now
+        NEARBY                  // just outside the viewport; prefetch
+    }
+
+    private record Key(String bikeId, Variant variant) { }
+
+    /** Callbacks waiting on a bike, and its queued (or running) load. */
+    private static final class Pending {
+        final List<Runnable> callbacks = new ArrayList<>();
+        LoadTask task;
+    }
+
+    /** A queued load; ordered by priority, then most recent request first. */
+    private final class LoadTask implements Runnable, Comparable<LoadTask> {
+        final String   bikeId;
+        final Priority priority;
+        final long     seq;
+
+        LoadTask(String bikeId, Priority priority, long seq) {
+            this.bikeId   = bikeId;
+            this.priority = priority;
+            this.seq      = seq;
+        }
+
+        @Override public int compareTo(LoadTask o) {
+            int c = priority.compareTo(o.priority);
+            return c != 0 ? c : Long.compare(o.seq, seq);
+        }
+
+        @Override public void run() {
+            boolean ok = false;
+            try {
+                ok = produce(bikeId);
+            } catch (RuntimeException e) {
+                System.err.println("[ImageCache] Failed to load image for " + bikeId + ": " + e);
+            }
+            Pending done;
+            synchronized (BikeImageCache.this) {
+                done = inFlight.remove(bikeId);
+            }
+            if (ok && done != null) SwingUtilities.invokeLater(() -> done.callbacks.forEach(Runnable::run));
+        }
+    }
+
+    private final long maxBytes;
+    private final File diskDir;
+
+    // guarded by this
+    private final LinkedHashMap<Key, BufferedImage> lru = new LinkedHashMap<>(64, 0.75f, true);
+    private final Map<Key, SoftReference<BufferedImage>> overflow = new HashMap<>();
+    private final Map<String, Pending> inFlight = new HashMap<>();
+    private long bytes;
+
+    private final Set<String> notFound = ConcurrentHashMap.newKeySet();
+
+    private final PriorityBlockingQueue<Runnable> queue = new PriorityBlockingQueue<>();
+    private final ThreadPoolExecutor loader = new ThreadPoolExecutor(3, 3, 0, TimeUnit.MILLISECONDS, queue, r -> {
+        Thread t = new Thread(r, "image-loader");
+        t.setDaemon(true);
+        return t;
+    });
+    private final AtomicLong requests = new AtomicLong();
+
+    private final AtomicLong memoryHits = new AtomicLong(), softHits = new AtomicLong(),
+            misses = new AtomicLong(), diskHits = new AtomicLong(), decodes = new AtomicLong(),
+            notFoundCount = new AtomicLong(), evictions = new AtomicLong();
+
+    BikeImageCache(long maxBytes, File diskDir) {
+        this.maxBytes = maxBytes;
+        this.diskDir  = diskDir;
+    }
+
+    /** The application-wide cache. */
+    static BikeImageCache shared() {
+        return SHARED;
+    }
+
+    // ── Lookup ────────────────────────────────────────────────────────────────
+
+    /** The thumbnail if it is in memory, else null; never blocks on I/O. */
+    synchronized BufferedImage get(String bikeId, Variant variant) {
+        Key key = new Key(bikeId, variant);
+        BufferedImage img = lru.get(key);
+        if (img != null) {
+            memoryHits.incrementAndGet();
+            return img;
+        }
+        SoftReference<BufferedImage> ref = overflow.remove(key);
+        img = ref == null ? null : ref.get();
+        if (img != null) {
+            softHits.incrementAndGet();
+            putLocked(key, img);
+            return img;
+        }
+        misses.incrementAndGet();
+        return null;
+    }
+
+    /** True once a bike is known to have no photo; callers draw a placeholder. */
+    boolean isMissing(String bikeId) {
+        return notFound.contains(bikeId);
+    }
+
+    /** Loads a bike's thumbnails for something on screen now; see {@link #load(String, Priority, Runnable)}. */
+    void load(String bikeId, Runnable onReady) {
+        load(bikeId, Priority.VISIBLE, onReady);
+    }
+
+    /**
+     * Loads a bike's thumbnails in the background and runs {@code onReady} on
+     * the EDT when they are in memory. Concurrent requests for the same bike
+     * share one load; a bike without a photo never calls back.
+     *
+     * Queued loads run by priority, and within a priority newest first, so
+     * while the catalogue scrolls the cards now on screen overtake the ones
+     * scrolled past. Asking again for a queued bike moves it up.
+     */
+    void load(String bikeId, Priority priority, Runnable onReady) {
+        if (notFound.contains(bikeId)) return;
+        LoadTask task;
+        synchronized (this) {
+            Pending pending = inFlight.get(bikeId);
+            if (pending == null) {
+                pending = new Pending();
+                inFlight.put(bikeId, pending);
+            } else if (!queue.remove(pending.task)) {
+                pending.callbacks.add(onReady);             // already loading
+                return;
+            } else if (pending.task.priority.compareTo(priority) < 0) {
+                priority = pending.task.priority;           // never demote
+            }
+            pending.callbacks.add(onReady);
+            task = new LoadTask(bikeId, priority, requests.incrementAndGet());
+            pending.task = task;
+        }
+        loader.execute(task);
+    }
+
+    /**
+     * Forgets everything held in memory about these bikes: that they had no
+     * photo, and their thumbnails in the LRU and the soft overflow. The next
+     * request looks again and goes through the disk cache, whose names change
+     * with the photo; e.g. after a catalogue reload pointed a bike at a new
+     * image.
+     *
+     * @param bikeIds ids in any case (catalogue change sets are lowercase)
+     */
+    void forget(Collection<String> bikeIds) {
+        if (bikeIds.isEmpty()) return;
+        notFound.removeIf(id -> matches(bikeIds, id));
+        synchronized (this) {
+            Iterator<Map.Entry<Key, BufferedImage>> it = lru.entrySet().iterator();
+            while (it.hasNext()) {
+                Map.Entry<Key, BufferedImage> e = it.next();
+                if (!matches(bikeIds, e.getKey().bikeId())) continue;
+                bytes -= sizeOf(e.getValue());
+                it.remove();
+            }
+            overflow.keySet().removeIf(k -> matches(bikeIds, k.bikeId()));
+        }
+    }
+
+    private static boolean matches(Collection<String> bikeIds, String id) {
+        return bikeIds.contains(id) || bikeIds.contains(id.toLowerCase());
+    }
+
+    /**
+     * Deletes, on a background thread, every thumbnail on disk that does not
+     * belong to the current photo of one of these bikes: photos that were
+     * edited, moved or removed, and bikes no longer in the catalogue.
+     */
+    void prune(Collection<String> bikeIds) {
+        List<String> ids = List.copyOf(bikeIds);
+        Thread t = new Thread(() -> pruneDisk(ids), "image-cache-prune");
+        t.setDaemon(true);
+        t.start();
+    }
+
+    Metrics metrics() {
+        long held;
+        synchronized (this) {
+            held = bytes;
+        }
+        return new Metrics(memoryHits.get(), softHits.get(), misses.get(), diskHits.get(),
+                decodes.get(), notFoundCount.get(), evictions.get(), held);
+    }
+
+    // ── Memory level ──────────────────────────────────────────────────────────
+
+    private void putLocked(Key key, BufferedImage img) {
+        BufferedImage old = lru.put(key, img);
+        if (old != null) bytes -= sizeOf(old);
+        bytes += sizeOf(img);
+        Iterator<Map.Entry<Key, BufferedImage>> it = lru.entrySet().iterator();
+        while (bytes > maxBytes && lru.size() > 1 && it.hasNext()) {
+            Map.Entry<Key, BufferedImage> eldest = it.next();
+            if (eldest.getKey().equals(key)) continue;
+            it.remove();
+            bytes -= sizeOf(eldest.getValue());
+            overflow.put(eldest.getKey(), new SoftReference<>(eldest.getValue()));
+            evictions.incrementAndGet();
+        }
+        overflow.values().removeIf(r -> r.get() == null);
+    }
+
+    private static long sizeOf(BufferedImage img) {
+        return (long) img.getWidth() * img.getHeight() * 4;
+    }
+
+    // ── Loading ───────────────────────────────────────────────────────────────
+
+    /** Fills every variant from disk, decoding the photo only if one is missing. */
+    private boolean produce(String bikeId) {
+        File source = resolveFile(BIKE_IMAGE_PATHS.getOrDefault(bikeId, "images/" + bikeId + ".jpg"));
+        if (source == null) {
+            notFound.add(bikeId);
+            notFoundCount.incrementAndGet();
+            return false;
+        }
+
+        String digest = digest(source);
+        Map<Variant, BufferedImage> thumbs = new EnumMap<>(Variant.class);
+        for (Variant v : Variant.values()) {
+            BufferedImage t = readThumbnail(diskFile(digest, v));
+            if (t != null) {
+                thumbs.put(v, t);
+                diskHits.incrementAndGet();
+            }
+        }
+
+        if (thumbs.size() < Variant.values().length) {
+            BufferedImage full;
+            try {
+                full = readImageRobust(source);
+            } catch (IOException e) {
+                System.err.println("[ImageCache] Cannot read " + source + ": " + e.getMessage());
+                full = null;
+            }
+            if (full == null) {
+                notFound.add(bikeId);
+                notFoundCount.incrementAndGet();
+                return false;
+            }
+            decodes.incrementAndGet();
+            for (Variant v : Variant.values()) {
+                if (thumbs.containsKey(v)) continue;
+                BufferedImage t = scaleToCover(full, v.width, v.height);
+                thumbs.put(v, t);
+                writeThumbnail(diskFile(digest, v), t);
+            }
+        }
+
+        synchronized (this) {
+            thumbs.forEach((v, t) -> putLocked(new Key(bikeId, v), t));
+        }
+        return true;
+    }
+
+    /**
+     * Scales an image so it just covers a box, keeping its aspect ratio; never
+     * enlarges. Large reductions halve step by step with bilinear filtering,
+     * which looks as good as one bicubic pass at a fraction of the cost.
+     */
+    static BufferedImage scaleToCover(BufferedImage src, int boxW, int boxH) {
+        double scale = Math.min(1, Math.max((double) boxW / src.getWidth(), (double) boxH / src.getHeight()));
+        int tw = Math.max(1, (int) Math.round(src.getWidth()  * scale));
+        int th = Math.max(1, (int) Math.round(src.getHeight() * scale));
+
+        BufferedImage cur = src;
+        int w = src.getWidth(), h = src.getHeight();
+        do {
+            w = Math.max(tw, w / 2);
+            h = Math.max(th, h / 2);
+            BufferedImage next = new BufferedImage(w, h, BufferedImage.TYPE_INT_RGB);
+            Graphics2D g = next.createGraphics();
+            g.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+            g.drawImage(cur, 0, 0, w, h, null);
+            g.dispose();
+            cur = next;
+        } while (w != tw || h != th);
+        return cur;
+    }
+
+    // ── Disk level ────────────────────────────────────────────────────────────
+
+    /** SHA-1 of path, size and mtime: a changed photo never matches an old thumbnail. */
+    private static String digest(File source) {
+        try {
+            MessageDigest md = MessageDigest.getInstance("SHA-1");
+            md.update((source.getAbsolutePath() + "|" + source.length() + "|" + source.lastModified())
+                    .getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(md.digest());
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);         // every JRE has SHA-1
+        }
+    }
+
+    private void pruneDisk(List<String> bikeIds) {
+        Set<String> keep = new HashSet<>();
+        for (String id : bikeIds) {
+            File source = resolveFile(BIKE_IMAGE_PATHS.getOrDefault(id, "images/" + id + ".jpg"));
+            if (source != null) keep.add(digest(source));
+        }
+        File[] files = diskDir.listFiles((dir, name) -> name.endsWith(".png"));
+        if (files == null) return;
+        int removed = 0;
+        for (File f : files) {
+            int dash = f.getName().indexOf('-');
+            if (dash > 0 && keep.contains(f.getName().substring(0, dash))) continue;
+            if (f.delete()) removed++;
+        }
+        if (removed > 0) System.err.println("[ImageCache] Pruned " + removed + " stale thumbnails");
+    }
+
+    private File diskFile(String digest, Variant v) {
+        return new File(diskDir, digest + "-" + v.name().toLowerCase() + "-" + v.width + "x" + v.height + ".png");
+    }
+
+    private static BufferedImage readThumbnail(File file) {
+        if (!file.isFile()) return null;
+        try {
+            return ImageIO.read(file);
+        } catch (IOException e) {
+            System.err.println("[ImageCache] Ignoring unreadable thumbnail " + file.getName());
+            return null;
+        }
+    }
+
+    /** Best effort: a thumbnail that cannot be written is simply rebuilt next time. */
+    private void writeThumbnail(File file, BufferedImage img) {
+        try {
+            Files.createDirectories(diskDir.toPath());
+            File tmp = new File(diskDir, file.getName() + ".tmp");
+            ImageIO.write(img, "png", tmp);
+            Files.move(tmp.toPath(), file.toPath(),
+                    StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            System.err.println("[ImageCache] Cannot write thumbnail " + file.getName() + ": " + e.getMessage());
+        }
+    }
+
+    // ── Source photos ─────────────────────────────────────────────────────────
+
+    /** Tries absolute → project-root-relative → cwd-relative. Returns null if not found. */
+    private static File resolveFile(String filePath) {
+        // 1. Absolute
+        File f = new File(filePath);
+        if (f.isAbsolute()) return f.isFile() ? f : null;
+
+        // 2. Relative to project root (Eclipse: bin/../  or  JAR dir)
+        try {
+            java.net.URL loc = BikeImageCache.class.getProtectionDomain().getCodeSource().getLocation();
+            File root = new File(loc.toURI()).getParentFile();
+            File fromRoot = new File(root, filePath);
+            if (fromRoot.isFile()) return fromRoot;
+        } catch (Exception ignored) {}
+
+        // 3. Relative to working directory
+        File fromCwd = new File(System.getProperty("user.dir"), filePath);
+        return fromCwd.isFile() ? fromCwd : null;
+    }
+
+    /**
+     * Robust image reader that handles CMYK JPEGs and ICC profile issues.
+     * ImageIO.read() silently returns null for CMYK JPEGs — this method fixes that.
+     */
+    private static BufferedImage readImageRobust(File file) throws IOException {
+        // First try standard ImageIO (works for sRGB JPEG, PNG, BMP, GIF)
+        BufferedImage img = ImageIO.read(file);
+        if (img != null) return img;
+
+        // ImageIO returned null — likely a CMYK JPEG or ICC profile issue.
+        // Fall back to reading raw bytes via ImageInputStream and manual conversion.
+        try (ImageInputStream iis = ImageIO.createImageInputStream(file)) {
+            if (iis == null) return null;
+            Iterator<ImageReader> readers = ImageIO.getImageReaders(iis);
+            if (!readers.hasNext()) return null;
+
+            ImageReader reader = readers.next();
+            reader.setInput(iis, true, true); // ignoreMetadata = true  ← key for bad ICC profiles
+
+            ImageReadParam param = reader.getDefaultReadParam();
+            img = reader.read(0, param);
+            reader.dispose();
+
+            if (img == null) return null;
+
+            // If it came back as TYPE_BYTE (CMYK), convert to standard RGB
+            if (img.getType() == BufferedImage.TYPE_BYTE_INDEXED
+                    || img.getColorModel().getNumComponents() == 4) {
+                BufferedImage rgb = new BufferedImage(img.getWidth(), img.getHeight(), BufferedImage.TYPE_INT_RGB);
+                Graphics2D g = rgb.createGraphics();
+                g.drawImage(img, 0, 0, null);
+                g.dispose();
+                img = rgb;
+            }
+            return img;
+        }
+    }
+}
@@ -1,33 +1,57 @@
 package com.jawa.showroom.swing;
 
 import com.jawa.showroom.model.Bike;
+import com.jawa.showroom.model.BikeSpecs;
 import com.jawa.showroom.model.Booking;
+import com.jawa.showroom.model.PriceQuote;
 import com.jawa.showroom.model.User;
+import com.jawa.showroom.service.BikeCatalog;
 import com.jawa.showroom.service.BookingService;
+import com.jawa.showroom.service.CatalogIndex;
 import com.jawa.showroom.service.DataStore;
+import com.jawa.showroom.service.PriceBook;
 import com.jawa.showroom.util.FormatUtil;
 
-import javax.imageio.ImageIO;
 import javax.swing.*;
 import javax.swing.border.*;
 import java.awt.*;
 import java.awt.event.*;
+import java.awt.geom.AffineTransform;
 import java.awt.image.BufferedImage;
 import java.io.File;
-import java.util.HashMap;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.EnumMap;
 import java.util.List;
 import java.util.Map;
-import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
+import java.util.Set;
 
 /**
  * BikeListPanel — displays the Jawa catalogue as interactive cards
- * with REAL bike images loaded asynchronously from the web.
+ * with REAL bike images loaded asynchronously from the images/ folder.
  * Falls back to a beautiful painted silhouette if images cannot load.
  *
  * IMAGE STRATEGY:
- *   Images are fetched on a background thread pool so the UI never blocks.
- *   Each card's canvas repaints once its image is ready.
+ *   Photos come from BikeImageCache as thumbnails pre-scaled for the card
+ *   and the detail banner. A canvas that paints before its thumbnail is in
+ *   memory asks the cache to load it and repaints when it is ready.
+ *
+ * VIRTUAL GRID:
+ *   Cards live in a VirtualCardGrid, which only has cards for the rows in
+ *   and next to the viewport and rebinds them to other bikes as the user
+ *   scrolls, so thousands of bikes cost a screenful of components. Photos
+ *   load when a card is bound (as a prefetch) or painted (visible, first).
+ *
+ * LIVE CATALOGUE:
+ *   While showing, the panel listens for bikes.dat reloads; cards showing
+ *   bikes that were added, removed or edited are rebound, the others are
+ *   left as they are.
+ *
+ * FILTERS:
+ *   The header holds facet filters (model, variant, colour, brakes, cooling,
+ *   price, ground clearance) answered by the catalogue's CatalogIndex. Each
+ *   option shows how many bikes it would leave, and changing a filter only
+ *   rebinds the cards on screen.
  */
 public class BikeListPanel extends JPanel {
 
@@ -36,35 +60,59 @@ public class BikeListPanel extends JPanel {
     private final User            currentUser;
     private final DashboardFrame  dashboard;
 
-    /** Cache of loaded images, keyed by bikeId */
-    private final Map<String, BufferedImage> imageCache = new HashMap<>();
+    /** Pre-scaled bike photos, shared with every other view */
+    private final BikeImageCache images = BikeImageCache.shared();
 
-    /** Thread pool for async image loading */
-    private final ExecutorService imageLoader = Executors.newFixedThreadPool(3);
+    /** The virtualised card grid; it holds cards only for rows near the viewport */
+    private VirtualCardGrid<BikeCard> grid;
 
-    /**
-     * Local bike image file paths mapped by bikeId.
-     * Place your image files in the "images/" folder next to the project root.
-     * Supported formats: .jpg, .jpeg, .png
-     *
-     * Expected filenames:
-     *   images/JW001.jpg  ->  Jawa 42 Standard
-     *   images/JW002.jpg  ->  Jawa 42 ABS
-     *   images/JW003.jpg  ->  Jawa Perak Bobber
-     *   images/JW004.jpg  ->  Jawa 300 Scrambler
-     *   images/JW005.jpg  ->  Jawa 42 FJ
-     *   images/JW006.jpg  ->  Jawa 350
-     */
-    private static final Map<String, String> BIKE_IMAGE_PATHS = new HashMap<>();
-    static {
-        BIKE_IMAGE_PATHS.put("JW001", "images/JW001.jpg");
-        BIKE_IMAGE_PATHS.put("JW002", "images/JW002.jpg");
-        BIKE_IMAGE_PATHS.put("JW003", "images/JW003.jpg");
-        BIKE_IMAGE_PATHS.put("JW004", "images/JW004.jpg");
-        BIKE_IMAGE_PATHS.put("JW005", "images/JW005.jpg");
-        BIKE_IMAGE_PATHS.put("JW006", "images/JW006.jpg");
+    /** Filter controls; {@code updatingFilters} mutes their events while counts are refreshed */
+    private final Map<CatalogIndex.Facet, JComboBox<FacetChoice>> facetBoxes = new EnumMap<>(CatalogIndex.Facet.class);
+    private JSpinner maxPriceSpinner;
+    private JSpinner minClearanceSpinner;
+    private JComboBox<SortChoice> sortBox;
+    private JLabel   resultLabel;
+    private boolean  updatingFilters;
+
+    /** Catalogue reloads arrive on the watcher thread; cards change on the EDT */
+    private final BikeCatalog.Listener catalogListener =
+            (previous, current, changedIds) -> SwingUtilities.invokeLater(() -> refreshCards(changedIds));
+
+    /** A pricing.dat reload can change every price, so every card re-renders */
+    private final PriceBook.Listener pricingListener =
+            current -> SwingUtilities.invokeLater(this::repriceCards);
+
+    /** Grid orderings; specs compare as parsed doubles (see BikeSpecs) */
+    private record SortChoice(String label, Comparator<Bike> order) {
+        @Override public String toString() { return label; }
+    }
+
+    /** Instance-level: the price order reads today's quotes from the current price book */
+    private final SortChoice[] sortChoices = {
+        new SortChoice("Catalogue order",   null),
+        new SortChoice("Price: low to high", Comparator.comparingDouble(this::onRoadPrice)),
+        new SortChoice("Power: highest",     BikeSpecs.descending(BikeSpecs::getPowerPs)),
+        new SortChoice("Torque: highest",    BikeSpecs.descending(BikeSpecs::getTorqueNm)),
+        new SortChoice("Mileage: best",      BikeSpecs.descending(BikeSpecs::getMileageKmpl)),
+        new SortChoice("Weight: lightest",   BikeSpecs.BY_KERB_WEIGHT),
+        new SortChoice("Seat: lowest",       BikeSpecs.BY_SEAT_HEIGHT),
+    };
+
+    /** Today's quoted on-road price, the figure the cards show */
+    private double onRoadPrice(Bike b) {
+        return dataStore.getPriceBook().quote(b).getOnRoadPrice();
+    }
+
+    /** One combo entry: a facet value (null = any) and the matches it would give */
+    private record FacetChoice(String value, int count) {
+        @Override public String toString() {
+            return value == null ? "Any" : value + "  (" + count + ")";
+        }
     }
 
+    /** Open comparison window, if any; cards and the detail dialog add to it */
+    private CompareDialog compareDialog;
+
     public BikeListPanel(DataStore dataStore, BookingService bookingService,
                          User currentUser, DashboardFrame dashboard) {
         this.dataStore      = dataStore;
@@ -103,320 +151,481 @@ public class BikeListPanel extends JPanel {
         header.add(Box.createVerticalStrut(6));
         header.add(sub);
         header.add(Box.createVerticalStrut(12));
+        header.add(buildFilterBar());
+        header.add(Box.createVerticalStrut(8));
         header.add(AppTheme.redSeparator());
         add(header, BorderLayout.NORTH);
 
         // Bike Grid
-        JPanel grid = new JPanel(new GridLayout(0, 2, 16, 16));
+        grid = new VirtualCardGrid<>(new VirtualCardGrid.CardBinder<>() {
+            @Override public BikeCard create()                  { return new BikeCard(); }
+            @Override public void bind(BikeCard card, Bike bike) { card.bind(bike); }
+            @Override public void rebase(BikeCard card, Bike bike) { card.rebase(bike); }
+        }, 2, 16, 16);
         grid.setBackground(AppTheme.BG_DARK);
         grid.setBorder(new EmptyBorder(20, 32, 32, 32));
-
-        List<Bike> bikes = dataStore.getAvailableBikes();
-        for (Bike b : bikes) {
-            grid.add(buildBikeCard(b));
-        }
+        applyFilters();
+        images.prune(bikeIds());
 
         JScrollPane scroll = new JScrollPane(grid);
         scroll.setBorder(null);
         scroll.getViewport().setBackground(AppTheme.BG_DARK);
         scroll.setBackground(AppTheme.BG_DARK);
-        scroll.getVerticalScrollBar().setUnitIncrement(20);
         add(scroll, BorderLayout.CENTER);
     }
 
-    // ── Bike Card with Real Image ─────────────────────────────────────────────
+    // ── Live Catalogue ────────────────────────────────────────────────────────
 
-    private JPanel buildBikeCard(Bike bike) {
-        JPanel card = new JPanel();
-        card.setLayout(new BoxLayout(card, BoxLayout.Y_AXIS));
-        card.setBackground(AppTheme.BG_CARD);
-        card.setBorder(new LineBorder(AppTheme.BORDER_SUBTLE, 1, true));
-        card.setCursor(Cursor.getPredefinedCursor(Cursor.HAND_CURSOR));
-
-        // Colour accent stripe at top
-        JPanel stripe = new JPanel();
-        stripe.setBackground(modelColor(bike.getModelName()));
-        stripe.setPreferredSize(new Dimension(0, 5));
-        stripe.setMaximumSize(new Dimension(Integer.MAX_VALUE, 5));
-        card.add(stripe);
-
-        // ── Image canvas — shows real photo or painted silhouette ──────────────
-        JPanel canvas = new JPanel() {
-            @Override
-            protected void paintComponent(Graphics g) {
-                super.paintComponent(g);
-                Graphics2D g2 = (Graphics2D) g;
-                g2.setRenderingHint(RenderingHints.KEY_ANTIALIASING,       RenderingHints.VALUE_ANTIALIAS_ON);
-                g2.setRenderingHint(RenderingHints.KEY_RENDERING,          RenderingHints.VALUE_RENDER_QUALITY);
-                g2.setRenderingHint(RenderingHints.KEY_INTERPOLATION,      RenderingHints.VALUE_INTERPOLATION_BICUBIC);
+    @Override
+    public void addNotify() {
+        super.addNotify();
+        dataStore.addCatalogListener(catalogListener);
+        dataStore.addPricingListener(pricingListener);
+    }
 
-                BufferedImage img = imageCache.get(bike.getBikeId());
+    @Override
+    public void removeNotify() {
+        dataStore.removeCatalogListener(catalogListener);
+        dataStore.removePricingListener(pricingListener);
+        if (compareDialog != null) compareDialog.dispose();
+        super.removeNotify();
+    }
 
-                if (img != null) {
-                    // ── Draw the real bike photo ──────────────────────────────
-                    // Scale to fill canvas while maintaining aspect ratio (cover)
-                    int iw = img.getWidth(), ih = img.getHeight();
-                    int cw = getWidth(), ch = getHeight();
-                    double scale = Math.max((double) cw / iw, (double) ch / ih);
-                    int dw = (int) (iw * scale), dh = (int) (ih * scale);
-                    int dx = (cw - dw) / 2,      dy = (ch - dh) / 2;
+    /**
+     * Re-applies the filters to the new catalogue. Only cards showing a bike
+     * in {@code changedIds}, or whose slot now holds another bike, re-render;
+     * the rest are just pointed at the reloaded Bike objects. Changed bikes
+     * get another look for their photo, and stale thumbnails are pruned.
+     */
+    private void refreshCards(Set<String> changedIds) {
+        images.forget(changedIds);
+        applyFilters(changedIds);
+        images.prune(bikeIds());
+    }
 
-                    // Dark overlay for consistent text readability
-                    g2.drawImage(img, dx, dy, dw, dh, null);
-                    GradientPaint fade = new GradientPaint(
-                            0, 0,  new Color(24, 24, 34, 40),
-                            0, ch, new Color(24, 24, 34, 180));
-                    g2.setPaint(fade);
-                    g2.fillRect(0, 0, cw, ch);
+    private List<String> bikeIds() {
+        List<String> ids = new ArrayList<>();
+        for (Bike b : dataStore.getAllBikes()) ids.add(b.getBikeId());
+        return ids;
+    }
 
-                    // Model name watermark over image
-                    g2.setFont(new Font("SansSerif", Font.BOLD, 11));
-                    g2.setColor(new Color(255, 255, 255, 140));
-                    String tag = bike.getModelName().toUpperCase();
-                    g2.drawString(tag, 10, ch - 10);
+    /** Re-filters and re-sorts on the new quotes, then re-renders every card on show. */
+    private void repriceCards() {
+        applyFilters();
+        grid.rebindAll();
+    }
 
-                } else {
-                    // ── Fallback: painted silhouette while image loads ─────────
-                    drawBikeSilhouette(g2, getWidth(), getHeight(), modelColor(bike.getModelName()));
+    // ── Filters ───────────────────────────────────────────────────────────────
+
+    private JPanel buildFilterBar() {
+        JPanel bar = new JPanel(new FlowLayout(FlowLayout.LEFT, 8, 4));
+        bar.setBackground(AppTheme.BG_DARK);
+        bar.setAlignmentX(Component.LEFT_ALIGNMENT);
+
+        for (CatalogIndex.Facet facet : CatalogIndex.Facet.values()) {
+            JComboBox<FacetChoice> box = new JComboBox<>();
+            box.setFont(AppTheme.FONT_SMALL);
+            box.setBackground(AppTheme.BG_INPUT);
+            box.setForeground(AppTheme.TEXT_PRIMARY);
+            box.addActionListener(e -> { if (!updatingFilters) applyFilters(); });
+            facetBoxes.put(facet, box);
+            bar.add(filterLabel(facet.label()));
+            bar.add(box);
+        }
 
-                    // "Loading..." indicator
-                    g2.setFont(AppTheme.FONT_SMALL);
-                    g2.setColor(new Color(255, 255, 255, 80));
-                    g2.drawString("Loading image...", 10, getHeight() - 10);
-                }
-            }
-        };
-        canvas.setBackground(new Color(20, 20, 30));
-        canvas.setPreferredSize(new Dimension(0, 145));
-        canvas.setMaximumSize(new Dimension(Integer.MAX_VALUE, 145));
-        card.add(canvas);
-
-        // Kick off async image loading for this bike
-        loadImageAsync(bike.getBikeId(), canvas);
-
-        // ── Info section ──────────────────────────────────────────────────────
-        JPanel info = new JPanel();
-        info.setLayout(new BoxLayout(info, BoxLayout.Y_AXIS));
-        info.setBackground(AppTheme.BG_CARD);
-        info.setBorder(new EmptyBorder(14, 18, 18, 18));
-
-        JLabel modelName = new JLabel(bike.getModelName());
-        modelName.setFont(AppTheme.FONT_HEADING);
-        modelName.setForeground(AppTheme.TEXT_PRIMARY);
-        modelName.setAlignmentX(Component.LEFT_ALIGNMENT);
-
-        JLabel variant = new JLabel(bike.getVariant() + "  •  " + bike.getColor());
-        variant.setFont(AppTheme.FONT_SMALL);
-        variant.setForeground(AppTheme.TEXT_SECONDARY);
-        variant.setAlignmentX(Component.LEFT_ALIGNMENT);
-
-        JSeparator sep = new JSeparator();
-        sep.setForeground(AppTheme.BORDER_SUBTLE);
-        sep.setMaximumSize(new Dimension(Integer.MAX_VALUE, 1));
-
-        // Price row
-        JPanel priceRow = new JPanel(new BorderLayout());
-        priceRow.setBackground(AppTheme.BG_CARD);
-        priceRow.setMaximumSize(new Dimension(Integer.MAX_VALUE, 50));
-
-        JPanel priceLeft = new JPanel();
-        priceLeft.setLayout(new BoxLayout(priceLeft, BoxLayout.Y_AXIS));
-        priceLeft.setBackground(AppTheme.BG_CARD);
-        JLabel exLabel = AppTheme.subLabel("Ex-Showroom");
-        exLabel.setFont(AppTheme.FONT_SMALL);
-        JLabel exPrice = new JLabel(FormatUtil.formatINR(bike.getExShowroomPrice()));
-        exPrice.setFont(AppTheme.FONT_SUBHEAD);
-        exPrice.setForeground(AppTheme.TEXT_PRIMARY);
-        priceLeft.add(exLabel);
-        priceLeft.add(exPrice);
-
-        JPanel priceRight = new JPanel();
-        priceRight.setLayout(new BoxLayout(priceRight, BoxLayout.Y_AXIS));
-        priceRight.setBackground(AppTheme.BG_CARD);
-        JLabel onRoadLabel = AppTheme.subLabel("On-Road");
-        onRoadLabel.setFont(AppTheme.FONT_SMALL);
-        onRoadLabel.setAlignmentX(Component.RIGHT_ALIGNMENT);
-        JLabel onRoadPrice = new JLabel(FormatUtil.formatINR(bike.getOnRoadPrice()));
-        onRoadPrice.setFont(new Font("SansSerif", Font.BOLD, 15));
-        onRoadPrice.setForeground(AppTheme.ACCENT_GOLD);
-        onRoadPrice.setAlignmentX(Component.RIGHT_ALIGNMENT);
-        priceRight.add(onRoadLabel);
-        priceRight.add(onRoadPrice);
-
-        priceRow.add(priceLeft,  BorderLayout.WEST);
-        priceRow.add(priceRight, BorderLayout.EAST);
-
-        // Spec chips
-        JPanel chips = new JPanel(new FlowLayout(FlowLayout.LEFT, 6, 0));
-        chips.setBackground(AppTheme.BG_CARD);
-        chips.setMaximumSize(new Dimension(Integer.MAX_VALUE, 32));
-        chips.add(chip(bike.getEngineCC()));
-        chips.add(chip(bike.getTransmission()));
-        chips.add(chip(bike.getMileage()));
-
-        // CTA button
-        JButton viewBtn = AppTheme.primaryButton("View Details & Book  →");
-        viewBtn.setAlignmentX(Component.LEFT_ALIGNMENT);
-        viewBtn.setMaximumSize(new Dimension(Integer.MAX_VALUE, 40));
-        viewBtn.addActionListener(e -> openDetailDialog(bike));
-
-        info.add(modelName);
-        info.add(Box.createVerticalStrut(3));
-        info.add(variant);
-        info.add(Box.createVerticalStrut(10));
-        info.add(sep);
-        info.add(Box.createVerticalStrut(10));
-        info.add(priceRow);
-        info.add(Box.createVerticalStrut(8));
-        info.add(chips);
-        info.add(Box.createVerticalStrut(14));
-        info.add(viewBtn);
-
-        card.add(info);
-
-        // Hover border effect
-        MouseAdapter hover = new MouseAdapter() {
-            public void mouseEntered(MouseEvent e) {
-                card.setBorder(new LineBorder(AppTheme.ACCENT_RED, 1, true));
-            }
-            public void mouseExited(MouseEvent e) {
-                card.setBorder(new LineBorder(AppTheme.BORDER_SUBTLE, 1, true));
-            }
-            public void mouseClicked(MouseEvent e) { openDetailDialog(bike); }
-        };
-        card.addMouseListener(hover);
-        canvas.addMouseListener(hover);
+        maxPriceSpinner     = AppTheme.spinner(0, 10_000_000, 10_000, 0);
+        minClearanceSpinner = AppTheme.spinner(0, 400, 5, 0);
+        maxPriceSpinner.setPreferredSize(new Dimension(110, 28));
+        minClearanceSpinner.setPreferredSize(new Dimension(70, 28));
+        maxPriceSpinner.addChangeListener(e -> applyFilters());
+        minClearanceSpinner.addChangeListener(e -> applyFilters());
+        bar.add(filterLabel("Max on-road ₹ (0 = any)"));
+        bar.add(maxPriceSpinner);
+        bar.add(filterLabel("Min clearance mm"));
+        bar.add(minClearanceSpinner);
+
+        sortBox = new JComboBox<>(sortChoices);
+        sortBox.setFont(AppTheme.FONT_SMALL);
+        sortBox.setBackground(AppTheme.BG_INPUT);
+        sortBox.setForeground(AppTheme.TEXT_PRIMARY);
+        sortBox.addActionListener(e -> applyFilters());
+        bar.add(filterLabel("Sort"));
+        bar.add(sortBox);
+
+        JButton clear = AppTheme.linkButton("Clear filters");
+        clear.addActionListener(e -> clearFilters());
+        bar.add(clear);
+
+        resultLabel = AppTheme.subLabel("");
+        resultLabel.setFont(AppTheme.FONT_SMALL);
+        bar.add(resultLabel);
+
+        // FlowLayout wraps, so let the bar grow vertically but never wider than the header
+        bar.setMaximumSize(new Dimension(Integer.MAX_VALUE, Integer.MAX_VALUE));
+        return bar;
+    }
 
-        return card;
+    private JLabel filterLabel(String text) {
+        JLabel l = new JLabel(text);
+        l.setFont(AppTheme.FONT_SMALL);
+        l.setForeground(AppTheme.TEXT_SECONDARY);
+        return l;
     }
 
-    // ── Async Image Loading ───────────────────────────────────────────────────
+    private void clearFilters() {
+        updatingFilters = true;
+        try {
+            for (JComboBox<FacetChoice> box : facetBoxes.values()) {
+                if (box.getItemCount() > 0) box.setSelectedIndex(0);
+            }
+            maxPriceSpinner.setValue(0.0);
+            minClearanceSpinner.setValue(0.0);
+        } finally {
+            updatingFilters = false;
+        }
+        applyFilters();
+    }
 
-    /**
-    /**
-     * Loads the bike image from the local filesystem on a background thread.
-     * Path is relative to the working directory (i.e., the project root folder).
-     * If the file is missing, the painted silhouette fallback is shown -- no crash.
-     */
-    private void loadImageAsync(String bikeId, JPanel canvas) {
-        if (imageCache.containsKey(bikeId)) {
-            System.out.println("[IMG] Cache hit for: " + bikeId);
-            return;
+    private CatalogIndex.Filter currentFilter() {
+        CatalogIndex.Filter f = new CatalogIndex.Filter().availableOnly(true);
+        for (Map.Entry<CatalogIndex.Facet, JComboBox<FacetChoice>> e : facetBoxes.entrySet()) {
+            FacetChoice c = (FacetChoice) e.getValue().getSelectedItem();
+            if (c != null && c.value() != null) f.facet(e.getKey(), c.value());
         }
-        System.out.println("[IMG] Queuing load for: " + bikeId);
-
-        imageLoader.submit(() -> {
-            String path = BIKE_IMAGE_PATHS.get(bikeId);
-            System.out.println("[IMG] Loading " + bikeId + " from path: " + path);
-            BufferedImage img = tryLoadLocalImage(path);
-            if (img != null) {
-                imageCache.put(bikeId, img);
-                System.out.println("[IMG] SUCCESS cached: " + bikeId);
-                SwingUtilities.invokeLater(canvas::repaint);
-            } else {
-                System.out.println("[IMG] FAILED (silhouette shown): " + bikeId);
-            }
-        });
+        double maxPrice     = ((Number) maxPriceSpinner.getValue()).doubleValue();
+        double minClearance = ((Number) minClearanceSpinner.getValue()).doubleValue();
+        if (maxPrice > 0)     f.price(Double.NEGATIVE_INFINITY, maxPrice);
+        if (minClearance > 0) f.clearance(minClearance, Double.POSITIVE_INFINITY);
+        return f;
     }
 
     /**
-     * Reads a BufferedImage from a local file path.
-     *
-     * Resolution order (first match wins):
-     *   1. Absolute path as-is  (e.g. "C:/pics/JW001.jpg")
-     *   2. Relative to the JAR / .class file location (Eclipse project root)
-     *   3. Relative to System working directory (fallback)
-     */
-    /**
-     * Resolves a file path (absolute or relative) and reads it as a BufferedImage.
-     * Uses a robust JPEG-safe reader that handles:
-     *   - CMYK colour profiles  (common in photos saved from Photoshop / phones)
-     *   - ICC profile mismatches that make ImageIO.read() return null silently
-     *   - Standard sRGB JPEGs, PNGs, BMPs, etc.
-     *
-     * Resolution order: absolute path → project root (bin/../) → user.dir
+     * Queries the index with the current filters, sorts the matches, hands
+     * them to the grid (which only rebinds the cards on screen) and refreshes
+     * the option counts.
      */
-    private BufferedImage tryLoadLocalImage(String filePath) {
-        if (filePath == null) return null;
+    private void applyFilters() {
+        applyFilters(Set.of());
+    }
+
+    private void applyFilters(Set<String> changedIds) {
+        if (updatingFilters) return;
+        CatalogIndex index = dataStore.getCatalog().index(dataStore.getPriceBook());
+        CatalogIndex.Result result = index.query(currentFilter());
+
+        List<Bike> bikes = result.bikes();
+        Comparator<Bike> order = ((SortChoice) sortBox.getSelectedItem()).order();
+        if (order != null) bikes.sort(order);
+
+        grid.setBikes(bikes, changedIds);
+
+        updatingFilters = true;
         try {
-            java.io.File file = resolveFile(filePath);
-            if (file == null) {
-                System.out.println("[IMG] NOT FOUND: " + filePath);
-                return null;
+            for (Map.Entry<CatalogIndex.Facet, JComboBox<FacetChoice>> e : facetBoxes.entrySet()) {
+                updateChoices(e.getValue(), result.counts(e.getKey()));
             }
-            System.out.println("[IMG] Reading: " + file.getAbsolutePath());
-            return readImageRobust(file);
-        } catch (Exception e) {
-            System.out.println("[IMG] ERROR loading " + filePath + ": " + e.getMessage());
+        } finally {
+            updatingFilters = false;
         }
-        return null;
+        int total = index.query(new CatalogIndex.Filter().availableOnly(true)).count();
+        resultLabel.setText("Showing " + bikes.size() + " of " + total);
     }
 
-    /** Tries absolute → project-root-relative → cwd-relative. Returns null if not found. */
-    private java.io.File resolveFile(String filePath) {
-        // 1. Absolute
-        java.io.File f = new java.io.File(filePath);
-        if (f.isAbsolute()) return f.exists() ? f : null;
+    /** Rebuilds a combo's options with fresh counts, keeping its selection. */
+    private void updateChoices(JComboBox<FacetChoice> box, Map<String, Integer> counts) {
+        FacetChoice selected = (FacetChoice) box.getSelectedItem();
+        String keep = selected == null ? null : selected.value();
+
+        DefaultComboBoxModel<FacetChoice> model = new DefaultComboBoxModel<>();
+        model.addElement(new FacetChoice(null, 0));
+        FacetChoice select = model.getElementAt(0);
+        for (Map.Entry<String, Integer> c : counts.entrySet()) {
+            FacetChoice choice = new FacetChoice(c.getKey(), c.getValue());
+            model.addElement(choice);
+            if (c.getKey().equalsIgnoreCase(String.valueOf(keep))) select = choice;
+        }
+        if (keep != null && select.value() == null) {
+            // Value vanished from the catalogue: keep showing it rather than silently widening the filter
+            select = new FacetChoice(keep, 0);
+            model.addElement(select);
+        }
+        model.setSelectedItem(select);
+        box.setModel(model);
+    }
 
-        // 2. Relative to project root (Eclipse: bin/../  or  JAR dir)
-        try {
-            java.net.URL loc = BikeListPanel.class.getProtectionDomain().getCodeSource().getLocation();
-            java.io.File codeDir = new java.io.File(loc.toURI());
-            java.io.File root = codeDir.isDirectory() ? codeDir.getParentFile() : codeDir.getParentFile();
-            java.io.File fromRoot = new java.io.File(root, filePath);
-            if (fromRoot.exists() && fromRoot.isFile()) return fromRoot;
-        } catch (Exception ignored) {}
+    // ── Bike Card with Real Image ─────────────────────────────────────────────
+
+    /**
+     * A catalogue card. The grid recycles cards while scrolling, so
+     * everything that depends on the bike is set in {@link #bind} and the
+     * listeners act on whichever bike the card shows at the time.
+     */
+    private class BikeCard extends JPanel {
+        private Bike bike;
+
+        private final JPanel     stripe      = new JPanel();
+        private final CardCanvas canvas      = new CardCanvas();
+        private final JLabel     modelName   = new JLabel();
+        private final JLabel     variant     = new JLabel();
+        private final JLabel     exPrice     = new JLabel();
+        private final JLabel     onRoadPrice = new JLabel();
+        private final JLabel[]   chips       = {chip(""), chip(""), chip("")};
+
+        BikeCard() {
+            setLayout(new BoxLayout(this, BoxLayout.Y_AXIS));
+            setBackground(AppTheme.BG_CARD);
+            setBorder(new LineBorder(AppTheme.BORDER_SUBTLE, 1, true));
+            setCursor(Cursor.getPredefinedCursor(Cursor.HAND_CURSOR));
+
+            // Colour accent stripe at top
+            stripe.setPreferredSize(new Dimension(0, 5));
+            stripe.setMaximumSize(new Dimension(Integer.MAX_VALUE, 5));
+            add(stripe);
+
+            // ── Image canvas — shows real photo or painted silhouette ──────────
+            canvas.setPreferredSize(new Dimension(0, 145));
+            canvas.setMaximumSize(new Dimension(Integer.MAX_VALUE, 145));
+            add(canvas);
+
+            // ── Info section ──────────────────────────────────────────────────
+            JPanel info = new JPanel();
+            info.setLayout(new BoxLayout(info, BoxLayout.Y_AXIS));
+            info.setBackground(AppTheme.BG_CARD);
+            info.setBorder(new EmptyBorder(14, 18, 18, 18));
+
+            modelName.setFont(AppTheme.FONT_HEADING);
+            modelName.setForeground(AppTheme.TEXT_PRIMARY);
+            modelName.setAlignmentX(Component.LEFT_ALIGNMENT);
+
+            variant.setFont(AppTheme.FONT_SMALL);
+            variant.setForeground(AppTheme.TEXT_SECONDARY);
+            variant.setAlignmentX(Component.LEFT_ALIGNMENT);
+
+            JSeparator sep = new JSeparator();
+            sep.setForeground(AppTheme.BORDER_SUBTLE);
+            sep.setMaximumSize(new Dimension(Integer.MAX_VALUE, 1));
+
+            // Price row
+            JPanel priceRow = new JPanel(new BorderLayout());
+            priceRow.setBackground(AppTheme.BG_CARD);
+            priceRow.setMaximumSize(new Dimension(Integer.MAX_VALUE, 50));
+
+            JPanel priceLeft = new JPanel();
+            priceLeft.setLayout(new BoxLayout(priceLeft, BoxLayout.Y_AXIS));
+            priceLeft.setBackground(AppTheme.BG_CARD);
+            JLabel exLabel = AppTheme.subLabel("Ex-Showroom");
+            exLabel.setFont(AppTheme.FONT_SMALL);
+            exPrice.setFont(AppTheme.FONT_SUBHEAD);
+            exPrice.setForeground(AppTheme.TEXT_PRIMARY);
+            priceLeft.add(exLabel);
+            priceLeft.add(exPrice);
+
+            JPanel priceRight = new JPanel();
+            priceRight.setLayout(new BoxLayout(priceRight, BoxLayout.Y_AXIS));
+            priceRight.setBackground(AppTheme.BG_CARD);
+            JLabel onRoadLabel = AppTheme.subLabel("On-Road");
+            onRoadLabel.setFont(AppTheme.FONT_SMALL);
+            onRoadLabel.setAlignmentX(Component.RIGHT_ALIGNMENT);
+            onRoadPrice.setFont(new Font("SansSerif", Font.BOLD, 15));
+            onRoadPrice.setForeground(AppTheme.ACCENT_GOLD);
+            onRoadPrice.setAlignmentX(Component.RIGHT_ALIGNMENT);
+            priceRight.add(onRoadLabel);
+            priceRight.add(onRoadPrice);
+
+            priceRow.add(priceLeft,  BorderLayout.WEST);
+            priceRow.add(priceRight, BorderLayout.EAST);
+
+            // Spec chips
+            JPanel chipRow = new JPanel(new FlowLayout(FlowLayout.LEFT, 6, 0));
+            chipRow.setBackground(AppTheme.BG_CARD);
+            chipRow.setMaximumSize(new Dimension(Integer.MAX_VALUE, 32));
+            for (JLabel c : chips) chipRow.add(c);
+
+            // CTA button
+            JButton viewBtn = AppTheme.primaryButton("View Details & Book  →");
+            viewBtn.setAlignmentX(Component.LEFT_ALIGNMENT);
+            viewBtn.setMaximumSize(new Dimension(Integer.MAX_VALUE, 40));
+            viewBtn.addActionListener(e -> openDetailDialog(bike));
+
+            JButton compareBtn = AppTheme.linkButton("⇄  Add to Compare");
+            compareBtn.setFont(AppTheme.FONT_SMALL);
+            compareBtn.setAlignmentX(Component.LEFT_ALIGNMENT);
+            compareBtn.addActionListener(e -> addToCompare(bike));
+
+            info.add(modelName);
+            info.add(Box.createVerticalStrut(3));
+            info.add(variant);
+            info.add(Box.createVerticalStrut(10));
+            info.add(sep);
+            info.add(Box.createVerticalStrut(10));
+            info.add(priceRow);
+            info.add(Box.createVerticalStrut(8));
+            info.add(chipRow);
+            info.add(Box.createVerticalStrut(14));
+            info.add(viewBtn);
+            info.add(compareBtn);
+
+            add(info);
+
+            // Hover border effect
+            MouseAdapter hover = new MouseAdapter() {
+                public void mouseEntered(MouseEvent e) {
+                    setBorder(new LineBorder(AppTheme.ACCENT_RED, 1, true));
+                }
+                public void mouseExited(MouseEvent e) {
+                    setBorder(new LineBorder(AppTheme.BORDER_SUBTLE, 1, true));
+                }
+                public void mouseClicked(MouseEvent e) { openDetailDialog(bike); }
+            };
+            addMouseListener(hover);
+            canvas.addMouseListener(hover);
+        }
 
-        // 3. Relative to working directory
-        java.io.File fromCwd = new java.io.File(System.getProperty("user.dir"), filePath);
-        if (fromCwd.exists() && fromCwd.isFile()) return fromCwd;
+        void bind(Bike bike) {
+            this.bike = bike;
+            setBorder(new LineBorder(AppTheme.BORDER_SUBTLE, 1, true));   // drop a stale hover highlight
+            stripe.setBackground(modelColor(bike.getModelName()));
+            canvas.bind(bike);
+            modelName.setText(bike.getModelName());
+            variant.setText(bike.getVariant() + "  •  " + bike.getColor());
+            PriceQuote quote = dataStore.getPriceBook().quote(bike);
+            exPrice.setText(FormatUtil.formatINR(quote.getExShowroomPrice()));
+            onRoadPrice.setText(FormatUtil.formatINR(quote.getOnRoadPrice()));
+            chips[0].setText("  " + bike.getEngineCC() + "  ");
+            chips[1].setText("  " + bike.getTransmission() + "  ");
+            chips[2].setText("  " + bike.getMileage() + "  ");
+        }
 
-        return null;
+        /** Swaps in a reloaded copy of the same, unchanged bike without re-rendering. */
+        void rebase(Bike bike) {
+            this.bike = bike;
+            canvas.rebase(bike);
+        }
     }
 
+    // ── Card Canvas ───────────────────────────────────────────────────────────
+
+    private static final Color CANVAS_BG       = new Color(20, 20, 30);
+    private static final Color FADE_TOP        = new Color(24, 24, 34, 40);
+    private static final Color FADE_BOTTOM     = new Color(24, 24, 34, 180);
+    private static final Font  WATERMARK_FONT  = new Font("SansSerif", Font.BOLD, 11);
+    private static final Color WATERMARK_COLOR = new Color(255, 255, 255, 140);
+    private static final Color LOADING_COLOR   = new Color(255, 255, 255, 80);
+
     /**
-     * Robust image reader that handles CMYK JPEGs and ICC profile issues.
-     * ImageIO.read() silently returns null for CMYK JPEGs — this method fixes that.
+     * The photo area of a card. Photo, fade and watermark (or the silhouette
+     * while there is no photo) are composited once into a display-compatible
+     * image the size of the canvas in device pixels; a repaint, e.g. for a
+     * hover border, is then a single blit. The frame is rebuilt only when the
+     * size, the display scale, the photo or the bike changes, and dropped
+     * when the card leaves the screen.
+     *
+     * A compatible BufferedImage rather than a VolatileImage: Java2D keeps a
+     * managed copy of it in video memory after the first blits, and unlike a
+     * VolatileImage its contents can never be lost.
      */
-    private BufferedImage readImageRobust(java.io.File file) throws Exception {
-        // First try standard ImageIO (works for sRGB JPEG, PNG, BMP, GIF)
-        BufferedImage img = ImageIO.read(file);
-        if (img != null) {
-            System.out.println("[IMG] SUCCESS (standard): " + file.getName());
-            return img;
+    private class CardCanvas extends JPanel {
+        private Bike bike;
+
+        private BufferedImage frame;            // composited canvas, device pixels
+        private BufferedImage framePhoto;       // thumbnail the frame was built from, or null
+        private boolean       frameLoading;     // frame shows the "Loading image..." hint
+
+        CardCanvas() {
+            setBackground(CANVAS_BG);
+            setOpaque(true);
+        }
+
+        /** Shows another bike; its photo is prefetched in case the card is about to scroll in. */
+        void bind(Bike bike) {
+            this.bike = bike;
+            frame = framePhoto = null;
+            if (images.get(bike.getBikeId(), BikeImageCache.Variant.CARD) == null) {
+                images.load(bike.getBikeId(), BikeImageCache.Priority.NEARBY, this::repaint);
+            }
+            repaint();
+        }
+
+        /** Points at a reloaded copy of the same bike; the frame still shows it, so it is kept. */
+        void rebase(Bike bike) {
+            this.bike = bike;
         }
 
-        // ImageIO returned null — likely a CMYK JPEG or ICC profile issue.
-        // Fall back to reading raw bytes via ImageInputStream and manual conversion.
-        System.out.println("[IMG] Standard read returned null, trying robust JPEG reader for: " + file.getName());
-        try (javax.imageio.stream.ImageInputStream iis = ImageIO.createImageInputStream(file)) {
-            if (iis == null) return null;
-            java.util.Iterator<javax.imageio.ImageReader> readers = ImageIO.getImageReaders(iis);
-            if (!readers.hasNext()) return null;
-
-            javax.imageio.ImageReader reader = readers.next();
-            reader.setInput(iis, true, true); // ignoreMetadata = true  ← key for bad ICC profiles
-
-            javax.imageio.ImageReadParam param = reader.getDefaultReadParam();
-            img = reader.read(0, param);
-            reader.dispose();
-
-            if (img == null) return null;
-
-            // If it came back as TYPE_BYTE (CMYK), convert to standard RGB
-            if (img.getType() == BufferedImage.TYPE_BYTE_INDEXED
-                    || img.getColorModel().getNumComponents() == 4) {
-                System.out.println("[IMG] Converting CMYK->RGB for: " + file.getName());
-                BufferedImage rgb = new BufferedImage(img.getWidth(), img.getHeight(), BufferedImage.TYPE_INT_RGB);
-                java.awt.Graphics2D g = rgb.createGraphics();
-                g.drawImage(img, 0, 0, null);
-                g.dispose();
-                img = rgb;
+        @Override
+        protected void paintComponent(Graphics g) {
+            int w = getWidth(), h = getHeight();
+            if (w <= 0 || h <= 0 || bike == null) return;
+
+            BufferedImage photo = images.get(bike.getBikeId(), BikeImageCache.Variant.CARD);
+            if (photo == null) images.load(bike.getBikeId(), this::repaint);
+            boolean loading = photo == null && !images.isMissing(bike.getBikeId());
+
+            Graphics2D g2 = (Graphics2D) g;
+            AffineTransform tx = g2.getTransform();
+            int fw = (int) Math.ceil(w * tx.getScaleX()), fh = (int) Math.ceil(h * tx.getScaleY());
+            if (frame == null || frame.getWidth() != fw || frame.getHeight() != fh
+                    || framePhoto != photo || frameLoading != loading) {
+                frame        = render(photo, loading, w, h, fw, fh);
+                framePhoto   = photo;
+                frameLoading = loading;
             }
+            g2.drawImage(frame, 0, 0, w, h, null);
+        }
+
+        private BufferedImage render(BufferedImage photo, boolean loading, int cw, int ch, int fw, int fh) {
+            GraphicsConfiguration gc = getGraphicsConfiguration();
+            BufferedImage img = gc != null
+                    ? gc.createCompatibleImage(fw, fh, Transparency.OPAQUE)
+                    : new BufferedImage(fw, fh, BufferedImage.TYPE_INT_RGB);
+            Graphics2D g2 = img.createGraphics();
+            try {
+                g2.scale((double) fw / cw, (double) fh / ch);
+                g2.setRenderingHint(RenderingHints.KEY_ANTIALIASING,       RenderingHints.VALUE_ANTIALIAS_ON);
+                g2.setRenderingHint(RenderingHints.KEY_RENDERING,          RenderingHints.VALUE_RENDER_QUALITY);
+                g2.setRenderingHint(RenderingHints.KEY_INTERPOLATION,      RenderingHints.VALUE_INTERPOLATION_BICUBIC);
+                g2.setColor(CANVAS_BG);
+                g2.fillRect(0, 0, cw, ch);
+
+                if (photo != null) {
+                    // ── Draw the real bike photo ──────────────────────────────
+                    // Scale to fill canvas while maintaining aspect ratio (cover)
+                    int iw = photo.getWidth(), ih = photo.getHeight();
+                    double scale = Math.max((double) cw / iw, (double) ch / ih);
+                    int dw = (int) (iw * scale), dh = (int) (ih * scale);
+                    int dx = (cw - dw) / 2,      dy = (ch - dh) / 2;
+                    g2.drawImage(photo, dx, dy, dw, dh, null);
+
+                    // Dark overlay for consistent text readability
+                    g2.setPaint(new GradientPaint(0, 0, FADE_TOP, 0, ch, FADE_BOTTOM));
+                    g2.fillRect(0, 0, cw, ch);
 
-            System.out.println("[IMG] SUCCESS (robust): " + file.getName());
+                    // Model name watermark over image
+                    g2.setFont(WATERMARK_FONT);
+                    g2.setColor(WATERMARK_COLOR);
+                    g2.drawString(bike.getModelName().toUpperCase(), 10, ch - 10);
+
+                } else {
+                    // ── Fallback: painted silhouette while image loads ─────────
+                    drawBikeSilhouette(g2, cw, ch, modelColor(bike.getModelName()));
+
+                    // "Loading..." indicator
+                    if (loading) {
+                        g2.setFont(AppTheme.FONT_SMALL);
+                        g2.setColor(LOADING_COLOR);
+                        g2.drawString("Loading image...", 10, ch - 10);
+                    }
+                }
+            } finally {
+                g2.dispose();
+            }
             return img;
         }
+
+        @Override
+        public void removeNotify() {
+            frame = framePhoto = null;              // rebuilt if the card is shown again
+            super.removeNotify();
+        }
     }
 
     // ── Detail Dialog ─────────────────────────────────────────────────────────
@@ -434,7 +643,8 @@ public class BikeListPanel extends JPanel {
                 super.paintComponent(g);
                 Graphics2D g2 = (Graphics2D) g;
                 g2.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BICUBIC);
-                BufferedImage img = imageCache.get(bike.getBikeId());
+                BufferedImage img = images.get(bike.getBikeId(), BikeImageCache.Variant.BANNER);
+                if (img == null) images.load(bike.getBikeId(), this::repaint);
                 int w = getWidth(), h = getHeight();
                 if (img != null) {
                     double scale = Math.max((double) w / img.getWidth(), (double) h / img.getHeight());
@@ -512,9 +722,12 @@ public class BikeListPanel extends JPanel {
         btnRow.setAlignmentX(Component.LEFT_ALIGNMENT);
         JButton bookBtn = AppTheme.primaryButton("🏍  Book This Bike");
         bookBtn.addActionListener(e -> { dialog.dispose(); openBookingDialog(bike); });
+        JButton compareBtn = AppTheme.secondaryButton("⇄  Compare");
+        compareBtn.addActionListener(e -> { dialog.dispose(); addToCompare(bike); });
         JButton closeBtn = AppTheme.secondaryButton("Close");
         closeBtn.addActionListener(e -> dialog.dispose());
         btnRow.add(bookBtn);
+        btnRow.add(compareBtn);
         btnRow.add(closeBtn);
         body.add(btnRow);
 
@@ -526,6 +739,19 @@ public class BikeListPanel extends JPanel {
         dialog.setVisible(true);
     }
 
+    // ── Comparison ────────────────────────────────────────────────────────────
+
+    /** Adds a bike to the comparison window, opening it on first use. */
+    private void addToCompare(Bike bike) {
+        if (compareDialog == null || !compareDialog.isDisplayable()) {
+            compareDialog = new CompareDialog(getParentFrame(), dataStore);
+            compareDialog.setLocationRelativeTo(dashboard);
+        }
+        compareDialog.addBike(bike);
+        compareDialog.setVisible(true);
+        compareDialog.toFront();
+    }
+
     // ── Booking Dialog ────────────────────────────────────────────────────────
 
     private void openBookingDialog(Bike bike) {
@@ -568,7 +794,7 @@ public class BikeListPanel extends JPanel {
         content.add(emiBtn);
         content.add(Box.createVerticalStrut(16));
 
-        JPanel emiFields = buildEMIFields(bike.getOnRoadPrice());
+        JPanel emiFields = buildEMIFields(dataStore.getPriceBook().quote(bike).getOnRoadPrice());
         emiFields.setAlignmentX(Component.LEFT_ALIGNMENT);
         emiFields.setVisible(false);
         content.add(emiFields);
@@ -587,29 +813,35 @@ public class BikeListPanel extends JPanel {
         confirmBtn.setAlignmentX(Component.LEFT_ALIGNMENT);
         confirmBtn.setMaximumSize(new Dimension(Integer.MAX_VALUE, 44));
         confirmBtn.addActionListener(e -> {
-            try {
-                boolean isEmi = emiBtn.isSelected();
-                double downPay = 0, rate = 0;
-                int    tenure  = 0;
-                if (isEmi) {
-                    downPay = ((Number)((JSpinner) emiFields.getClientProperty("downPay")).getValue()).doubleValue();
-                    rate    = ((Number)((JSpinner) emiFields.getClientProperty("rate")).getValue()).doubleValue();
-                    tenure  = ((Number)((JSpinner) emiFields.getClientProperty("tenure")).getValue()).intValue();
-                }
-                Booking booking = bookingService.createBooking(
-                        currentUser, bike, isEmi, downPay, rate, tenure);
-                status.setText("✓  Booking confirmed! ID: " + booking.getBookingId());
-                confirmBtn.setEnabled(false);
-                String invoice = bookingService.generateInvoice(booking);
-                SwingUtilities.invokeLater(() -> {
-                    dialog.dispose();
-                    showInvoiceDialog(invoice, booking.getBookingId());
-                    dashboard.navigateToBookings();
-                });
-            } catch (Exception ex) {
-                status.setForeground(AppTheme.TEXT_ERROR);
-                status.setText("✗  Error: " + ex.getMessage());
+            boolean isEmi = emiBtn.isSelected();
+            double downPay = 0, rate = 0;
+            int    tenure  = 0;
+            if (isEmi) {
+                downPay = ((Number)((JSpinner) emiFields.getClientProperty("downPay")).getValue()).doubleValue();
+                rate    = ((Number)((JSpinner) emiFields.getClientProperty("rate")).getValue()).doubleValue();
+                tenure  = ((Number)((JSpinner) emiFields.getClientProperty("tenure")).getValue()).intValue();
             }
+            confirmBtn.setEnabled(false);
+            status.setForeground(AppTheme.TEXT_SECONDARY);
+            status.setText("Saving booking...");
+
+            // Persistence runs on the DataStore writer thread; hop back to the EDT to update the UI
+            bookingService.createBookingAsync(currentUser, bike, isEmi, downPay, rate, tenure)
+                    .whenComplete((booking, ex) -> SwingUtilities.invokeLater(() -> {
+                        if (ex != null) {
+                            Throwable cause = ex.getCause() != null ? ex.getCause() : ex;
+                            status.setForeground(AppTheme.TEXT_ERROR);
+                            status.setText("✗  Error: " + cause.getMessage());
+                            confirmBtn.setEnabled(true);
+                            return;
+                        }
+                        status.setForeground(AppTheme.TEXT_SUCCESS);
+                        status.setText("✓  Booking confirmed! ID: " + booking.getBookingId());
+                        String invoice = bookingService.generateInvoice(booking);
+                        dialog.dispose();
+                        showInvoiceDialog(invoice, booking.getBookingId());
+                        dashboard.navigateToBookings();
+                    }));
         });
 
         JButton cancelBtn = AppTheme.secondaryButton("Cancel");
@@ -792,14 +1024,17 @@ public class BikeListPanel extends JPanel {
         p.add(h);
         p.add(Box.createVerticalStrut(10));
 
-        addPriceRow(p, "Ex-Showroom Price",      FormatUtil.formatINR(b.getExShowroomPrice()), false);
-        addPriceRow(p, "GST (28%)",               FormatUtil.formatINR(b.getGstAmount()),       false);
-        addPriceRow(p, "RTO Registration",         FormatUtil.formatINR(b.getRtoCharges()),      false);
-        addPriceRow(p, "Insurance Premium",        FormatUtil.formatINR(b.getInsurancePremium()),false);
-        addPriceRow(p, "Handling Charges",         FormatUtil.formatINR(b.getHandlingCharges()), false);
+        PriceQuote q = dataStore.getPriceBook().quote(b);
+        addPriceRow(p, "Ex-Showroom Price",      FormatUtil.formatINR(q.getExShowroomPrice()), false);
+        addPriceRow(p, String.format("GST (%.0f%%)", b.getGstRate()),
+                                                  FormatUtil.formatINR(q.getGstAmount()),       false);
+        addPriceRow(p, "RTO Registration (" + q.getState() + ")",
+                                                  FormatUtil.formatINR(q.getRtoCharges()),      false);
+        addPriceRow(p, "Insurance Premium",        FormatUtil.formatINR(q.getInsurancePremium()),false);
+        addPriceRow(p, "Handling Charges",         FormatUtil.formatINR(q.getHandlingCharges()), false);
         p.add(AppTheme.redSeparator());
         p.add(Box.createVerticalStrut(6));
-        addPriceRow(p, "TOTAL ON-ROAD PRICE",      FormatUtil.formatINR(b.getOnRoadPrice()),     true);
+        addPriceRow(p, "TOTAL ON-ROAD PRICE",      FormatUtil.formatINR(q.getOnRoadPrice()),     true);
         return p;
     }
 
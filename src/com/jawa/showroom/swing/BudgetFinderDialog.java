@@ -0,0 +1,187 @@
+package com.jawa.showroom.swing;
+
+import com.jawa.showroom.service.AffordableBikeFinder;
+import com.jawa.showroom.service.AffordableBikeFinder.Match;
+import com.jawa.showroom.service.BikeCatalog;
+import com.jawa.showroom.service.DataStore;
+import com.jawa.showroom.service.EMICalculator;
+import com.jawa.showroom.service.PriceBook;
+import com.jawa.showroom.util.FormatUtil;
+import com.jawa.showroom.util.Money;
+
+import javax.swing.*;
+import javax.swing.border.EmptyBorder;
+import javax.swing.table.AbstractTableModel;
+import javax.swing.text.DefaultFormatter;
+import java.awt.*;
+import java.awt.event.WindowAdapter;
+import java.awt.event.WindowEvent;
+import java.util.List;
+
+/**
+ * BudgetFinderDialog — works back from a monthly budget: which available bikes
+ * can the customer afford, over how many months, and up to what interest rate
+ * does each one still fit?
+ *
+ * Every edit (each keystroke in a spinner, not just Enter) re-runs
+ * AffordableBikeFinder over the catalogue; it is cheap enough to do on the
+ * EDT. The "Max Rate" column is solved only for the rows that are painted.
+ */
+public class BudgetFinderDialog extends JDialog {
+
+    private static final String[] COLUMNS =
+            {"Bike", "On-Road", "Loan", "Tenure", "EMI", "Fit", "Max Rate"};
+
+    private final DataStore dataStore;
+    private final JSpinner budgetSpin, downSpin, rateSpin, tenureSpin;
+    private final MatchTableModel model = new MatchTableModel();
+    private final JLabel summary = AppTheme.subLabel("");
+
+    private List<Match> matches = List.of();
+    private long budget;
+    private int  maxTenure;
+
+    /** Re-ranks when bikes.dat changes */
+    private final BikeCatalog.Listener catalogListener =
+            (previous, current, changedIds) -> SwingUtilities.invokeLater(this::search);
+
+    /** Re-ranks against the new quotes when pricing.dat changes */
+    private final PriceBook.Listener pricingListener =
+            current -> SwingUtilities.invokeLater(this::search);
+
+    public BudgetFinderDialog(Window owner, DataStore dataStore, double downPay, double rate, int tenure) {
+        super(owner, "Find Bikes by Budget", ModalityType.MODELESS);
+        this.dataStore = dataStore;
+
+        budgetSpin = liveSpinner(1000, 200000, 500,  6000);
+        downSpin   = liveSpinner(0,    5000000, 5000, downPay);
+        rateSpin   = liveSpinner(1,    36,      0.25, rate);
+        tenureSpin = liveSpinner(6,    360,     6,    tenure);
+        buildUI();
+        search();
+
+        dataStore.addCatalogListener(catalogListener);
+        dataStore.addPricingListener(pricingListener);
+        addWindowListener(new WindowAdapter() {
+            @Override public void windowClosed(WindowEvent e) {
+                dataStore.removeCatalogListener(catalogListener);
+                dataStore.removePricingListener(pricingListener);
+            }
+        });
+    }
+
+    private void buildUI() {
+        setDefaultCloseOperation(DISPOSE_ON_CLOSE);
+        setSize(900, 560);
+        getContentPane().setBackground(AppTheme.BG_DARK);
+        setLayout(new BorderLayout());
+
+        // Header: title and inputs
+        JPanel header = new JPanel();
+        header.setLayout(new BoxLayout(header, BoxLayout.Y_AXIS));
+        header.setBackground(AppTheme.BG_DARK);
+        header.setBorder(new EmptyBorder(18, 24, 10, 24));
+        JLabel title = AppTheme.headingLabel("🔎  Find Bikes by Monthly Budget");
+        title.setAlignmentX(Component.LEFT_ALIGNMENT);
+        header.add(title);
+        header.add(Box.createVerticalStrut(10));
+
+        JPanel inputs = new JPanel(new GridLayout(2, 4, 12, 4));
+        inputs.setBackground(AppTheme.BG_DARK);
+        inputs.setAlignmentX(Component.LEFT_ALIGNMENT);
+        inputs.add(AppTheme.accentLabel("MONTHLY BUDGET (₹)"));
+        inputs.add(AppTheme.accentLabel("DOWN PAYMENT (₹)"));
+        inputs.add(AppTheme.accentLabel("INTEREST RATE (%)"));
+        inputs.add(AppTheme.accentLabel("MAX TENURE (MONTHS)"));
+        inputs.add(budgetSpin);
+        inputs.add(downSpin);
+        inputs.add(rateSpin);
+        inputs.add(tenureSpin);
+        header.add(inputs);
+        header.add(Box.createVerticalStrut(10));
+        summary.setAlignmentX(Component.LEFT_ALIGNMENT);
+        header.add(summary);
+        add(header, BorderLayout.NORTH);
+
+        // Table
+        JTable table = new JTable(model);
+        AppTheme.styleTable(table);
+        table.setRowHeight(28);
+        table.setSelectionMode(ListSelectionModel.SINGLE_SELECTION);
+        table.getTableHeader().setReorderingAllowed(false);
+        table.setDefaultRenderer(Object.class, new BookingsPanel.StripedRenderer());
+        table.getColumnModel().getColumn(0).setPreferredWidth(200);
+        JScrollPane scroll = new JScrollPane(table);
+        scroll.setBorder(new EmptyBorder(0, 24, 0, 24));
+        scroll.getViewport().setBackground(AppTheme.BG_DARK);
+        scroll.setBackground(AppTheme.BG_DARK);
+        add(scroll, BorderLayout.CENTER);
+
+        // Actions
+        JPanel actions = new JPanel(new FlowLayout(FlowLayout.RIGHT, 12, 12));
+        actions.setBackground(AppTheme.BG_DARK);
+        actions.setBorder(new EmptyBorder(0, 12, 6, 12));
+        JButton closeBtn = AppTheme.secondaryButton("Close");
+        closeBtn.addActionListener(e -> dispose());
+        actions.add(closeBtn);
+        add(actions, BorderLayout.SOUTH);
+    }
+
+    /** A themed spinner that commits on every valid keystroke and re-runs the search. */
+    private JSpinner liveSpinner(double min, double max, double step, double init) {
+        JSpinner sp = AppTheme.spinner(min, max, step, Math.max(min, Math.min(max, init)));
+        if (sp.getEditor() instanceof JSpinner.DefaultEditor de
+                && de.getTextField().getFormatter() instanceof DefaultFormatter f) {
+            f.setCommitsOnValidEdit(true);
+        }
+        sp.addChangeListener(e -> search());
+        return sp;
+    }
+
+    // ── Search ────────────────────────────────────────────────────────────────
+
+    private void search() {
+        if (tenureSpin == null) return;                 // spinners still being built
+        budget    = Money.ofRupees(((Number) budgetSpin.getValue()).doubleValue());
+        maxTenure = ((Number) tenureSpin.getValue()).intValue();
+        long   down = Money.ofRupees(((Number) downSpin.getValue()).doubleValue());
+        double rate = ((Number) rateSpin.getValue()).doubleValue();
+
+        matches = AffordableBikeFinder.find(dataStore.getAvailableBikes(), dataStore.getPriceBook(),
+                budget, down, rate, maxTenure);
+        model.fireTableDataChanged();
+
+        long ceiling = AffordableBikeFinder.affordablePaise(budget, down, rate, maxTenure);
+        summary.setText("Up to " + FormatUtil.formatINR(Money.toRupees(ceiling))
+                + " on-road over " + maxTenure + " months – "
+                + matches.size() + (matches.size() == 1 ? " bike fits." : " bikes fit."));
+    }
+
+    // ── Table Model ───────────────────────────────────────────────────────────
+
+    private class MatchTableModel extends AbstractTableModel {
+        @Override public int    getRowCount()          { return matches.size(); }
+        @Override public int    getColumnCount()       { return COLUMNS.length; }
+        @Override public String getColumnName(int col) { return COLUMNS[col]; }
+
+        @Override public Object getValueAt(int row, int col) {
+            Match m = matches.get(row);
+            return switch (col) {
+                case 0  -> m.bike().getModelName() + " " + m.bike().getVariant();
+                case 1  -> FormatUtil.formatINR(Money.toRupees(m.onRoadPaise()));
+                case 2  -> FormatUtil.formatINR(Money.toRupees(m.loanPaise()));
+                case 3  -> m.tenureMonths() == 0 ? "–" : m.tenureMonths() + " mo";
+                case 4  -> FormatUtil.formatINR(Money.toRupees(m.emiPaise()));
+                case 5  -> Math.round(m.fit() * 100) + "%";
+                default -> maxRate(m);
+            };
+        }
+
+        /** Highest rate at which the bike still fits the budget over the full tenure. */
+        private String maxRate(Match m) {
+            if (m.loanPaise() == 0) return "–";
+            double r = EMICalculator.rateForPaise(m.loanPaise(), budget, maxTenure);
+            return Double.isNaN(r) ? "–" : r >= 100 ? "any" : r + "%";
+        }
+    }
+}
@@ -0,0 +1,248 @@
+package com.jawa.showroom.swing;
+
+import com.jawa.showroom.model.Bike;
+import com.jawa.showroom.service.BikeCatalog;
+import com.jawa.showroom.service.DataStore;
+import com.jawa.showroom.service.PriceBook;
+import com.jawa.showroom.service.SpecMatrix;
+import com.jawa.showroom.service.SpecMatrix.Spec;
+import com.jawa.showroom.util.FormatUtil;
+
+import javax.swing.*;
+import javax.swing.border.EmptyBorder;
+import javax.swing.table.AbstractTableModel;
+import javax.swing.table.DefaultTableCellRenderer;
+import java.awt.*;
+import java.awt.event.WindowAdapter;
+import java.awt.event.WindowEvent;
+import java.util.Set;
+
+/**
+ * CompareDialog — side-by-side comparison of any number of bikes.
+ *
+ * One JTable with a row per spec and a column per bike, backed directly by a
+ * SpecMatrix; the best value in each row is shown in green, the worst in red.
+ * Adding or removing a bike only changes the matrix and the table's columns,
+ * the dialog itself stays as it is. Non-modal, so customers can keep browsing
+ * the catalogue and add more bikes.
+ */
+public class CompareDialog extends JDialog {
+
+    private static final Spec[] ROWS = Spec.values();
+
+    private final DataStore          dataStore;
+    private final SpecMatrix         matrix;
+    private final CompareTableModel  model  = new CompareTableModel();
+    private final JTable             table  = new JTable(model);
+    private final JLabel             hint   = AppTheme.subLabel("");
+    private final JComboBox<Bike>    picker = new JComboBox<>();
+
+    /** Keeps compared bikes in step with bikes.dat edits */
+    private final BikeCatalog.Listener catalogListener =
+            (previous, current, changedIds) -> SwingUtilities.invokeLater(() -> catalogChanged(current, changedIds));
+
+    /** Re-prices the compared bikes when pricing.dat changes */
+    private final PriceBook.Listener pricingListener =
+            current -> SwingUtilities.invokeLater(() -> pricingChanged(current));
+
+    public CompareDialog(Frame owner, DataStore dataStore) {
+        super(owner, "Compare Bikes", false);
+        this.dataStore = dataStore;
+        this.matrix    = new SpecMatrix(dataStore.getPriceBook());
+        buildUI();
+
+        dataStore.addCatalogListener(catalogListener);
+        dataStore.addPricingListener(pricingListener);
+        addWindowListener(new WindowAdapter() {
+            @Override public void windowClosed(WindowEvent e) {
+                dataStore.removeCatalogListener(catalogListener);
+                dataStore.removePricingListener(pricingListener);
+            }
+        });
+    }
+
+    private void buildUI() {
+        setDefaultCloseOperation(DISPOSE_ON_CLOSE);
+        setSize(820, 520);
+        getContentPane().setBackground(AppTheme.BG_DARK);
+        setLayout(new BorderLayout());
+
+        // Header
+        JPanel header = new JPanel();
+        header.setLayout(new BoxLayout(header, BoxLayout.Y_AXIS));
+        header.setBackground(AppTheme.BG_DARK);
+        header.setBorder(new EmptyBorder(18, 24, 10, 24));
+        JLabel title = AppTheme.headingLabel("⇄  Compare Bikes");
+        title.setAlignmentX(Component.LEFT_ALIGNMENT);
+        hint.setAlignmentX(Component.LEFT_ALIGNMENT);
+        header.add(title);
+        header.add(Box.createVerticalStrut(4));
+        header.add(hint);
+        add(header, BorderLayout.NORTH);
+
+        // Table
+        AppTheme.styleTable(table);
+        table.setRowHeight(30);
+        table.setCellSelectionEnabled(true);
+        table.getTableHeader().setReorderingAllowed(false);
+        table.setDefaultRenderer(Object.class, new CompareCellRenderer());
+        JScrollPane scroll = new JScrollPane(table);
+        scroll.setBorder(new EmptyBorder(0, 24, 0, 24));
+        scroll.getViewport().setBackground(AppTheme.BG_DARK);
+        scroll.setBackground(AppTheme.BG_DARK);
+        add(scroll, BorderLayout.CENTER);
+
+        // Actions
+        JPanel actions = new JPanel(new FlowLayout(FlowLayout.LEFT, 12, 12));
+        actions.setBackground(AppTheme.BG_DARK);
+        actions.setBorder(new EmptyBorder(0, 12, 6, 12));
+
+        picker.setFont(AppTheme.FONT_SMALL);
+        picker.setBackground(AppTheme.BG_INPUT);
+        picker.setForeground(AppTheme.TEXT_PRIMARY);
+        picker.setRenderer(new DefaultListCellRenderer() {
+            @Override public Component getListCellRendererComponent(JList<?> list, Object value, int index,
+                                                                    boolean selected, boolean focus) {
+                Object text = value instanceof Bike b ? b.getModelName() + " " + b.getVariant() : value;
+                return super.getListCellRendererComponent(list, text, index, selected, focus);
+            }
+        });
+        fillPicker();
+
+        JButton addBtn = AppTheme.secondaryButton("Add");
+        addBtn.addActionListener(e -> {
+            if (picker.getSelectedItem() instanceof Bike b) addBike(b);
+        });
+        JButton removeBtn = AppTheme.secondaryButton("Remove Selected");
+        removeBtn.addActionListener(e -> removeSelected());
+        JButton closeBtn = AppTheme.secondaryButton("Close");
+        closeBtn.addActionListener(e -> dispose());
+
+        actions.add(picker);
+        actions.add(addBtn);
+        actions.add(removeBtn);
+        actions.add(closeBtn);
+        add(actions, BorderLayout.SOUTH);
+
+        updateHint();
+    }
+
+    // ── Editing ───────────────────────────────────────────────────────────────
+
+    /** Adds a bike as a new column; a bike already in the table is just selected. */
+    public void addBike(Bike bike) {
+        int slot = matrix.add(bike);
+        if (slot >= 0) model.fireTableStructureChanged();
+        else slot = matrix.indexOf(bike.getBikeId());
+        table.changeSelection(0, slot + 1, false, false);
+        updateHint();
+    }
+
+    private void removeSelected() {
+        int col = table.getSelectedColumn();
+        if (col < 1) return;
+        matrix.remove(col - 1);
+        model.fireTableStructureChanged();
+        updateHint();
+    }
+
+    /** Re-reads edited bikes from the new catalogue and drops deleted ones. */
+    private void catalogChanged(BikeCatalog current, Set<String> changedIds) {
+        boolean structure = false;
+        for (int slot = matrix.size() - 1; slot >= 0; slot--) {
+            String id = matrix.bike(slot).getBikeId();
+            if (!changedIds.contains(id.toLowerCase())) continue;
+            Bike fresh = current.find(id);
+            if (fresh == null) {
+                matrix.remove(slot);
+                structure = true;
+            } else {
+                matrix.set(slot, fresh);
+            }
+        }
+        if (structure) model.fireTableStructureChanged();
+        else model.fireTableDataChanged();
+        fillPicker();
+        updateHint();
+    }
+
+    private void pricingChanged(PriceBook current) {
+        matrix.setPriceBook(current);
+        model.fireTableDataChanged();
+    }
+
+    private void fillPicker() {
+        picker.removeAllItems();
+        for (Bike b : dataStore.getAllBikes()) picker.addItem(b);
+    }
+
+    private void updateHint() {
+        hint.setText(matrix.size() < 2
+                ? "Add at least two bikes to compare. Best values are shown in green, weakest in red."
+                : "Comparing " + matrix.size() + " bikes. Best values are shown in green, weakest in red.");
+    }
+
+    // ── Table Model ───────────────────────────────────────────────────────────
+
+    /** Rows are specs, column 0 the spec name, columns 1..n the matrix slots. */
+    private class CompareTableModel extends AbstractTableModel {
+        @Override public int getRowCount()    { return ROWS.length; }
+        @Override public int getColumnCount() { return matrix.size() + 1; }
+
+        @Override public String getColumnName(int col) {
+            if (col == 0) return "Spec";
+            Bike b = matrix.bike(col - 1);
+            return b.getModelName() + " " + b.getVariant();
+        }
+
+        @Override public Object getValueAt(int row, int col) {
+            Spec spec = ROWS[row];
+            return col == 0 ? spec.label() : display(spec, matrix.bike(col - 1), matrix.value(spec, col - 1));
+        }
+    }
+
+    /**
+     * The bike's own wording for a spec; the matrix only supplies the numbers,
+     * except the price, which is shown as the quote the matrix ranked.
+     */
+    private static String display(Spec spec, Bike b, double value) {
+        return switch (spec) {
+            case ON_ROAD_PRICE    -> FormatUtil.formatINR(value);
+            case ENGINE_CC        -> b.getEngineCC();
+            case POWER            -> b.getMaxPower();
+            case TORQUE           -> b.getMaxTorque();
+            case GEARS            -> b.getTransmission();
+            case TANK             -> b.getFuelTankCapacity();
+            case MILEAGE          -> b.getMileage();
+            case KERB_WEIGHT      -> b.getKerbWeight();
+            case SEAT_HEIGHT      -> b.getSeatHeight();
+            case WHEELBASE        -> b.getWheelbase();
+            case GROUND_CLEARANCE -> b.getGroundClearance();
+        };
+    }
+
+    // ── Renderer ──────────────────────────────────────────────────────────────
+
+    private class CompareCellRenderer extends DefaultTableCellRenderer {
+        @Override
+        public Component getTableCellRendererComponent(JTable t, Object value, boolean selected,
+                                                       boolean focus, int row, int col) {
+            super.getTableCellRendererComponent(t, value, selected, focus, row, col);
+            setBorder(new EmptyBorder(0, 10, 0, 10));
+            setFont(col == 0 ? AppTheme.FONT_LABEL : AppTheme.FONT_BODY);
+            if (!selected) {
+                setBackground(row % 2 == 0 ? AppTheme.BG_CARD : AppTheme.BG_TABLE_ALT);
+                Color fg = AppTheme.TEXT_PRIMARY;
+                if (col == 0) {
+                    fg = AppTheme.TEXT_SECONDARY;
+                } else if (matrix.isBest(ROWS[row], col - 1)) {
+                    fg = AppTheme.TEXT_SUCCESS;
+                } else if (matrix.isWorst(ROWS[row], col - 1)) {
+                    fg = AppTheme.TEXT_ERROR;
+                }
+                setForeground(fg);
+            }
+            return this;
+        }
+    }
+}
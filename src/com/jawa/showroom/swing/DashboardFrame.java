@@ -208,7 +208,7 @@ public class DashboardFrame extends JFrame {
         User user = authService.getCurrentUser();
 
         bikeListPanel = new BikeListPanel(dataStore, bookingService, user, this);
-        emiPanel      = new EMIPanel();
+        emiPanel      = new EMIPanel(dataStore);
         bookingsPanel = new BookingsPanel(dataStore, bookingService, user);
         profilePanel  = new ProfilePanel(user);
 
@@ -0,0 +1,155 @@
+package com.jawa.showroom.swing;
+
+import com.jawa.showroom.service.EMIGrid;
+import com.jawa.showroom.util.FormatUtil;
+import com.jawa.showroom.util.Money;
+
+import javax.swing.*;
+import javax.swing.border.EmptyBorder;
+import javax.swing.table.AbstractTableModel;
+import javax.swing.table.DefaultTableCellRenderer;
+import java.awt.*;
+
+/**
+ * EMIGridDialog — every EMI option for one vehicle price at a glance: a row
+ * per interest rate (7–18% in 0.25% steps), a column per tenure (6–84
+ * months) and a choice of down payments.
+ *
+ * The whole grid, for all down payments, is one EMIGrid computed when the
+ * dialog opens; switching the down payment only repaints the table. The
+ * cell for the rate and tenure currently set in the calculator is shown in
+ * gold.
+ */
+public class EMIGridDialog extends JDialog {
+
+    private static final double[] RATES        = EMIGrid.rateSteps(7, 18, 0.25);
+    private static final int[]    TENURES      = EMIGrid.tenureSteps(6, 84, 6);
+    private static final int[]    DOWN_PERCENT = {0, 10, 20, 30, 40, 50};
+
+    private final EMIGrid grid;
+    private final String[] downLabels;
+    private final double currentRate;
+    private final int    currentTenure;
+    private final GridTableModel model = new GridTableModel();
+    private int loanIndex;
+
+    /**
+     * @param priceRupees   vehicle on-road price
+     * @param downRupees    the calculator's down payment, offered first
+     */
+    public EMIGridDialog(Window owner, double priceRupees, double downRupees, double rate, int tenure) {
+        super(owner, "EMI Options", ModalityType.MODELESS);
+        this.currentRate   = rate;
+        this.currentTenure = tenure;
+
+        long price = Money.ofRupees(priceRupees);
+        long[] loans = new long[DOWN_PERCENT.length + 1];
+        downLabels   = new String[loans.length];
+        long down    = Math.min(price, Money.ofRupees(downRupees));
+        loans[0]      = price - down;
+        downLabels[0] = FormatUtil.formatINR(Money.toRupees(down)) + "  (current)";
+        for (int i = 0; i < DOWN_PERCENT.length; i++) {
+            long d = Money.percentOf(price, DOWN_PERCENT[i]);
+            loans[i + 1]      = price - d;
+            downLabels[i + 1] = FormatUtil.formatINR(Money.toRupees(d)) + "  (" + DOWN_PERCENT[i] + "%)";
+        }
+        grid = new EMIGrid(loans, RATES, TENURES).compute(true);
+
+        buildUI(priceRupees);
+    }
+
+    private void buildUI(double priceRupees) {
+        setDefaultCloseOperation(DISPOSE_ON_CLOSE);
+        setSize(1080, 620);
+        getContentPane().setBackground(AppTheme.BG_DARK);
+        setLayout(new BorderLayout());
+
+        // Header
+        JPanel header = new JPanel();
+        header.setLayout(new BoxLayout(header, BoxLayout.Y_AXIS));
+        header.setBackground(AppTheme.BG_DARK);
+        header.setBorder(new EmptyBorder(18, 24, 10, 24));
+        JLabel title = AppTheme.headingLabel("▦  EMI Options for " + FormatUtil.formatINR(priceRupees));
+        title.setAlignmentX(Component.LEFT_ALIGNMENT);
+        JLabel sub = AppTheme.subLabel("Monthly instalment by interest rate (rows) and tenure in months (columns).");
+        sub.setAlignmentX(Component.LEFT_ALIGNMENT);
+        header.add(title);
+        header.add(Box.createVerticalStrut(4));
+        header.add(sub);
+        add(header, BorderLayout.NORTH);
+
+        // Table
+        JTable table = new JTable(model);
+        AppTheme.styleTable(table);
+        table.setRowHeight(24);
+        table.setFont(AppTheme.FONT_SMALL);
+        table.setCellSelectionEnabled(true);
+        table.getTableHeader().setReorderingAllowed(false);
+        table.setAutoResizeMode(JTable.AUTO_RESIZE_OFF);
+        table.setDefaultRenderer(Object.class, new GridCellRenderer());
+        table.getColumnModel().getColumn(0).setPreferredWidth(70);
+        for (int c = 1; c < model.getColumnCount(); c++) table.getColumnModel().getColumn(c).setPreferredWidth(96);
+        JScrollPane scroll = new JScrollPane(table);
+        scroll.setBorder(new EmptyBorder(0, 24, 0, 24));
+        scroll.getViewport().setBackground(AppTheme.BG_DARK);
+        scroll.setBackground(AppTheme.BG_DARK);
+        add(scroll, BorderLayout.CENTER);
+
+        // Actions
+        JPanel actions = new JPanel(new FlowLayout(FlowLayout.LEFT, 12, 12));
+        actions.setBackground(AppTheme.BG_DARK);
+        actions.setBorder(new EmptyBorder(0, 12, 6, 12));
+
+        JComboBox<String> downBox = new JComboBox<>(downLabels);
+        downBox.setFont(AppTheme.FONT_SMALL);
+        downBox.setBackground(AppTheme.BG_INPUT);
+        downBox.setForeground(AppTheme.TEXT_PRIMARY);
+        downBox.addActionListener(e -> {
+            loanIndex = downBox.getSelectedIndex();
+            model.fireTableDataChanged();
+        });
+        JButton closeBtn = AppTheme.secondaryButton("Close");
+        closeBtn.addActionListener(e -> dispose());
+
+        actions.add(AppTheme.accentLabel("DOWN PAYMENT"));
+        actions.add(downBox);
+        actions.add(closeBtn);
+        add(actions, BorderLayout.SOUTH);
+    }
+
+    // ── Table Model ───────────────────────────────────────────────────────────
+
+    /** Rows are rates, column 0 the rate, columns 1..n the tenures. */
+    private class GridTableModel extends AbstractTableModel {
+        @Override public int getRowCount()    { return grid.rateCount(); }
+        @Override public int getColumnCount() { return grid.tenureCount() + 1; }
+
+        @Override public String getColumnName(int col) {
+            return col == 0 ? "Rate" : grid.tenure(col - 1) + " mo";
+        }
+
+        @Override public Object getValueAt(int row, int col) {
+            if (col == 0) return grid.rate(row) + "%";
+            return FormatUtil.formatINR(Money.toRupees(grid.emiPaise(loanIndex, row, col - 1)));
+        }
+    }
+
+    // ── Renderer ──────────────────────────────────────────────────────────────
+
+    private class GridCellRenderer extends DefaultTableCellRenderer {
+        @Override
+        public Component getTableCellRendererComponent(JTable t, Object value, boolean selected,
+                                                       boolean focus, int row, int col) {
+            super.getTableCellRendererComponent(t, value, selected, focus, row, col);
+            setBorder(new EmptyBorder(0, 8, 0, 8));
+            setHorizontalAlignment(col == 0 ? LEFT : RIGHT);
+            if (!selected) {
+                boolean current = col > 0 && grid.rate(row) == currentRate && grid.tenure(col - 1) == currentTenure;
+                setBackground(row % 2 == 0 ? AppTheme.BG_CARD : AppTheme.BG_TABLE_ALT);
+                setForeground(current ? AppTheme.ACCENT_GOLD
+                            : col == 0 ? AppTheme.TEXT_SECONDARY : AppTheme.TEXT_PRIMARY);
+            }
+            return this;
+        }
+    }
+}
@@ -1,17 +1,35 @@
 package com.jawa.showroom.swing;
 
+import com.jawa.showroom.service.AmortisationSchedule;
+import com.jawa.showroom.service.DataStore;
 import com.jawa.showroom.service.EMICalculator;
 import com.jawa.showroom.util.FormatUtil;
+import com.jawa.showroom.util.Money;
 
 import javax.swing.*;
 import javax.swing.border.*;
 import javax.swing.event.ChangeEvent;
 import javax.swing.event.ChangeListener;
+import javax.swing.table.AbstractTableModel;
 import java.awt.*;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicReference;
 
 /**
  * EMIPanel — interactive EMI calculator with live result cards and a
  * custom pie chart showing principal vs interest split.
+ *
+ * The amortisation schedule is a JTable over an AmortisationSchedule's paise
+ * columns: every recalculation refills the schedule in place and the table
+ * formats only the rows it paints, so even a 360-month schedule follows the
+ * spinners live.
+ *
+ * Spinner changes go through a small pipeline: ticks are coalesced on a
+ * Swing Timer, the schedule is computed on a background thread into a
+ * spare schedule, and only the result of the latest input (by generation)
+ * is published to the EDT. The cards therefore never lag behind a held
+ * arrow key by more than one calculation.
  */
 public class EMIPanel extends JPanel {
 
@@ -24,10 +42,20 @@ public class EMIPanel extends JPanel {
     // Chart panel
     private PieChartPanel pieChart;
 
-    // Amortisation area
-    private JTextArea amortArea;
+    // Amortisation schedule on show (EDT only) and a spare for the calculator to fill
+    private AmortisationSchedule schedule = new AmortisationSchedule();
+    private final AtomicReference<AmortisationSchedule> spare = new AtomicReference<>();
+    private final AmortTableModel amortModel = new AmortTableModel();
+    private JLabel amortSummary;
 
-    public EMIPanel() {
+    // Recalculation pipeline
+    private final Timer coalescer = new Timer(COALESCE_MS, e -> submitRecalculation());
+    private int generation;             // EDT only; bumped per submitted calculation
+
+    private final DataStore dataStore;
+
+    public EMIPanel(DataStore dataStore) {
+        this.dataStore = dataStore;
         buildUI();
     }
 
@@ -65,8 +93,8 @@ public class EMIPanel extends JPanel {
         JPanel bottom = buildAmortPanel();
         add(bottom, BorderLayout.SOUTH);
 
-        // Initial calculation
-        recalculate();
+        // Initial calculation, inline so the cards are never blank
+        publish(calculate(++generation, readInputs()));
     }
 
     // ── Input Card ────────────────────────────────────────────────────────────
@@ -87,7 +115,7 @@ public class EMIPanel extends JPanel {
         rateSpin      = addSpinner(card, "Annual Interest Rate (%)",   1,    36,      0.25,  9.0);
         tenureSpin    = addSpinner(card, "Loan Tenure (Months)",       6,    360,     6,     36);
 
-        ChangeListener cl = e -> recalculate();
+        ChangeListener cl = e -> scheduleRecalculation();
         principalSpin.addChangeListener(cl);
         downPaySpin.addChangeListener(cl);
         rateSpin.addChangeListener(cl);
@@ -113,11 +141,23 @@ public class EMIPanel extends JPanel {
                     new EmptyBorder(4, 10, 4, 10)));
             btn.setFocusPainted(false);
             btn.setCursor(Cursor.getPredefinedCursor(Cursor.HAND_CURSOR));
-            btn.addActionListener(e -> { tenureSpin.setValue(mo); recalculate(); });
+            btn.addActionListener(e -> tenureSpin.setValue(mo));
             shortcuts.add(btn);
         }
         card.add(shortcuts);
 
+        // Full matrix of options for the sales desk
+        card.add(Box.createVerticalStrut(14));
+        JButton gridBtn = AppTheme.secondaryButton("▦  Show All EMI Options");
+        gridBtn.setAlignmentX(Component.LEFT_ALIGNMENT);
+        gridBtn.addActionListener(e -> showEmiGrid());
+        card.add(gridBtn);
+        card.add(Box.createVerticalStrut(8));
+        JButton budgetBtn = AppTheme.secondaryButton("🔎  Find Bikes by Budget");
+        budgetBtn.setAlignmentX(Component.LEFT_ALIGNMENT);
+        budgetBtn.addActionListener(e -> showBudgetFinder());
+        card.add(budgetBtn);
+
         card.add(Box.createVerticalGlue());
         return card;
     }
@@ -169,57 +209,148 @@ public class EMIPanel extends JPanel {
         JPanel headerRow = new JPanel(new BorderLayout());
         headerRow.setBackground(AppTheme.BG_DARK);
         JLabel lbl = AppTheme.accentLabel("AMORTISATION SCHEDULE");
-        JButton calcBtn = AppTheme.secondaryButton("Generate Schedule");
-        calcBtn.addActionListener(e -> generateAmortisation());
-        headerRow.add(lbl,     BorderLayout.WEST);
-        headerRow.add(calcBtn, BorderLayout.EAST);
+        amortSummary = AppTheme.subLabel("");
+        headerRow.add(lbl,          BorderLayout.WEST);
+        headerRow.add(amortSummary, BorderLayout.EAST);
+        headerRow.setBorder(new EmptyBorder(0, 0, 6, 0));
         p.add(headerRow, BorderLayout.NORTH);
 
-        amortArea = new JTextArea(6, 0);
-        amortArea.setFont(new Font("Monospaced", Font.PLAIN, 11));
-        amortArea.setForeground(AppTheme.TEXT_PRIMARY);
-        amortArea.setBackground(AppTheme.BG_CARD);
-        amortArea.setEditable(false);
-        amortArea.setBorder(new EmptyBorder(10, 14, 10, 14));
-        amortArea.setText("  Click 'Generate Schedule' to see the month-by-month breakdown.");
+        JTable table = new JTable(amortModel);
+        AppTheme.styleTable(table);
+        table.setRowHeight(26);
+        table.setFont(AppTheme.FONT_SMALL);
+        table.getTableHeader().setReorderingAllowed(false);
+        table.setDefaultRenderer(Object.class, new BookingsPanel.StripedRenderer());
 
-        JScrollPane scroll = new JScrollPane(amortArea);
+        JScrollPane scroll = new JScrollPane(table);
         scroll.setBorder(new LineBorder(AppTheme.BORDER_SUBTLE, 1));
+        scroll.getViewport().setBackground(AppTheme.BG_CARD);
+        scroll.setPreferredSize(new Dimension(0, 190));
         p.add(scroll, BorderLayout.CENTER);
         return p;
     }
 
     // ── Calculation ───────────────────────────────────────────────────────────
 
-    private void recalculate() {
+    /**
+     * Spinner ticks arriving within this window are coalesced: the first tick
+     * starts the timer and the calculation reads whatever the spinners say
+     * when it fires, so a held arrow key updates the cards about 25 times a
+     * second instead of once per tick.
+     */
+    private static final int COALESCE_MS = 40;
+
+    /** Shared by every EMI panel; calculations run one at a time, off the EDT */
+    private static final ExecutorService CALCULATOR = Executors.newSingleThreadExecutor(r -> {
+        Thread t = new Thread(r, "emi-calculator");
+        t.setDaemon(true);
+        return t;
+    });
+
+    private record Inputs(long loan, long down, double rate, int tenure) { }
+
+    private record Result(int generation, long loan, long down, long emi, AmortisationSchedule schedule) { }
+
+    private void scheduleRecalculation() {
+        if (!coalescer.isRunning()) {
+            coalescer.setRepeats(false);
+            coalescer.start();
+        }
+    }
+
+    /** EDT: snapshots the spinners and hands the work to the calculator thread. */
+    private void submitRecalculation() {
+        Inputs in = readInputs();
+        int gen   = ++generation;
+        CALCULATOR.execute(() -> {
+            Result r = calculate(gen, in);
+            SwingUtilities.invokeLater(() -> publish(r));
+        });
+    }
+
+    private Inputs readInputs() {
         double principal = ((Number) principalSpin.getValue()).doubleValue();
         double downPay   = ((Number) downPaySpin.getValue()).doubleValue();
         double rate      = ((Number) rateSpin.getValue()).doubleValue();
         int    tenure    = ((Number) tenureSpin.getValue()).intValue();
 
-        double loanAmt   = Math.max(0, principal - downPay);
-        double emi       = EMICalculator.calculateEMI(loanAmt, rate, tenure);
-        double totalPay  = EMICalculator.totalPayable(emi, tenure);
-        double interest  = EMICalculator.totalInterest(emi, tenure, loanAmt);
-        double totalOut  = downPay + totalPay;
+        // Exact paise from here on, so the cards add up to the last paisa
+        long down = Money.ofRupees(downPay);
+        return new Inputs(Math.max(0, Money.ofRupees(principal) - down), down, rate, tenure);
+    }
+
+    /** Calculator thread: fills the spare schedule, or a new one if the spare is on loan. */
+    private Result calculate(int gen, Inputs in) {
+        AmortisationSchedule s = spare.getAndSet(null);
+        if (s == null) s = new AmortisationSchedule();
+        s.compute(in.loan(), in.rate(), in.tenure());
+        return new Result(gen, in.loan(), in.down(), EMICalculator.emiPaise(in.loan(), in.rate(), in.tenure()), s);
+    }
+
+    /** EDT: shows the latest result; results overtaken by newer input are dropped. */
+    private void publish(Result r) {
+        if (r.generation() != generation) {
+            spare.set(r.schedule());
+            return;
+        }
+        spare.set(schedule);
+        schedule = r.schedule();
+
+        long totalPay = schedule.totalPayablePaise();
+        long interest = schedule.totalInterestPaise();
+        long totalOut = r.down() + totalPay;
 
-        emiLabel.setText(FormatUtil.formatINR(emi));
-        totalPayLabel.setText(FormatUtil.formatINR(totalPay));
-        interestLabel.setText(FormatUtil.formatINR(interest));
-        totalCostLabel.setText(FormatUtil.formatINR(totalOut));
+        emiLabel.setText(FormatUtil.formatINR(Money.toRupees(r.emi())));
+        totalPayLabel.setText(FormatUtil.formatINR(Money.toRupees(totalPay)));
+        interestLabel.setText(FormatUtil.formatINR(Money.toRupees(interest)));
+        totalCostLabel.setText(FormatUtil.formatINR(Money.toRupees(totalOut)));
 
-        pieChart.setValues(loanAmt, interest, downPay);
+        pieChart.setValues(Money.toRupees(r.loan()), Money.toRupees(interest), Money.toRupees(r.down()));
+
+        amortModel.fireTableDataChanged();
+        amortSummary.setText(schedule.months() == 0 ? "No loan – nothing to repay"
+                : schedule.months() + " monthly payments");
     }
 
-    private void generateAmortisation() {
-        double principal = ((Number) principalSpin.getValue()).doubleValue();
-        double downPay   = ((Number) downPaySpin.getValue()).doubleValue();
-        double rate      = ((Number) rateSpin.getValue()).doubleValue();
-        int    tenure    = ((Number) tenureSpin.getValue()).intValue();
-        double loanAmt   = Math.max(0, principal - downPay);
+    private void showEmiGrid() {
+        EMIGridDialog dialog = new EMIGridDialog(SwingUtilities.getWindowAncestor(this),
+                ((Number) principalSpin.getValue()).doubleValue(),
+                ((Number) downPaySpin.getValue()).doubleValue(),
+                ((Number) rateSpin.getValue()).doubleValue(),
+                ((Number) tenureSpin.getValue()).intValue());
+        dialog.setLocationRelativeTo(this);
+        dialog.setVisible(true);
+    }
 
-        amortArea.setText(EMICalculator.amortisationTable(loanAmt, rate, tenure));
-        amortArea.setCaretPosition(0);
+    private void showBudgetFinder() {
+        BudgetFinderDialog dialog = new BudgetFinderDialog(SwingUtilities.getWindowAncestor(this), dataStore,
+                ((Number) downPaySpin.getValue()).doubleValue(),
+                ((Number) rateSpin.getValue()).doubleValue(),
+                ((Number) tenureSpin.getValue()).intValue());
+        dialog.setLocationRelativeTo(this);
+        dialog.setVisible(true);
+    }
+
+    // ── Amortisation Table Model ──────────────────────────────────────────────
+
+    private static final String[] AMORT_COLUMNS = {"Month", "EMI", "Principal", "Interest", "Balance"};
+
+    /** Reads the schedule's columns on demand; only painted rows are ever formatted. */
+    private class AmortTableModel extends AbstractTableModel {
+        @Override public int    getRowCount()           { return schedule.months(); }
+        @Override public int    getColumnCount()        { return AMORT_COLUMNS.length; }
+        @Override public String getColumnName(int col)  { return AMORT_COLUMNS[col]; }
+
+        @Override public Object getValueAt(int row, int col) {
+            if (col == 0) return String.valueOf(row + 1);
+            long paise = switch (col) {
+                case 1  -> schedule.emiPaise(row);
+                case 2  -> schedule.principalPaise(row);
+                case 3  -> schedule.interestPaise(row);
+                default -> schedule.balancePaise(row);
+            };
+            return FormatUtil.formatINR(Money.toRupees(paise));
+        }
     }
 
     // ── Helpers ───────────────────────────────────────────────────────────────
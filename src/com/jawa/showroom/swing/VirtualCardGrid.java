@@ -0,0 +1,226 @@
+package com.jawa.showroom.swing;
+
+import com.jawa.showroom.model.Bike;
+
+import javax.swing.*;
+import javax.swing.event.ChangeListener;
+import java.awt.*;
+import java.util.*;
+import java.util.List;
+
+/**
+ * VirtualCardGrid — a scrollable grid of bike cards that only has cards for
+ * the rows in and just around the viewport.
+ *
+ * The grid reports the full height of the catalogue to its JScrollPane, but
+ * when the viewport moves it works out which rows are visible (plus
+ * {@link #OVERSCAN_ROWS} either side), takes back the cards that scrolled out
+ * of that window and rebinds them to the bikes scrolling in. Cards are made
+ * by the CardBinder only when the pool is empty, so a catalogue of thousands
+ * of bikes needs about as many cards as fit on the screen.
+ *
+ * All cards have the same height, measured from the first one built, and the
+ * width of one column. Must be placed directly in a JScrollPane.
+ */
+final class VirtualCardGrid<C extends JComponent> extends JPanel implements Scrollable {
+
+    /** Makes cards and points them at a bike; both run on the EDT. */
+    interface CardBinder<C extends JComponent> {
+        C create();
+
+        /** Shows {@code bike} on a new or recycled card. */
+        void bind(C card, Bike bike);
+
+        /**
+         * Points a card at a reloaded copy of the bike it already shows, whose
+         * record did not change; nothing needs to be re-rendered.
+         */
+        default void rebase(C card, Bike bike) { bind(card, bike); }
+    }
+
+    /** Rows built above and below the viewport, so a short scroll shows ready cards */
+    private static final int OVERSCAN_ROWS = 1;
+
+    private final CardBinder<C> binder;
+    private final int columns, hgap, vgap;
+
+    private List<Bike> bikes = List.of();
+    private final Map<Integer, C> active = new HashMap<>();     // item index → card on show
+    private final ArrayDeque<C>   pool   = new ArrayDeque<>();  // hidden, ready to rebind
+    private int cardHeight = -1;
+
+    private JViewport viewport;
+    private final ChangeListener scrollListener = e -> layoutWindow();
+
+    VirtualCardGrid(CardBinder<C> binder, int columns, int hgap, int vgap) {
+        super(null);
+        this.binder  = binder;
+        this.columns = columns;
+        this.hgap    = hgap;
+        this.vgap    = vgap;
+    }
+
+    /** Shows these bikes, in order; see {@link #setBikes(List, Set)}. */
+    void setBikes(List<Bike> next) {
+        setBikes(next, Set.of());
+    }
+
+    /**
+     * Shows these bikes, in order. A card on show is re-rendered only if its
+     * slot now holds a different bike, or one whose id (lowercase) is in
+     * {@code changedIds}; a reloaded but unchanged copy is just rebased.
+     */
+    void setBikes(List<Bike> next, Set<String> changedIds) {
+        if (sameBikes(next)) return;
+        List<Bike> before = bikes;
+        bikes = List.copyOf(next);
+        for (Iterator<Map.Entry<Integer, C>> it = active.entrySet().iterator(); it.hasNext(); ) {
+            Map.Entry<Integer, C> e = it.next();
+            int i = e.getKey();
+            if (i < bikes.size()) {
+                Bike was = before.get(i), now = bikes.get(i);
+                if (was == now) continue;
+                if (was.getBikeId().equalsIgnoreCase(now.getBikeId())
+                        && !changedIds.contains(now.getBikeId().toLowerCase())) {
+                    binder.rebase(e.getValue(), now);
+                } else {
+                    binder.bind(e.getValue(), now);
+                }
+            } else {
+                release(e.getValue());
+                it.remove();
+            }
+        }
+        revalidate();
+        repaint();
+    }
+
+    /** Re-renders every card on show, e.g. after prices changed under the same bikes. */
+    void rebindAll() {
+        for (Map.Entry<Integer, C> e : active.entrySet()) binder.bind(e.getValue(), bikes.get(e.getKey()));
+    }
+
+    private boolean sameBikes(List<Bike> next) {
+        if (next.size() != bikes.size()) return false;
+        for (int i = 0; i < next.size(); i++) if (next.get(i) != bikes.get(i)) return false;
+        return true;
+    }
+
+    // ── Windowing ─────────────────────────────────────────────────────────────
+
+    @Override
+    public void doLayout() {
+        layoutWindow();
+    }
+
+    /** Binds cards to the rows near the viewport and recycles the rest. */
+    private void layoutWindow() {
+        Insets in = getInsets();
+        int rows = rowCount();
+        Rectangle view = getVisibleRect();
+        if (rows == 0 || view.height <= 0) {
+            active.values().forEach(this::release);
+            active.clear();
+            return;
+        }
+        int rowH  = rowHeight();
+        int first = Math.max(0, (view.y - in.top) / rowH - OVERSCAN_ROWS);
+        int last  = Math.min(rows - 1, (view.y + view.height - in.top) / rowH + OVERSCAN_ROWS);
+        int from  = first * columns, to = Math.min(bikes.size(), (last + 1) * columns);
+
+        // Recycle cards that left the window before making new ones
+        for (Iterator<Map.Entry<Integer, C>> it = active.entrySet().iterator(); it.hasNext(); ) {
+            Map.Entry<Integer, C> e = it.next();
+            if (e.getKey() < from || e.getKey() >= to) {
+                release(e.getValue());
+                it.remove();
+            }
+        }
+
+        int cardW = Math.max(1, (getWidth() - in.left - in.right - hgap * (columns - 1)) / columns);
+        for (int i = from; i < to; i++) {
+            C card = active.get(i);
+            if (card == null) {
+                card = acquire();
+                binder.bind(card, bikes.get(i));
+                active.put(i, card);
+            }
+            int row = i / columns, col = i % columns;
+            card.setBounds(in.left + col * (cardW + hgap), in.top + row * rowH, cardW, cardHeight);
+            card.setVisible(true);
+        }
+    }
+
+    private C acquire() {
+        C card = pool.poll();
+        if (card == null) {
+            card = binder.create();
+            add(card);
+        }
+        return card;
+    }
+
+    private void release(C card) {
+        card.setVisible(false);
+        pool.push(card);
+    }
+
+    private int rowCount() {
+        return (bikes.size() + columns - 1) / columns;
+    }
+
+    /** Card height plus gap; the first card ever built sets the height. */
+    private int rowHeight() {
+        if (cardHeight < 0) {
+            C probe = acquire();
+            binder.bind(probe, bikes.get(0));
+            cardHeight = probe.getPreferredSize().height;
+            release(probe);
+        }
+        return cardHeight + vgap;
+    }
+
+    // ── Sizing & scrolling ────────────────────────────────────────────────────
+
+    @Override
+    public Dimension getPreferredSize() {
+        Insets in = getInsets();
+        int rows = rowCount();
+        int height = rows == 0 ? 0 : rows * rowHeight() - vgap;
+        return new Dimension(in.left + in.right + columns * 320 + hgap * (columns - 1),
+                             in.top + in.bottom + height);
+    }
+
+    @Override public Dimension getPreferredScrollableViewportSize() { return getPreferredSize(); }
+
+    @Override public int getScrollableUnitIncrement(Rectangle visible, int orientation, int direction) {
+        return 20;
+    }
+
+    @Override public int getScrollableBlockIncrement(Rectangle visible, int orientation, int direction) {
+        return orientation == SwingConstants.VERTICAL ? visible.height : visible.width;
+    }
+
+    @Override public boolean getScrollableTracksViewportWidth() { return true; }
+
+    /** Fills the viewport when there are only a few bikes, so the background is even */
+    @Override public boolean getScrollableTracksViewportHeight() {
+        return getParent() instanceof JViewport vp && vp.getHeight() > getPreferredSize().height;
+    }
+
+    @Override
+    public void addNotify() {
+        super.addNotify();
+        if (getParent() instanceof JViewport vp) {
+            viewport = vp;
+            vp.addChangeListener(scrollListener);
+        }
+    }
+
+    @Override
+    public void removeNotify() {
+        if (viewport != null) viewport.removeChangeListener(scrollListener);
+        viewport = null;
+        super.removeNotify();
+    }
+}
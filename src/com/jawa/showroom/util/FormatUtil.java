@@ -3,6 +3,7 @@ package com.jawa.showroom.util;
 import java.text.NumberFormat;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
 import java.util.Locale;
 import java.util.UUID;
 
@@ -32,6 +33,19 @@ public class FormatUtil {
         return LocalDateTime.now().format(DATE_TIME_FMT);
     }
 
+    /**
+     * Parses a date-time produced by {@link #now()}.
+     * Returns null if the text is missing or not in that format.
+     */
+    public static LocalDateTime parseDateTime(String text) {
+        if (text == null) return null;
+        try {
+            return LocalDateTime.parse(text, DATE_TIME_FMT);
+        } catch (DateTimeParseException e) {
+            return null;
+        }
+    }
+
     /** Returns current date as a formatted string. */
     public static String today() {
         return LocalDateTime.now().format(DATE_FMT);
@@ -0,0 +1,118 @@
+package com.jawa.showroom.util;
+
+/**
+ * Fixed-point money arithmetic on a long count of paise (1 ₹ = 100 paise).
+ *
+ * Amounts are plain {@code long}s rather than objects, so pricing, GST and
+ * EMI arithmetic allocates nothing; only formatting and parsing create
+ * Strings. Every rounding step is half-even ("banker's rounding"), the rule
+ * used for GST invoicing, so a paisa that is exactly half way goes to the
+ * even neighbour and rounding errors do not drift in one direction.
+ *
+ * Rates (GST %, interest %) stay doubles; {@link #percentOf} converts them
+ * to hundredths of a percent so that tax is computed exactly.
+ */
+public final class Money {
+
+    public static final long PAISE_PER_RUPEE = 100;
+
+    private Money() { /* Utility class – no instances */ }
+
+    // ── Conversion ─────────────────────────────────────────────────────────────
+
+    /** Rupees as a double → paise, rounded half-even. */
+    public static long ofRupees(double rupees) {
+        return (long) Math.rint(rupees * PAISE_PER_RUPEE);     // rint rounds half to even
+    }
+
+    /** Paise → rupees; exact for any amount below ₹ 10^13. */
+    public static double toRupees(long paise) {
+        return paise / (double) PAISE_PER_RUPEE;
+    }
+
+    // ── Arithmetic ─────────────────────────────────────────────────────────────
+
+    /** num / den rounded half-even; den must be positive. */
+    public static long divide(long num, long den) {
+        long q = Math.floorDiv(num, den);
+        long twiceRem = Math.floorMod(num, den) * 2;
+        if (twiceRem > den || (twiceRem == den && (q & 1) != 0)) q++;
+        return q;
+    }
+
+    /** {@code ratePercent}% of an amount, e.g. GST at 28.0; the rate is taken to 0.01%. */
+    public static long percentOf(long paise, double ratePercent) {
+        long basisPoints = Math.round(ratePercent * 100);       // 28.0% → 2800
+        return divide(paise * basisPoints, 10_000);
+    }
+
+    /** An amount scaled by a real factor (e.g. a monthly interest rate), rounded half-even. */
+    public static long times(long paise, double factor) {
+        return (long) Math.rint(paise * factor);
+    }
+
+    // ── Text ───────────────────────────────────────────────────────────────────
+
+    /** Plain decimal rupees with two places, e.g. "288720.50"; the persisted form. */
+    public static String toPlain(long paise) {
+        StringBuilder sb = new StringBuilder(16);
+        appendPlain(sb, paise);
+        return sb.toString();
+    }
+
+    public static void appendPlain(StringBuilder sb, long paise) {
+        if (paise < 0) {
+            sb.append('-');
+            paise = -paise;
+        }
+        long frac = paise % PAISE_PER_RUPEE;
+        sb.append(paise / PAISE_PER_RUPEE).append('.');
+        if (frac < 10) sb.append('0');
+        sb.append(frac);
+    }
+
+    /**
+     * Parses a decimal rupee amount exactly ("199000", "288720.5", "-12.345")
+     * to paise, rounding digits beyond the second decimal half-even. Values
+     * written by String.valueOf(double) in exponent form ("1.0E7") are read
+     * through double. Throws NumberFormatException for anything else.
+     */
+    public static long parse(String text) {
+        String s = text.trim();
+        if (s.indexOf('E') >= 0 || s.indexOf('e') >= 0) return ofRupees(Double.parseDouble(s));
+
+        int i = 0, n = s.length();
+        boolean negative = false;
+        if (i < n && (s.charAt(i) == '-' || s.charAt(i) == '+')) negative = s.charAt(i++) == '-';
+        if (i == n) throw new NumberFormatException("Not an amount: \"" + text + "\"");
+
+        long whole = 0, frac = 0;
+        int fracDigits = 0;
+        boolean dot = false, digits = false, sticky = false;
+        int third = -1;                                  // first digit past the paise
+        for (; i < n; i++) {
+            char c = s.charAt(i);
+            if (c == '.' && !dot) { dot = true; continue; }
+            if (c < '0' || c > '9') throw new NumberFormatException("Not an amount: \"" + text + "\"");
+            digits = true;
+            int d = c - '0';
+            if (!dot) {
+                if (whole > Long.MAX_VALUE / 1000) throw new NumberFormatException("Amount too large: \"" + text + "\"");
+                whole = whole * 10 + d;
+            } else if (fracDigits < 2) {
+                frac = frac * 10 + d;
+                fracDigits++;
+            } else if (third < 0) {
+                third = d;
+            } else if (d != 0) {
+                sticky = true;
+            }
+        }
+        if (!digits) throw new NumberFormatException("Not an amount: \"" + text + "\"");
+        while (fracDigits++ < 2) frac *= 10;
+
+        long paise = whole * PAISE_PER_RUPEE + frac;
+        if (third > 5 || (third == 5 && (sticky || (paise & 1) != 0))) paise++;
+        return negative ? -paise : paise;
+    }
+}